@@ -0,0 +1,314 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a mix of dashboard reads, crop creates and updates, and logins
+ * against a backend started with the loadtest profile, then prints request
+ * count, throughput, p50/p99 latency and errors per endpoint.
+ *
+ *   java scripts/LoadDriver.java --concurrency 32 --duration 60 \
+ *       --mix dashboard=70,create=10,update=10,login=10 --json target/load-report.json
+ *
+ * Users are the generated {@code <role>-<n>@loadtest.local} accounts with the
+ * password {@code loadtest}.
+ */
+public class LoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    // Crop objects start with id then name; the nested user starts with id then email
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)\\s*,\\s*\"name\"");
+    private static final String[] ROLES = {"farmer", "distributor", "retailer"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<String, List<Session>> sessions = new HashMap<>();
+    private final int usersPerRole;
+    private Session admin;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        LoadDriver driver = new LoadDriver(options.getOrDefault("base-url", "http://localhost:8080/api"),
+            Integer.parseInt(options.getOrDefault("users-per-role", "20")));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "dashboard=70,create=10,update=10,login=10"));
+
+        driver.logIn();
+        if (warmup > 0) {
+            driver.run(mix, concurrency, warmup);
+        }
+        Map<String, Recorder> results = driver.run(mix, concurrency, duration);
+        report(results, duration, options.get("json"));
+        System.exit(0);
+    }
+
+    LoadDriver(String baseUrl, int usersPerRole) {
+        this.baseUrl = baseUrl;
+        this.usersPerRole = usersPerRole;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+            .build();
+    }
+
+    private void logIn() throws Exception {
+        admin = login("admin@loadtest.local");
+        for (String role : ROLES) {
+            List<Session> list = new ArrayList<>();
+            for (int n = 1; n <= usersPerRole; n++) {
+                Session session = login(role + "-" + n + "@loadtest.local");
+                session.role = role;
+                HttpResponse<String> own = client.send(get("/" + role + "/crops?limit=50", session.token), HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = ID.matcher(own.body());
+                while (matcher.find()) {
+                    session.cropIds.add(Long.parseLong(matcher.group(1)));
+                }
+                list.add(session);
+            }
+            sessions.put(role, list);
+        }
+        System.out.printf("Logged in %d users per role%n", usersPerRole);
+    }
+
+    private Session login(String email) throws Exception {
+        HttpResponse<String> response = client.send(post("/auth/login", null,
+            "{\"email\":\"" + email + "\",\"password\":\"loadtest\"}"), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode() + " " + response.body());
+        }
+        Session session = new Session();
+        session.email = email;
+        session.token = matcher.group(1);
+        return session;
+    }
+
+    private Map<String, Recorder> run(Map<String, Integer> mix, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, Recorder>>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                Map<String, Recorder> recorders = new HashMap<>();
+                while (System.nanoTime() < deadline) {
+                    int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+                    for (Map.Entry<String, Integer> op : mix.entrySet()) {
+                        pick -= op.getValue();
+                        if (pick < 0) {
+                            execute(op.getKey(), recorders);
+                            break;
+                        }
+                    }
+                }
+                return recorders;
+            }));
+        }
+        Map<String, Recorder> merged = new TreeMap<>();
+        for (Future<Map<String, Recorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) -> merged.computeIfAbsent(endpoint, e -> new Recorder()).merge(recorder));
+        }
+        workers.shutdown();
+        return merged;
+    }
+
+    private void execute(String operation, Map<String, Recorder> recorders) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case "dashboard" -> {
+                int r = random.nextInt(20);
+                if (r == 0) {
+                    call(recorders, "GET /admin/stats", get("/admin/stats", admin.token));
+                } else if (r < 4) {
+                    Session distributor = pick("distributor");
+                    call(recorders, "GET /farmer/crops/all", get("/farmer/crops/all?limit=50", distributor.token));
+                } else {
+                    Session session = pick(ROLES[random.nextInt(ROLES.length)]);
+                    call(recorders, "GET /" + session.role + "/crops", get("/" + session.role + "/crops?limit=50", session.token));
+                }
+            }
+            case "create" -> {
+                Session farmer = pick("farmer");
+                HttpResponse<String> response = call(recorders, "POST /farmer/crops", post("/farmer/crops", farmer.token, cropJson()));
+                if (response != null && response.statusCode() == 200) {
+                    Matcher matcher = ID.matcher(response.body());
+                    if (matcher.find()) {
+                        farmer.cropIds.add(Long.parseLong(matcher.group(1)));
+                    }
+                }
+            }
+            case "update" -> {
+                Session farmer = pick("farmer");
+                if (farmer.cropIds.isEmpty()) {
+                    return;
+                }
+                long id = farmer.cropIds.get(random.nextInt(farmer.cropIds.size()));
+                call(recorders, "PUT /farmer/crops/{id}", HttpRequest.newBuilder(URI.create(baseUrl + "/farmer/crops/" + id))
+                    .header("Authorization", "Bearer " + farmer.token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .PUT(HttpRequest.BodyPublishers.ofString(cropJson())).build());
+            }
+            case "login" -> {
+                Session session = pick(ROLES[random.nextInt(ROLES.length)]);
+                call(recorders, "POST /auth/login", post("/auth/login", null,
+                    "{\"email\":\"" + session.email + "\",\"password\":\"loadtest\"}"));
+            }
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpResponse<String> call(Map<String, Recorder> recorders, String endpoint, HttpRequest request) {
+        Recorder recorder = recorders.computeIfAbsent(endpoint, e -> new Recorder());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(System.nanoTime() - start, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException | InterruptedException e) {
+            recorder.record(System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private Session pick(String role) {
+        List<Session> list = sessions.get(role);
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    private static String cropJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] types = {"Vegetable", "Grain", "Fruit", "Pulse"};
+        return "{\"name\":\"Load crop " + random.nextInt(100000) + "\",\"cropType\":\"" + types[random.nextInt(types.length)] + "\"," +
+            "\"harvestDate\":\"2024-05-01\",\"expiryDate\":\"2024-07-01\",\"soilType\":\"Loam\"," +
+            "\"pesticidesUsed\":\"Organic\",\"farmerLocation\":\"District 7\"}";
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static void report(Map<String, Recorder> results, int seconds, String jsonPath) throws IOException {
+        StringBuilder json = new StringBuilder("{\"durationSeconds\":").append(seconds).append(",\"endpoints\":{");
+        System.out.printf("%-26s %9s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        boolean first = true;
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            Recorder r = entry.getValue();
+            long[] sorted = r.sorted();
+            double rps = sorted.length / (double) seconds;
+            double p50 = percentile(sorted, 0.50) / 1e6;
+            double p99 = percentile(sorted, 0.99) / 1e6;
+            System.out.printf("%-26s %9d %10.1f %10.2f %10.2f %8d%n", entry.getKey(), sorted.length, rps, p50, p99, r.errors);
+            json.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":{")
+                .append("\"requests\":").append(sorted.length)
+                .append(",\"throughput\":").append(String.format("%.2f", rps))
+                .append(",\"p50Millis\":").append(String.format("%.3f", p50))
+                .append(",\"p99Millis\":").append(String.format("%.3f", p99))
+                .append(",\"errors\":").append(r.errors).append('}');
+            first = false;
+        }
+        json.append("}}");
+        if (jsonPath != null) {
+            Path path = Path.of(jsonPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, json.toString());
+            System.out.println("Report written to " + path);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new TreeMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+
+    private static class Session {
+        String email;
+        String role;
+        String token;
+        final List<Long> cropIds = new CopyOnWriteArrayList<>();
+    }
+
+    private static class Recorder {
+        long[] latencies = new long[256];
+        int count;
+        long errors;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
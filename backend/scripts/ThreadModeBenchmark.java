@@ -0,0 +1,165 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the crop list endpoints of a running backend with a fixed number of
+ * concurrent clients and prints throughput and latency percentiles. Run it
+ * once against each execution mode (see compare-thread-modes.sh):
+ *
+ *   java scripts/ThreadModeBenchmark.java --label platform --concurrency 200 --duration 30
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/api");
+        String label = options.getOrDefault("label", "run");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int crops = Integer.parseInt(options.getOrDefault("crops", "500"));
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+            .build();
+
+        String token = register(client, baseUrl, "bench-" + System.currentTimeMillis() + "@farmchainx.local");
+        seed(client, baseUrl, token, crops);
+
+        String[] paths = {"/farmer/crops?limit=50", "/farmer/crops/all?limit=50"};
+        run(client, baseUrl, token, paths, concurrency, warmupSeconds);
+        Result result = run(client, baseUrl, token, paths, concurrency, durationSeconds);
+
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d requests, %d errors, %.1f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            label, latencies.length, result.errors,
+            latencies.length / (double) durationSeconds,
+            percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+            latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String token, String[] paths,
+                              int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            int offset = w;
+            futures.add(workers.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths[i % paths.length]))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET().build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] samples = future.get();
+            int from = all.length;
+            all = Arrays.copyOf(all, from + samples.length);
+            System.arraycopy(samples, 0, all, from, samples.length);
+        }
+        workers.shutdown();
+        return new Result(all, errors.get());
+    }
+
+    private static String register(HttpClient client, String baseUrl, String email) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"benchmark\",\"role\":\"FARMER\","
+            + "\"name\":\"Benchmark Farmer\",\"location\":\"Bench\"}";
+        HttpResponse<String> response = client.send(post(baseUrl + "/auth/register", null, body),
+            HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static void seed(HttpClient client, String baseUrl, String token, int crops) throws Exception {
+        for (int i = 0; i < crops; i++) {
+            String body = "{\"name\":\"Bench crop " + i + "\",\"cropType\":\"" + (i % 2 == 0 ? "Vegetable" : "Grain") + "\","
+                + "\"harvestDate\":\"2024-01-01\",\"expiryDate\":\"2024-03-01\",\"soilType\":\"Loam\","
+                + "\"pesticidesUsed\":\"None\",\"farmerLocation\":\"Bench\"}";
+            HttpResponse<Void> response = client.send(post(baseUrl + "/farmer/crops", token, body),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+        }
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static class Result {
+        final long[] latencies;
+        final long errors;
+
+        Result(long[] latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Starts the backend once on platform threads and once with the virtual-threads
+# profile, and runs ThreadModeBenchmark against the crop list endpoints of each.
+# Needs a Java 21 runtime on PATH (virtual threads) and the usual MySQL database.
+#
+#   scripts/compare-thread-modes.sh [--concurrency 200] [--duration 30] [--crops 500]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}/api"
+
+if [ "$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')" -lt 21 ]; then
+  echo "Java 21 or newer is required to compare against virtual threads" >&2
+  exit 1
+fi
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/farmchainx-backend-*-exec.jar | head -1)
+
+run_mode() {
+  local label=$1; shift
+  java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+    --logging.level.com.farmchainx=INFO --logging.level.org.springframework.security=INFO \
+    --logging.level.org.hibernate.SQL=INFO "$@" > "target/bench-${label}.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null" EXIT
+  until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "Backend failed to start, see target/bench-${label}.log" >&2; exit 1; }
+    sleep 1
+  done
+  java scripts/ThreadModeBenchmark.java --base-url "$BASE_URL" --label "$label" "${BENCH_ARGS[@]}"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+BENCH_ARGS=("$@")
+run_mode platform
+run_mode virtual --spring.profiles.active=virtual-threads
@@ -0,0 +1,71 @@
+package com.farmchainx.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Moves the pooled ID generators in {@code id_generators} past the highest
+ * existing ID before the application takes requests. Needed once when
+ * upgrading a database whose rows were numbered by AUTO_INCREMENT. Bulk loads
+ * that write IDs directly reserve their range with {@link #reserve}.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdGeneratorInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorInitializer.class);
+
+    private static final List<String> TABLES = List.of("users", "farmer_crops", "distributor_crops", "retailer_crops",
+        "lots", "custody_transitions");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        TABLES.forEach(this::seed);
+    }
+
+    /**
+     * Reserves {@code count} consecutive IDs for direct inserts into
+     * {@code table} and returns the first. Blocks Hibernate has already cached
+     * lie below the reserved range, so the two never overlap.
+     */
+    @Transactional
+    public long reserve(String table, long count) {
+        seed(table);
+        long last = jdbcTemplate.queryForObject("select next_val from id_generators where name = ? for update", Long.class, table);
+        jdbcTemplate.update("update id_generators set next_val = ? where name = ?", last + count, table);
+        return last + 1;
+    }
+
+    /**
+     * Each table has its own generator row, keyed by table name. The stored
+     * value is the last ID handed out, so it only ever needs to reach max(id).
+     */
+    private void seed(String name) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + name, Long.class);
+        long floor = maxId != null ? maxId : 0;
+
+        int updated = jdbcTemplate.update("update id_generators set next_val = ? where name = ? and next_val < ?",
+            floor, name, floor);
+        if (updated == 0) {
+            Integer rows = jdbcTemplate.queryForObject("select count(*) from id_generators where name = ?", Integer.class, name);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("insert into id_generators (name, next_val) values (?, ?)", name, floor);
+            }
+        } else {
+            log.info("Moved {} ID generator to {}", name, floor);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.farmchainx.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,8 +20,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.farmchainx.security.JwtAuthenticationFilter;
-import com.farmchainx.security.JwtUtil;
-import com.farmchainx.service.UserService;
+import com.farmchainx.security.RevokedUserRegistry;
+import com.farmchainx.security.VerifiedTokenCache;
 
 @Configuration
 @EnableWebSecurity
@@ -27,8 +29,8 @@ public class SecurityConfig {
 
     // ✅ Provide JwtAuthenticationFilter bean with dependencies injected
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
-        return new JwtAuthenticationFilter(jwtUtil, userService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, RevokedUserRegistry revokedUserRegistry) {
+        return new JwtAuthenticationFilter(verifiedTokenCache, revokedUserRegistry);
     }
 
     @Bean
@@ -47,8 +49,13 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (event streams, deferred results) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/**").permitAll()
-                .requestMatchers("/admin/**").hasAuthority("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/crops/scan/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/admin/**", "/actuator/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
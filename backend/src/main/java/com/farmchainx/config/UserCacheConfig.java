@@ -0,0 +1,63 @@
+package com.farmchainx.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed regions for Hibernate's second-level cache. Every region is
+ * created here (Hibernate is told to fail on unknown ones) so each has an
+ * explicit bound: user rows and lookups are capped in size and expire after
+ * {@code farmchainx.users.cache.ttl}, which also limits how stale another
+ * instance's copy can get.
+ */
+@Configuration
+public class UserCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${farmchainx.users.cache.max-size:10000}") long maxSize,
+                                              @Value("${farmchainx.users.cache.ttl:PT10M}") Duration ttl) {
+        // A manager of its own rather than the provider's JVM-wide default, whose regions would
+        // clash with a second application context (devtools restarts, tests)
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("farmchainx:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USERS_REGION, bounded(maxSize, ttl));
+        cacheManager.createCache(USERS_BY_EMAIL_REGION, bounded(maxSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(maxSize, ttl));
+        // Must outlive every cached query result, so it is neither bounded nor expired;
+        // it holds one entry per table
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+            .setMaximumSize(OptionalLong.of(maxSize))
+            .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+            // Hibernate caches immutable disassembled state, so there is nothing to copy
+            .setStoreByValue(false);
+    }
+}
@@ -0,0 +1,57 @@
+package com.farmchainx.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for the {@code virtual-threads} profile. Spring Boot itself
+ * moves Tomcat and the task executors onto virtual threads when
+ * {@code spring.threads.virtual.enabled} is set and the JVM is 21 or newer;
+ * this adds the database permit gate and pinning reports that mode needs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor permitLimitedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // One permit per pooled connection, so waiting happens here and not in the pool
+                    return new PermitLimitedDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourcePermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof PermitLimitedDataSource permits) {
+                Gauge.builder("db.permits.available", permits, PermitLimitedDataSource::getAvailablePermits)
+                    .description("Database connection permits not in use").register(registry);
+                Gauge.builder("db.permits.waiting", permits, PermitLimitedDataSource::getWaitingThreads)
+                    .description("Threads parked waiting for a database connection permit").register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${farmchainx.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(meterRegistry, threshold);
+    }
+}
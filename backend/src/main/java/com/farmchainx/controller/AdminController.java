@@ -1,18 +1,25 @@
 package com.farmchainx.controller;
 
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.dto.StatsResponse;
 import com.farmchainx.model.User;
-import com.farmchainx.repository.DistributorCropRepository;
-import com.farmchainx.repository.FarmerCropRepository;
-import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.model.UserPurge;
+import com.farmchainx.model.UserRole;
 import com.farmchainx.repository.UserRepository;
-import com.farmchainx.security.JwtUtil;
-import com.farmchainx.service.UserService;
-import jakarta.transaction.Transactional;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.ExportService;
+import com.farmchainx.service.StatsService;
+import com.farmchainx.service.UserPurgeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/admin")
@@ -23,81 +30,80 @@ public class AdminController {
     private UserRepository userRepository;
 
     @Autowired
-    private FarmerCropRepository farmerCropRepository;
+    private UserPurgeService userPurgeService;
 
     @Autowired
-    private DistributorCropRepository distributorCropRepository;
+    private ExportService exportService;
 
     @Autowired
-    private RetailerCropRepository retailerCropRepository;
-
-    @Autowired
-    private UserService userService;
-
-    @Autowired
-    private JwtUtil jwtUtil;
+    private StatsService statsService;
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<CursorPage<User>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) UserRole role) {
         try {
-            List<User> users = userRepository.findAll();
+            CursorPage<User> users = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> userRepository.findPage(role, createdAt, id, page),
+                u -> new PageCursor(u.getCreatedAt(), u.getId()));
             return ResponseEntity.ok(users);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Transactional
+    /**
+     * Revokes the user's tokens and starts a background purge of the user and
+     * their crops. Answers 202 with the purge, whose progress is then at
+     * {@code GET /admin/users/{userId}/purge}.
+     */
     @DeleteMapping("/users/{userId}")
-    public ResponseEntity<?> deleteUser(@RequestHeader("Authorization") String authHeader, @PathVariable Long userId) {
+    public ResponseEntity<?> deleteUser(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long userId) {
         try {
-            String token = authHeader.substring(7);
-            Long adminId = jwtUtil.extractUserId(token);
-            User admin = userService.findById(adminId);
-
-            if (!admin.getRole().name().equals("ADMIN")) {
+            if (!currentUser.isAdmin()) {
                 return ResponseEntity.status(403).body("Only admins can delete users");
             }
 
-            User userToDelete = userService.findById(userId);
-
-            farmerCropRepository.deleteByUser(userToDelete);
-            distributorCropRepository.deleteByUser(userToDelete);
-            retailerCropRepository.deleteByUser(userToDelete);
-
-            userRepository.delete(userToDelete);
-
-            return ResponseEntity.ok("User and all associated crops deleted successfully");
+            UserPurge purge = userPurgeService.submit(userId, currentUser.getUserId());
+            return ResponseEntity.accepted().body(purge);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    @GetMapping("/stats")
-    public ResponseEntity<?> getStats(@RequestHeader("Authorization") String authHeader) {
-        try {
-            long totalUsers = userRepository.count();
-            long totalFarmerCrops = farmerCropRepository.count();
-            long totalDistributorCrops = distributorCropRepository.count();
-            long totalRetailerCrops = retailerCropRepository.count();
+    @GetMapping("/users/{userId}/purge")
+    public ResponseEntity<UserPurge> getUserPurge(@PathVariable Long userId) {
+        return userPurgeService.find(userId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
 
-            return ResponseEntity.ok(new StatsResponse(totalUsers, totalFarmerCrops, totalDistributorCrops, totalRetailerCrops));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+    @GetMapping("/export/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entity,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        if (!exportService.supports(entity)) {
+            return ResponseEntity.notFound().build();
         }
-    }
 
-    static class StatsResponse {
-        public long totalUsers;
-        public long totalFarmerCrops;
-        public long totalDistributorCrops;
-        public long totalRetailerCrops;
+        String filename = entity + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(entity, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.export(entity, out);
+            }
+        };
 
-        public StatsResponse(long totalUsers, long totalFarmerCrops, long totalDistributorCrops, long totalRetailerCrops) {
-            this.totalUsers = totalUsers;
-            this.totalFarmerCrops = totalFarmerCrops;
-            this.totalDistributorCrops = totalDistributorCrops;
-            this.totalRetailerCrops = totalRetailerCrops;
-        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StatsResponse> getStats() {
+        return ResponseEntity.ok(statsService.snapshot());
     }
 }
@@ -5,14 +5,17 @@ import com.farmchainx.dto.LoginRequest;
 import com.farmchainx.dto.RegisterRequest;
 import com.farmchainx.model.User;
 import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PasswordHashingBusyException;
 import com.farmchainx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = "*")
@@ -24,63 +27,65 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request) {
         try {
-            User user = userService.registerUser(
+            return userService.registerUser(
                 request.getEmail(),
                 request.getPassword(),
                 request.getRole(),
                 request.getName(),
                 request.getLocation()
-            );
-
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
-
-            AuthResponse response = new AuthResponse(
-                token,
-                user.getId(),
-                user.getEmail(),
-                user.getRole(),
-                user.getName(),
-                user.getLocation(),
-                user.getFarmerId(),
-                user.getDistributorId()
-            );
-
-            return ResponseEntity.ok(response);
+            ).<ResponseEntity<?>>handle((user, error) -> {
+                if (error != null) {
+                    return ResponseEntity.badRequest().body(unwrap(error).getMessage());
+                }
+                return ResponseEntity.ok(toAuthResponse(user));
+            });
+        } catch (PasswordHashingBusyException e) {
+            return CompletableFuture.completedFuture(busy(e));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
+            return userService.authenticate(request.getEmail(), request.getPassword())
+                .<ResponseEntity<?>>handle((user, error) -> {
+                    if (error != null || user.isEmpty()) {
+                        return ResponseEntity.badRequest().body("Invalid email or password");
+                    }
+                    return ResponseEntity.ok(toAuthResponse(user.get()));
+                });
+        } catch (PasswordHashingBusyException e) {
+            return CompletableFuture.completedFuture(busy(e));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid email or password"));
+        }
+    }
 
-            User user = userService.findByEmail(request.getEmail());
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+    private AuthResponse toAuthResponse(User user) {
+        return new AuthResponse(
+            jwtUtil.generateToken(user),
+            user.getId(),
+            user.getEmail(),
+            user.getRole(),
+            user.getName(),
+            user.getLocation(),
+            user.getFarmerId(),
+            user.getDistributorId()
+        );
+    }
 
-            AuthResponse response = new AuthResponse(
-                token,
-                user.getId(),
-                user.getEmail(),
-                user.getRole(),
-                user.getName(),
-                user.getLocation(),
-                user.getFarmerId(),
-                user.getDistributorId()
-            );
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(e.getMessage());
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Invalid email or password");
-        }
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 }
@@ -0,0 +1,103 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.dto.CropReceiptReport;
+import com.farmchainx.dto.CropReceiptRequest;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.FarmerCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.User;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.LotService;
+import com.farmchainx.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Bulk custody handoffs: a distributor receiving farmer crops, or a retailer
+ * receiving distributor crops, by upstream crop ID. Every new row shares its
+ * upstream row's lot, so a request carries IDs and receipt fields only.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+public class CropReceiptController {
+
+    @Autowired
+    private DistributorCropRepository distributorCropRepository;
+
+    @Autowired
+    private RetailerCropRepository retailerCropRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LotService lotService;
+
+    @Value("${farmchainx.crops.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @PostMapping("/distributor/receipts")
+    public ResponseEntity<?> receiveFromFarmers(@CurrentUser AuthenticatedUser currentUser,
+                                                @RequestBody CropReceiptRequest request) {
+        if (!validSize(request)) {
+            return ResponseEntity.badRequest().body("Receipt must list between 1 and " + maxBatchSize + " crops");
+        }
+        try {
+            User user = userService.findById(currentUser.getUserId());
+            String location = request.location() != null ? request.location() : user.getLocation();
+            LocalDate receivedDate = request.receivedDate() != null ? request.receivedDate() : LocalDate.now();
+
+            CropReceiptReport report = lotService.receive(user, CropStage.DISTRIBUTOR, request.sourceCropIds(),
+                (FarmerCrop from) -> {
+                    DistributorCrop crop = new DistributorCrop();
+                    crop.setDistributorLocation(location);
+                    crop.setReceivedDate(receivedDate);
+                    return crop;
+                }, distributorCropRepository);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/retailer/receipts")
+    public ResponseEntity<?> receiveFromDistributors(@CurrentUser AuthenticatedUser currentUser,
+                                                     @RequestBody CropReceiptRequest request) {
+        if (!validSize(request)) {
+            return ResponseEntity.badRequest().body("Receipt must list between 1 and " + maxBatchSize + " crops");
+        }
+        try {
+            User user = userService.findById(currentUser.getUserId());
+            String location = request.location() != null ? request.location() : user.getLocation();
+            LocalDate receivedDate = request.receivedDate() != null ? request.receivedDate() : LocalDate.now();
+
+            // The distributor columns are the retailer's record of who shipped it, taken from the upstream row
+            CropReceiptReport report = lotService.receive(user, CropStage.RETAILER, request.sourceCropIds(),
+                (DistributorCrop from) -> {
+                    RetailerCrop crop = new RetailerCrop();
+                    crop.setDistributorId(from.getUser().getDistributorId());
+                    crop.setDistributorName(from.getUser().getName());
+                    crop.setDistributorLocation(from.getDistributorLocation());
+                    crop.setRetailerLocation(location);
+                    crop.setReceivedDate(receivedDate);
+                    return crop;
+                }, retailerCropRepository);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private boolean validSize(CropReceiptRequest request) {
+        return request.sourceCropIds() != null && !request.sourceCropIds().isEmpty()
+            && request.sourceCropIds().size() <= maxBatchSize;
+    }
+}
@@ -0,0 +1,66 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.dto.ProvenanceResponse;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.service.ProvenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/crops")
+@CrossOrigin(origins = "*")
+public class CropScanController {
+
+    // Stage letter plus row ID as printed in QR codes; a bare number is a farmer lot
+    private static final Pattern SCAN_ID = Pattern.compile("([FDRfdr])?(\\d{1,18})");
+
+    @Autowired
+    private ProvenanceService provenanceService;
+
+    @Value("${farmchainx.provenance.max-age:PT1H}")
+    private Duration maxAge;
+
+    /** Public: anyone holding the QR code may see where the crop came from. */
+    @GetMapping("/scan/{cropId}")
+    public ResponseEntity<ProvenanceResponse> scan(@PathVariable String cropId,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Matcher matcher = SCAN_ID.matcher(cropId);
+        if (!matcher.matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ProvenanceResponse> provenance = provenanceService.lookup(stage(matcher.group(1)),
+            Long.parseLong(matcher.group(2)));
+        if (provenance.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = provenance.get().etag();
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(etag).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(etag).body(provenance.get());
+    }
+
+    private static CropStage stage(String letter) {
+        if (letter == null) {
+            return CropStage.FARMER;
+        }
+        return switch (Character.toUpperCase(letter.charAt(0))) {
+            case 'D' -> CropStage.DISTRIBUTOR;
+            case 'R' -> CropStage.RETAILER;
+            default -> CropStage.FARMER;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.dto.CropSearchResponse;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.CropSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/crops")
+@CrossOrigin(origins = "*")
+public class CropSearchController {
+
+    @Autowired
+    private CropSearchService cropSearchService;
+
+    /** Admins search every crop; everyone else only their own rows. */
+    @GetMapping("/search")
+    public ResponseEntity<CropSearchResponse> search(@CurrentUser AuthenticatedUser currentUser,
+                                                     @RequestParam(required = false) String q,
+                                                     @RequestParam(required = false) CropStage stage,
+                                                     @RequestParam(required = false) String cropType,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        if (!cropSearchService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        try {
+            Long ownerId = currentUser.isAdmin() ? null : currentUser.getUserId();
+            return ResponseEntity.ok(cropSearchService.search(ownerId, q, stage, cropType, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor; anything else is a server error
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
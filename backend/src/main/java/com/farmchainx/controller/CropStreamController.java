@@ -0,0 +1,32 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.CropStreamHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/stream")
+@CrossOrigin(origins = "*")
+public class CropStreamController {
+
+    @Autowired
+    private CropStreamHub cropStreamHub;
+
+    /** Live create/update/delete events for the crops the caller can list. */
+    @GetMapping(value = "/crops", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCrops(@CurrentUser AuthenticatedUser currentUser) {
+        SseEmitter emitter = cropStreamHub.subscribe(currentUser);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        // Keeps proxies such as nginx from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
@@ -1,14 +1,29 @@
 package com.farmchainx.controller;
 
+import com.farmchainx.dto.CropChanges;
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.dto.DistributorCropView;
+import com.farmchainx.model.CropStage;
 import com.farmchainx.model.DistributorCrop;
 import com.farmchainx.model.User;
 import com.farmchainx.repository.DistributorCropRepository;
-import com.farmchainx.security.JwtUtil;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.CropCollectionVersions;
+import com.farmchainx.service.ImageStore;
+import com.farmchainx.service.LotService;
 import com.farmchainx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,79 +38,149 @@ public class DistributorCropController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ImageStore imageStore;
+
+    @Autowired
+    private LotService lotService;
+
+    @Autowired
+    private CropCollectionVersions cropCollectionVersions;
+
+    @Value("${farmchainx.crops.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${farmchainx.crops.changes-settle:PT2S}")
+    private Duration changesSettle;
+
+    @Value("${farmchainx.expiry.max-window-days:365}")
+    private int maxExpiryWindowDays;
 
     @GetMapping
-    public ResponseEntity<List<DistributorCrop>> getAllCrops(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<CursorPage<DistributorCropView>> getAllCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(required = false) String cropType,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Stamp first: a change racing the query can then only leave the ETag older than the body
+        String etag = cropCollectionVersions.etag(CropStage.DISTRIBUTOR, currentUser.getUserId());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.privateRevalidate()).eTag(etag).build();
+        }
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            CursorPage<DistributorCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> distributorCropRepository.findPageByUserId(currentUser.getUserId(), cropType, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
+            return ETags.privateOk(etag).body(crops);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
-            List<DistributorCrop> crops = distributorCropRepository.findByUserOrderByCreatedAtDesc(user);
+    /** The caller's crops expiring between today and {@code withinDays} days from now, soonest first. */
+    @GetMapping("/expiring")
+    public ResponseEntity<CursorPage<DistributorCropView>> getExpiringCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                                            @RequestParam(defaultValue = "7") int withinDays,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer limit) {
+        if (withinDays < 0 || withinDays > maxExpiryWindowDays) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Long userId = currentUser.getUserId();
+            LocalDate today = LocalDate.now();
+            // The cursor's timestamp slot carries the expiry date at midnight
+            CursorPage<DistributorCropView> crops = CursorPage.fetch(cursor, limit,
+                (expiry, id, page) -> distributorCropRepository.findExpiringByUserId(userId, today, today.plusDays(withinDays),
+                    expiry != null ? expiry.toLocalDate() : null, id, page),
+                c -> new PageCursor(c.expiryDate().atStartOfDay(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /** Delta sync: the caller's crops created, modified or deleted since the {@code since} cursor. */
+    @GetMapping("/changes")
+    public ResponseEntity<CropChanges<DistributorCropView>> getChanges(@CurrentUser AuthenticatedUser currentUser,
+                                                                       @RequestParam(required = false) String since,
+                                                                       @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = currentUser.getUserId();
+            CropChanges<DistributorCropView> changes = CropChanges.fetch(since, limit, LocalDateTime.now().minus(changesSettle),
+                (updatedAt, id, until, page) -> distributorCropRepository.findChangesByUserId(userId, updatedAt, id, until, page),
+                (updatedAt, id, until, page) -> distributorCropRepository.findDeletedByUserId(userId, updatedAt, id, until, page),
+                c -> new PageCursor(c.updatedAt(), c.id()));
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
-    public ResponseEntity<?> createCrop(@RequestHeader("Authorization") String authHeader, @RequestBody DistributorCrop crop) {
+    public ResponseEntity<?> createCrop(@CurrentUser AuthenticatedUser currentUser, @RequestBody DistributorCrop crop) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            User user = userService.findById(currentUser.getUserId());
 
-            crop.setUser(user);
-            DistributorCrop savedCrop = distributorCropRepository.save(crop);
-            return ResponseEntity.ok(savedCrop);
+            crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            DistributorCrop savedCrop = lotService.create(user, List.of(crop), distributorCropRepository).get(0);
+            return ResponseEntity.ok(DistributorCropView.from(savedCrop));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCrops(@CurrentUser AuthenticatedUser currentUser, @RequestBody List<DistributorCrop> crops) {
+        if (crops.isEmpty() || crops.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch must contain between 1 and " + maxBatchSize + " crops");
+        }
+        try {
+            User user = userService.findById(currentUser.getUserId());
+
+            for (DistributorCrop crop : crops) {
+                crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            }
+            // One transaction; IDs come from the pooled generator so Hibernate can batch the inserts
+            List<DistributorCrop> savedCrops = lotService.create(user, crops, distributorCropRepository);
+            return ResponseEntity.ok(savedCrops.stream().map(DistributorCropView::from).toList());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCrop(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> updateCrop(@CurrentUser AuthenticatedUser currentUser,
                                        @PathVariable Long id,
                                        @RequestBody DistributorCrop cropDetails) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
-            DistributorCrop crop = distributorCropRepository.findById(id)
+            DistributorCrop crop = distributorCropRepository.findWithUserById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
 
             if (!crop.getUser().getId().equals(userId)) {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            crop.setName(cropDetails.getName());
-            crop.setCropType(cropDetails.getCropType());
-            crop.setHarvestDate(cropDetails.getHarvestDate());
-            crop.setExpiryDate(cropDetails.getExpiryDate());
-            crop.setSoilType(cropDetails.getSoilType());
-            crop.setPesticidesUsed(cropDetails.getPesticidesUsed());
-            crop.setImageUrl(cropDetails.getImageUrl());
-            crop.setFarmerId(cropDetails.getFarmerId());
-            crop.setFarmerName(cropDetails.getFarmerName());
-            crop.setFarmerLocation(cropDetails.getFarmerLocation());
             crop.setDistributorLocation(cropDetails.getDistributorLocation());
             crop.setReceivedDate(cropDetails.getReceivedDate());
             crop.setSentToRetailer(cropDetails.getSentToRetailer());
             crop.setRetailerLocation(cropDetails.getRetailerLocation());
 
-            DistributorCrop updatedCrop = distributorCropRepository.save(crop);
-            return ResponseEntity.ok(updatedCrop);
+            // Lot values go through the lot service, which decides whether this row may edit the shared lot
+            cropDetails.setImageUrl(imageStore.toReference(cropDetails.getImageUrl()));
+            lotService.update(crop, cropDetails.getLot(), distributorCropRepository);
+            // The merged copy save() returns has an unloaded owner; crop was read with it
+            return ResponseEntity.ok(DistributorCropView.from(crop));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCrop(@RequestHeader("Authorization") String authHeader, @PathVariable Long id) {
+    public ResponseEntity<?> deleteCrop(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
             DistributorCrop crop = distributorCropRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
@@ -104,7 +189,9 @@ public class DistributorCropController {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            distributorCropRepository.delete(crop);
+            // Keep a tombstone so delta sync clients learn about the delete
+            crop.markDeleted();
+            distributorCropRepository.save(crop);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -112,9 +199,13 @@ public class DistributorCropController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<DistributorCrop>> getAllDistributorCrops() {
+    public ResponseEntity<CursorPage<DistributorCropView>> getAllDistributorCrops(@RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer limit,
+                                                                              @RequestParam(required = false) String cropType) {
         try {
-            List<DistributorCrop> crops = distributorCropRepository.findAll();
+            CursorPage<DistributorCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> distributorCropRepository.findPage(cropType, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -0,0 +1,42 @@
+package com.farmchainx.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@code If-None-Match} handling shared by the controllers that answer
+ * conditional GETs themselves.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /** Per-user responses: browsers may keep them but must revalidate before every use. */
+    static CacheControl privateRevalidate() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    /** A 200 for a per-user response, tagged unless {@code etag} is {@code null}. */
+    static ResponseEntity.BodyBuilder privateOk(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(privateRevalidate());
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+
+    /** Whether the header lists {@code etag} (weak comparison) or is {@code *}; never for a {@code null} etag. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
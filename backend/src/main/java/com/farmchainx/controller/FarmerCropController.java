@@ -1,14 +1,30 @@
 package com.farmchainx.controller;
 
+import com.farmchainx.dto.CropChanges;
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.dto.FarmerCropView;
+import com.farmchainx.model.CropStage;
 import com.farmchainx.model.FarmerCrop;
 import com.farmchainx.model.User;
 import com.farmchainx.repository.FarmerCropRepository;
-import com.farmchainx.security.JwtUtil;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.CropCollectionVersions;
+import com.farmchainx.service.ImageStore;
+import com.farmchainx.service.LotService;
+import com.farmchainx.service.PublicIdAllocator;
 import com.farmchainx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,73 +39,144 @@ public class FarmerCropController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ImageStore imageStore;
+
+    @Autowired
+    private LotService lotService;
+
+    @Autowired
+    private CropCollectionVersions cropCollectionVersions;
+
+    @Value("${farmchainx.crops.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${farmchainx.crops.changes-settle:PT2S}")
+    private Duration changesSettle;
+
+    @Value("${farmchainx.expiry.max-window-days:365}")
+    private int maxExpiryWindowDays;
 
     @GetMapping
-    public ResponseEntity<List<FarmerCrop>> getAllCrops(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<CursorPage<FarmerCropView>> getAllCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              @RequestParam(required = false) String cropType,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Stamp first: a change racing the query can then only leave the ETag older than the body
+        String etag = cropCollectionVersions.etag(CropStage.FARMER, currentUser.getUserId());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.privateRevalidate()).eTag(etag).build();
+        }
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            CursorPage<FarmerCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> farmerCropRepository.findPageByUserId(currentUser.getUserId(), cropType, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
+            return ETags.privateOk(etag).body(crops);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
-            List<FarmerCrop> crops = farmerCropRepository.findByUserOrderByCreatedAtDesc(user);
+    /** The caller's crops expiring between today and {@code withinDays} days from now, soonest first. */
+    @GetMapping("/expiring")
+    public ResponseEntity<CursorPage<FarmerCropView>> getExpiringCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                                       @RequestParam(defaultValue = "7") int withinDays,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer limit) {
+        if (withinDays < 0 || withinDays > maxExpiryWindowDays) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Long userId = currentUser.getUserId();
+            LocalDate today = LocalDate.now();
+            // The cursor's timestamp slot carries the expiry date at midnight
+            CursorPage<FarmerCropView> crops = CursorPage.fetch(cursor, limit,
+                (expiry, id, page) -> farmerCropRepository.findExpiringByUserId(userId, today, today.plusDays(withinDays),
+                    expiry != null ? expiry.toLocalDate() : null, id, page),
+                c -> new PageCursor(c.expiryDate().atStartOfDay(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /** Delta sync: the caller's crops created, modified or deleted since the {@code since} cursor. */
+    @GetMapping("/changes")
+    public ResponseEntity<CropChanges<FarmerCropView>> getChanges(@CurrentUser AuthenticatedUser currentUser,
+                                                                  @RequestParam(required = false) String since,
+                                                                  @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = currentUser.getUserId();
+            CropChanges<FarmerCropView> changes = CropChanges.fetch(since, limit, LocalDateTime.now().minus(changesSettle),
+                (updatedAt, id, until, page) -> farmerCropRepository.findChangesByUserId(userId, updatedAt, id, until, page),
+                (updatedAt, id, until, page) -> farmerCropRepository.findDeletedByUserId(userId, updatedAt, id, until, page),
+                c -> new PageCursor(c.updatedAt(), c.id()));
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
-    public ResponseEntity<?> createCrop(@RequestHeader("Authorization") String authHeader, @RequestBody FarmerCrop crop) {
+    public ResponseEntity<?> createCrop(@CurrentUser AuthenticatedUser currentUser, @RequestBody FarmerCrop crop) {
+        try {
+            User user = userService.findById(currentUser.getUserId());
+
+            crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            FarmerCrop savedCrop = lotService.create(user, List.of(crop), farmerCropRepository).get(0);
+            return ResponseEntity.ok(FarmerCropView.from(savedCrop));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCrops(@CurrentUser AuthenticatedUser currentUser, @RequestBody List<FarmerCrop> crops) {
+        if (crops.isEmpty() || crops.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch must contain between 1 and " + maxBatchSize + " crops");
+        }
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            User user = userService.findById(currentUser.getUserId());
 
-            crop.setUser(user);
-            FarmerCrop savedCrop = farmerCropRepository.save(crop);
-            return ResponseEntity.ok(savedCrop);
+            for (FarmerCrop crop : crops) {
+                crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            }
+            // One transaction; IDs come from the pooled generator so Hibernate can batch the inserts
+            List<FarmerCrop> savedCrops = lotService.create(user, crops, farmerCropRepository);
+            return ResponseEntity.ok(savedCrops.stream().map(FarmerCropView::from).toList());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCrop(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> updateCrop(@CurrentUser AuthenticatedUser currentUser,
                                        @PathVariable Long id,
                                        @RequestBody FarmerCrop cropDetails) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
-            FarmerCrop crop = farmerCropRepository.findById(id)
+            FarmerCrop crop = farmerCropRepository.findWithUserById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
 
             if (!crop.getUser().getId().equals(userId)) {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            crop.setName(cropDetails.getName());
-            crop.setCropType(cropDetails.getCropType());
-            crop.setHarvestDate(cropDetails.getHarvestDate());
-            crop.setExpiryDate(cropDetails.getExpiryDate());
-            crop.setSoilType(cropDetails.getSoilType());
-            crop.setPesticidesUsed(cropDetails.getPesticidesUsed());
-            crop.setImageUrl(cropDetails.getImageUrl());
-            crop.setFarmerLocation(cropDetails.getFarmerLocation());
-
-            FarmerCrop updatedCrop = farmerCropRepository.save(crop);
-            return ResponseEntity.ok(updatedCrop);
+            // Lot values go through the lot service, which decides whether this row may edit the shared lot
+            cropDetails.setImageUrl(imageStore.toReference(cropDetails.getImageUrl()));
+            lotService.update(crop, cropDetails.getLot(), farmerCropRepository);
+            // The merged copy save() returns has an unloaded owner; crop was read with it
+            return ResponseEntity.ok(FarmerCropView.from(crop));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCrop(@RequestHeader("Authorization") String authHeader, @PathVariable Long id) {
+    public ResponseEntity<?> deleteCrop(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
             FarmerCrop crop = farmerCropRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
@@ -98,7 +185,9 @@ public class FarmerCropController {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            farmerCropRepository.delete(crop);
+            // Keep a tombstone so delta sync clients learn about the delete
+            crop.markDeleted();
+            farmerCropRepository.save(crop);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -106,9 +195,13 @@ public class FarmerCropController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<FarmerCrop>> getAllFarmerCrops() {
+    public ResponseEntity<CursorPage<FarmerCropView>> getAllFarmerCrops(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limit,
+                                                                    @RequestParam(required = false) String cropType) {
         try {
-            List<FarmerCrop> crops = farmerCropRepository.findAll();
+            CursorPage<FarmerCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> farmerCropRepository.findPage(cropType, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -116,12 +209,16 @@ public class FarmerCropController {
     }
 
     @GetMapping("/by-farmer/{farmerId}")
-    public ResponseEntity<List<FarmerCrop>> getCropsByFarmerId(@PathVariable String farmerId) {
+    public ResponseEntity<CursorPage<FarmerCropView>> getCropsByFarmerId(@PathVariable String farmerId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
+        if (!PublicIdAllocator.isWellFormed(farmerId)) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            List<FarmerCrop> crops = farmerCropRepository.findAll()
-                .stream()
-                .filter(crop -> farmerId.equals(crop.getUser().getFarmerId()))
-                .toList();
+            CursorPage<FarmerCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> farmerCropRepository.findPageByFarmerId(farmerId, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
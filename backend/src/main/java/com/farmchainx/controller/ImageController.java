@@ -0,0 +1,147 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.service.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves images from the {@link ImageStore}. Content never changes for a
+ * given name, so responses carry a strong ETag and an immutable cache policy.
+ * Thumbnails depend on the configured size as well, which is part of both
+ * their ETag and, for the immutable form, their URL.
+ * Bodies go out through Tomcat's sendfile when the connector supports it,
+ * which is zero-copy. Otherwise they are copied through a buffer into the
+ * servlet output stream like any other response.
+ */
+@RestController
+@RequestMapping("/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, no-cache";
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @GetMapping("/{name}")
+    public void getImage(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = imageStore.find(name);
+        if (file == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        send(file, "\"" + imageStore.hashOf(name) + "\"", CACHE_FOREVER, request, response);
+    }
+
+    /**
+     * Thumbnail at the configured size. With {@code ?size=} matching that size
+     * the response is immutable; without it the client must revalidate, so a
+     * change of size is picked up. A stale size redirects to the current one.
+     */
+    @GetMapping("/{name}/thumbnail")
+    public void getThumbnail(@PathVariable String name, @RequestParam(required = false) Integer size,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int thumbnailSize = imageStore.thumbnailSize();
+        if (size != null && size != thumbnailSize) {
+            response.sendRedirect(request.getRequestURI() + "?size=" + thumbnailSize);
+            return;
+        }
+        Path file = imageStore.thumbnail(name);
+        if (file == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        send(file, "\"" + imageStore.hashOf(name) + "-" + thumbnailSize + "\"", size != null ? CACHE_FOREVER : REVALIDATE,
+            request, response);
+    }
+
+    private void send(Path file, String etag, String cacheControl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                // Multipart ranges are not supported; serve the whole image
+                matcher = null;
+            }
+            if (matcher != null) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - position(matcher.group(2)));
+                } else {
+                    start = position(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, position(matcher.group(2)));
+                    }
+                }
+                if (start > end || start >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(imageStore.contentType(file));
+        response.setContentLengthLong(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+
+        // The servlet stream is not a file descriptor, so transferTo falls back to a buffered copy here
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /** A byte position from a Range header; values past {@code Long.MAX_VALUE} lie beyond any file, so they clamp to it. */
+    private static long position(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.farmchainx.controller;
 
+import com.farmchainx.dto.CropChanges;
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.dto.RetailerCropView;
+import com.farmchainx.model.CropStage;
 import com.farmchainx.model.RetailerCrop;
 import com.farmchainx.model.User;
 import com.farmchainx.repository.RetailerCropRepository;
-import com.farmchainx.security.JwtUtil;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.CurrentUser;
+import com.farmchainx.service.CropCollectionVersions;
+import com.farmchainx.service.ImageStore;
+import com.farmchainx.service.LotService;
 import com.farmchainx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,80 +38,150 @@ public class RetailerCropController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ImageStore imageStore;
+
+    @Autowired
+    private LotService lotService;
+
+    @Autowired
+    private CropCollectionVersions cropCollectionVersions;
+
+    @Value("${farmchainx.crops.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${farmchainx.crops.changes-settle:PT2S}")
+    private Duration changesSettle;
+
+    @Value("${farmchainx.expiry.max-window-days:365}")
+    private int maxExpiryWindowDays;
 
     @GetMapping
-    public ResponseEntity<List<RetailerCrop>> getAllCrops(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<CursorPage<RetailerCropView>> getAllCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String cropType,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Stamp first: a change racing the query can then only leave the ETag older than the body
+        String etag = cropCollectionVersions.etag(CropStage.RETAILER, currentUser.getUserId());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.privateRevalidate()).eTag(etag).build();
+        }
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            CursorPage<RetailerCropView> crops = CursorPage.fetch(cursor, limit,
+                (createdAt, id, page) -> retailerCropRepository.findPageByUserId(currentUser.getUserId(), cropType, createdAt, id, page),
+                c -> new PageCursor(c.createdAt(), c.id()));
+            return ETags.privateOk(etag).body(crops);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
-            List<RetailerCrop> crops = retailerCropRepository.findByUserOrderByCreatedAtDesc(user);
+    /** The caller's crops expiring between today and {@code withinDays} days from now, soonest first. */
+    @GetMapping("/expiring")
+    public ResponseEntity<CursorPage<RetailerCropView>> getExpiringCrops(@CurrentUser AuthenticatedUser currentUser,
+                                                                         @RequestParam(defaultValue = "7") int withinDays,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer limit) {
+        if (withinDays < 0 || withinDays > maxExpiryWindowDays) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Long userId = currentUser.getUserId();
+            LocalDate today = LocalDate.now();
+            // The cursor's timestamp slot carries the expiry date at midnight
+            CursorPage<RetailerCropView> crops = CursorPage.fetch(cursor, limit,
+                (expiry, id, page) -> retailerCropRepository.findExpiringByUserId(userId, today, today.plusDays(withinDays),
+                    expiry != null ? expiry.toLocalDate() : null, id, page),
+                c -> new PageCursor(c.expiryDate().atStartOfDay(), c.id()));
             return ResponseEntity.ok(crops);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /** Delta sync: the caller's crops created, modified or deleted since the {@code since} cursor. */
+    @GetMapping("/changes")
+    public ResponseEntity<CropChanges<RetailerCropView>> getChanges(@CurrentUser AuthenticatedUser currentUser,
+                                                                    @RequestParam(required = false) String since,
+                                                                    @RequestParam(required = false) Integer limit) {
+        try {
+            Long userId = currentUser.getUserId();
+            CropChanges<RetailerCropView> changes = CropChanges.fetch(since, limit, LocalDateTime.now().minus(changesSettle),
+                (updatedAt, id, until, page) -> retailerCropRepository.findChangesByUserId(userId, updatedAt, id, until, page),
+                (updatedAt, id, until, page) -> retailerCropRepository.findDeletedByUserId(userId, updatedAt, id, until, page),
+                c -> new PageCursor(c.updatedAt(), c.id()));
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
-    public ResponseEntity<?> createCrop(@RequestHeader("Authorization") String authHeader, @RequestBody RetailerCrop crop) {
+    public ResponseEntity<?> createCrop(@CurrentUser AuthenticatedUser currentUser, @RequestBody RetailerCrop crop) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            User user = userService.findById(userId);
+            User user = userService.findById(currentUser.getUserId());
 
-            crop.setUser(user);
-            RetailerCrop savedCrop = retailerCropRepository.save(crop);
-            return ResponseEntity.ok(savedCrop);
+            crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            RetailerCrop savedCrop = lotService.create(user, List.of(crop), retailerCropRepository).get(0);
+            return ResponseEntity.ok(RetailerCropView.from(savedCrop));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCrops(@CurrentUser AuthenticatedUser currentUser, @RequestBody List<RetailerCrop> crops) {
+        if (crops.isEmpty() || crops.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch must contain between 1 and " + maxBatchSize + " crops");
+        }
+        try {
+            User user = userService.findById(currentUser.getUserId());
+
+            for (RetailerCrop crop : crops) {
+                crop.setImageUrl(imageStore.toReference(crop.getImageUrl()));
+            }
+            // One transaction; IDs come from the pooled generator so Hibernate can batch the inserts
+            List<RetailerCrop> savedCrops = lotService.create(user, crops, retailerCropRepository);
+            return ResponseEntity.ok(savedCrops.stream().map(RetailerCropView::from).toList());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCrop(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> updateCrop(@CurrentUser AuthenticatedUser currentUser,
                                        @PathVariable Long id,
                                        @RequestBody RetailerCrop cropDetails) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
-            RetailerCrop crop = retailerCropRepository.findById(id)
+            RetailerCrop crop = retailerCropRepository.findWithUserById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
 
             if (!crop.getUser().getId().equals(userId)) {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            crop.setName(cropDetails.getName());
-            crop.setCropType(cropDetails.getCropType());
-            crop.setHarvestDate(cropDetails.getHarvestDate());
-            crop.setExpiryDate(cropDetails.getExpiryDate());
-            crop.setSoilType(cropDetails.getSoilType());
-            crop.setPesticidesUsed(cropDetails.getPesticidesUsed());
-            crop.setImageUrl(cropDetails.getImageUrl());
-            crop.setFarmerId(cropDetails.getFarmerId());
-            crop.setFarmerName(cropDetails.getFarmerName());
-            crop.setFarmerLocation(cropDetails.getFarmerLocation());
             crop.setDistributorId(cropDetails.getDistributorId());
             crop.setDistributorName(cropDetails.getDistributorName());
             crop.setDistributorLocation(cropDetails.getDistributorLocation());
             crop.setRetailerLocation(cropDetails.getRetailerLocation());
             crop.setReceivedDate(cropDetails.getReceivedDate());
 
-            RetailerCrop updatedCrop = retailerCropRepository.save(crop);
-            return ResponseEntity.ok(updatedCrop);
+            // Lot values go through the lot service, which decides whether this row may edit the shared lot
+            cropDetails.setImageUrl(imageStore.toReference(cropDetails.getImageUrl()));
+            lotService.update(crop, cropDetails.getLot(), retailerCropRepository);
+            // The merged copy save() returns has an unloaded owner; crop was read with it
+            return ResponseEntity.ok(RetailerCropView.from(crop));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCrop(@RequestHeader("Authorization") String authHeader, @PathVariable Long id) {
+    public ResponseEntity<?> deleteCrop(@CurrentUser AuthenticatedUser currentUser, @PathVariable Long id) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getUserId();
 
             RetailerCrop crop = retailerCropRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Crop not found"));
@@ -105,7 +190,9 @@ public class RetailerCropController {
                 return ResponseEntity.status(403).body("Unauthorized");
             }
 
-            retailerCropRepository.delete(crop);
+            // Keep a tombstone so delta sync clients learn about the delete
+            crop.markDeleted();
+            retailerCropRepository.save(crop);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -0,0 +1,103 @@
+package com.farmchainx.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a delta sync: rows created or modified and rows deleted since
+ * the client's cursor, in {@code (updated_at, id)} order. Clients store
+ * {@code nextCursor} and pass it back as {@code since}; it stays the same
+ * when nothing changed. {@code hasMore} asks them to fetch again right away.
+ */
+public class CropChanges<T> {
+
+    // Seek position before any row, so the first sync needs no null handling in SQL
+    private static final PageCursor START = new PageCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final List<T> items;
+    private final List<CropTombstone> deleted;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public CropChanges(List<T> items, List<CropTombstone> deleted, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.deleted = deleted;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public List<CropTombstone> getDeleted() {
+        return deleted;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Runs one keyset query for changed rows and one for tombstones, each for
+     * {@code limit + 1} rows, and merges them in update order. Rows updated
+     * after {@code until} are left for the next sync, so a transaction that
+     * commits late with an older timestamp is not skipped. The first sync (no
+     * cursor) has nothing to delete and skips the tombstone query.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static <T> CropChanges<T> fetch(String since, Integer limit, LocalDateTime until,
+                                           ChangeQuery<T> changed, ChangeQuery<CropTombstone> tombstones,
+                                           Function<T, PageCursor> cursorOf) {
+        int pageSize = CursorPage.clampLimit(limit);
+        PageCursor after = PageCursor.decode(since);
+        PageCursor from = after != null ? after : START;
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+
+        List<T> rows = changed.find(from.getCreatedAt(), from.getId(), until, page);
+        List<CropTombstone> deletions = after != null
+            ? tombstones.find(from.getCreatedAt(), from.getId(), until, page)
+            : List.of();
+
+        List<T> items = new ArrayList<>();
+        List<CropTombstone> deleted = new ArrayList<>();
+        PageCursor last = after;
+        int r = 0;
+        int d = 0;
+        while (items.size() + deleted.size() < pageSize && (r < rows.size() || d < deletions.size())) {
+            PageCursor row = r < rows.size() ? cursorOf.apply(rows.get(r)) : null;
+            PageCursor tombstone = d < deletions.size()
+                ? new PageCursor(deletions.get(d).getDeletedAt(), deletions.get(d).getId()) : null;
+            if (tombstone == null || (row != null && isBefore(row, tombstone))) {
+                items.add(rows.get(r++));
+                last = row;
+            } else {
+                deleted.add(deletions.get(d++));
+                last = tombstone;
+            }
+        }
+        boolean hasMore = r < rows.size() || d < deletions.size();
+        return new CropChanges<>(items, deleted, last != null ? last.encode() : null, hasMore);
+    }
+
+    private static boolean isBefore(PageCursor a, PageCursor b) {
+        int byTime = a.getCreatedAt().compareTo(b.getCreatedAt());
+        return byTime < 0 || (byTime == 0 && a.getId() < b.getId());
+    }
+
+    /** A repository query seeking past {@code (updatedAt, id)} up to and including {@code until}. */
+    @FunctionalInterface
+    public interface ChangeQuery<T> {
+        List<T> find(LocalDateTime updatedAt, Long id, LocalDateTime until, Pageable pageable);
+    }
+}
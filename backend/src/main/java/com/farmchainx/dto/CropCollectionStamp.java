@@ -0,0 +1,15 @@
+package com.farmchainx.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and newest {@code updated_at} over one user's rows in a crop
+ * table, tombstones included. Any committed write to the collection changes
+ * one or the other.
+ */
+public interface CropCollectionStamp {
+
+    long getRowCount();
+
+    LocalDateTime getLatestUpdate();
+}
@@ -0,0 +1,14 @@
+package com.farmchainx.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A crop that has not been marked expired yet, as loaded by the expiry
+ * scheduler for the days it keeps in memory.
+ */
+public interface CropExpiry {
+
+    Long getId();
+
+    LocalDate getExpiryDate();
+}
@@ -0,0 +1,7 @@
+package com.farmchainx.dto;
+
+/**
+ * The few owner columns a crop list needs: identity plus the public farmer or
+ * distributor ID. Never carries the email or password hash of the owning user.
+ */
+public record CropOwner(Long id, String name, String farmerId, String distributorId) {}
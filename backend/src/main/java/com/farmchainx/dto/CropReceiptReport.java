@@ -0,0 +1,26 @@
+package com.farmchainx.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk receipt, one item per requested upstream crop in request
+ * order. Items that were not received do not stop the others.
+ */
+public record CropReceiptReport(int received, int rejected, List<Item> items) {
+
+    public enum Status {
+        RECEIVED,
+        /** No live upstream crop with that ID. */
+        NOT_FOUND,
+        /** The ID was already listed earlier in the same request. */
+        DUPLICATE
+    }
+
+    /** {@code cropId} is the new downstream row, or {@code null} unless {@code RECEIVED}. */
+    public record Item(Long sourceCropId, Status status, Long cropId) {}
+
+    public static CropReceiptReport of(List<Item> items) {
+        int received = (int) items.stream().filter(item -> item.status() == Status.RECEIVED).count();
+        return new CropReceiptReport(received, items.size() - received, items);
+    }
+}
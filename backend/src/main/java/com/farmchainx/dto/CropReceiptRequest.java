@@ -0,0 +1,11 @@
+package com.farmchainx.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A distributor or retailer taking in several upstream crops at once. The
+ * receipt fields apply to every item; a {@code null} {@code receivedDate}
+ * means today and a {@code null} {@code location} the receiver's own.
+ */
+public record CropReceiptRequest(List<Long> sourceCropIds, LocalDate receivedDate, String location) {}
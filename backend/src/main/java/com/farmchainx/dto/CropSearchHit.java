@@ -0,0 +1,27 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.CropStage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One crop as held by the search index and returned from {@code /crops/search}.
+ * Only stored image references are kept; legacy inline images are dropped.
+ */
+public record CropSearchHit(CropStage stage, Long id, Long userId, String name, String cropType, String soilType,
+                            String pesticidesUsed, String imageUrl, String farmerLocation,
+                            String distributorLocation, String retailerLocation, LocalDate harvestDate,
+                            LocalDate expiryDate, LocalDateTime createdAt) {
+
+    /** Unique across the three crop tables, which number their rows independently. */
+    @JsonIgnore
+    public long key() {
+        return key(stage, id);
+    }
+
+    public static long key(CropStage stage, long id) {
+        return id << 2 | stage.ordinal();
+    }
+}
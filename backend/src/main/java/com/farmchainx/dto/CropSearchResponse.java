@@ -0,0 +1,41 @@
+package com.farmchainx.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of search hits plus the total match count and facet counts. Facets
+ * count every match of the query in the caller's scope, before the stage and
+ * crop type filters, so they can drive those filters.
+ */
+public class CropSearchResponse {
+
+    private final List<CropSearchHit> items;
+    private final String nextCursor;
+    private final long total;
+    private final Map<String, Map<String, Long>> facets;
+
+    public CropSearchResponse(List<CropSearchHit> items, String nextCursor, long total,
+                              Map<String, Map<String, Long>> facets) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+        this.facets = facets;
+    }
+
+    public List<CropSearchHit> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,14 @@
+package com.farmchainx.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deleted crop as reported by delta sync. Projected straight from the
+ * soft-deleted row, whose {@code updated_at} equals its {@code deleted_at}.
+ */
+public interface CropTombstone {
+
+    Long getId();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,78 @@
+package com.farmchainx.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null}
+ * on the last page.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /** Caps a client-requested page size to {@code [1, MAX_LIMIT]}. */
+    public static int clampLimit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    /**
+     * Decodes the cursor, runs one keyset query for {@code limit + 1} rows and
+     * wraps the result.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static <T> CursorPage<T> fetch(String cursor, Integer limit, KeysetQuery<T> query,
+                                          Function<T, PageCursor> cursorOf) {
+        int pageSize = clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<T> rows = query.find(
+            after == null ? null : after.getCreatedAt(),
+            after == null ? null : after.getId(),
+            PageRequest.ofSize(pageSize + 1)
+        );
+        return of(rows, pageSize, cursorOf);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    /** A repository query seeking past {@code (createdAt, id)}; both are {@code null} for the first page. */
+    @FunctionalInterface
+    public interface KeysetQuery<T> {
+        List<T> find(LocalDateTime createdAt, Long id, Pageable pageable);
+    }
+}
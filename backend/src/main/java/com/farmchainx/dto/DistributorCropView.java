@@ -0,0 +1,44 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.DistributorCrop;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for distributor crop lists, built straight from a single joined
+ * query instead of loading entities.
+ */
+public record DistributorCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                                  String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt,
+                                  String farmerId, String farmerName, String distributorLocation,
+                                  LocalDate receivedDate, String sentToRetailer, String retailerLocation,
+                                  CropOwner user) {
+
+    /** Select clause for JPQL queries; alias the crop {@code c}, its owner {@code u} and its lot {@code l}. */
+    public static final String SELECT = "select new com.farmchainx.dto.DistributorCropView(" +
+        "c.id, l.name, c.cropType, l.harvestDate, c.expiryDate, l.soilType, l.pesticidesUsed, l.imageUrl, " +
+        "l.farmerLocation, c.createdAt, c.updatedAt, c.expiredAt, l.farmerId, l.farmerName, c.distributorLocation, " +
+        "c.receivedDate, c.sentToRetailer, c.retailerLocation, u.id, u.name, u.farmerId, u.distributorId) " +
+        "from DistributorCrop c join c.user u join c.lot l ";
+
+    public DistributorCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                               String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt,
+                               String farmerId, String farmerName, String distributorLocation,
+                               LocalDate receivedDate, String sentToRetailer, String retailerLocation, Long ownerId,
+                               String ownerName, String ownerFarmerId, String ownerDistributorId) {
+        this(id, name, cropType, harvestDate, expiryDate, soilType, pesticidesUsed, imageUrl, farmerLocation,
+             createdAt, updatedAt, expiredAt, farmerId, farmerName, distributorLocation, receivedDate, sentToRetailer,
+             retailerLocation, new CropOwner(ownerId, ownerName, ownerFarmerId, ownerDistributorId));
+    }
+
+    public static DistributorCropView from(DistributorCrop c) {
+        return new DistributorCropView(c.getId(), c.getName(), c.getCropType(), c.getHarvestDate(), c.getExpiryDate(),
+            c.getSoilType(), c.getPesticidesUsed(), c.getImageUrl(), c.getFarmerLocation(), c.getCreatedAt(),
+            c.getUpdatedAt(), c.getExpiredAt(), c.getFarmerId(), c.getFarmerName(), c.getDistributorLocation(),
+            c.getReceivedDate(), c.getSentToRetailer(), c.getRetailerLocation(),
+            c.getUser().getId(), c.getUser().getName(), c.getUser().getFarmerId(), c.getUser().getDistributorId());
+    }
+}
@@ -0,0 +1,37 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.FarmerCrop;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for farmer crop lists, built straight from a single joined
+ * query instead of loading entities.
+ */
+public record FarmerCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                             String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                             LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt,
+                             CropOwner user) {
+
+    /** Select clause for JPQL queries; alias the crop {@code c}, its owner {@code u} and its lot {@code l}. */
+    public static final String SELECT = "select new com.farmchainx.dto.FarmerCropView(" +
+        "c.id, l.name, c.cropType, l.harvestDate, c.expiryDate, l.soilType, l.pesticidesUsed, l.imageUrl, " +
+        "l.farmerLocation, c.createdAt, c.updatedAt, c.expiredAt, u.id, u.name, u.farmerId, u.distributorId) " +
+        "from FarmerCrop c join c.user u join c.lot l ";
+
+    public FarmerCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                          String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt, Long ownerId,
+                          String ownerName, String ownerFarmerId, String ownerDistributorId) {
+        this(id, name, cropType, harvestDate, expiryDate, soilType, pesticidesUsed, imageUrl, farmerLocation,
+             createdAt, updatedAt, expiredAt, new CropOwner(ownerId, ownerName, ownerFarmerId, ownerDistributorId));
+    }
+
+    public static FarmerCropView from(FarmerCrop c) {
+        return new FarmerCropView(c.getId(), c.getName(), c.getCropType(), c.getHarvestDate(), c.getExpiryDate(),
+            c.getSoilType(), c.getPesticidesUsed(), c.getImageUrl(), c.getFarmerLocation(), c.getCreatedAt(),
+            c.getUpdatedAt(), c.getExpiredAt(),
+            c.getUser().getId(), c.getUser().getName(), c.getUser().getFarmerId(), c.getUser().getDistributorId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.CropStage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Public provenance of a scanned crop: the scanned row plus its chain from
+ * farmer lot to the scanned stage, oldest first. Carries no email addresses
+ * or internal user IDs.
+ */
+public record ProvenanceResponse(String scanId, CropStage stage, Long cropId, String name, String cropType,
+                                 LocalDate harvestDate, LocalDate expiryDate, String soilType,
+                                 String pesticidesUsed, String imageUrl, List<ProvenanceStep> chain,
+                                 @JsonIgnore String etag) {}
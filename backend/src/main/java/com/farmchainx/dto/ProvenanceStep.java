@@ -0,0 +1,14 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.CropStage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One hop of a crop's journey as shown to whoever scans its QR code.
+ * {@code cropId} is {@code null} when the upstream party never recorded the
+ * lot themselves and the step is taken from the downstream row's fields.
+ */
+public record ProvenanceStep(CropStage stage, Long cropId, String party, String partyId, String location,
+                             LocalDate receivedDate, LocalDateTime recordedAt) {}
@@ -0,0 +1,45 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.model.RetailerCrop;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for retailer crop lists, built straight from a single joined
+ * query instead of loading entities.
+ */
+public record RetailerCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                               String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt,
+                               String farmerId, String farmerName, String distributorId, String distributorName,
+                               String distributorLocation, String retailerLocation, LocalDate receivedDate,
+                               CropOwner user) {
+
+    /** Select clause for JPQL queries; alias the crop {@code c}, its owner {@code u} and its lot {@code l}. */
+    public static final String SELECT = "select new com.farmchainx.dto.RetailerCropView(" +
+        "c.id, l.name, c.cropType, l.harvestDate, c.expiryDate, l.soilType, l.pesticidesUsed, l.imageUrl, " +
+        "l.farmerLocation, c.createdAt, c.updatedAt, c.expiredAt, l.farmerId, l.farmerName, c.distributorId, " +
+        "c.distributorName, c.distributorLocation, c.retailerLocation, c.receivedDate, " +
+        "u.id, u.name, u.farmerId, u.distributorId) " +
+        "from RetailerCrop c join c.user u join c.lot l ";
+
+    public RetailerCropView(Long id, String name, String cropType, LocalDate harvestDate, LocalDate expiryDate,
+                            String soilType, String pesticidesUsed, String imageUrl, String farmerLocation,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime expiredAt,
+                            String farmerId, String farmerName, String distributorId, String distributorName,
+                            String distributorLocation, String retailerLocation, LocalDate receivedDate,
+                            Long ownerId, String ownerName, String ownerFarmerId, String ownerDistributorId) {
+        this(id, name, cropType, harvestDate, expiryDate, soilType, pesticidesUsed, imageUrl, farmerLocation,
+             createdAt, updatedAt, expiredAt, farmerId, farmerName, distributorId, distributorName, distributorLocation,
+             retailerLocation, receivedDate, new CropOwner(ownerId, ownerName, ownerFarmerId, ownerDistributorId));
+    }
+
+    public static RetailerCropView from(RetailerCrop c) {
+        return new RetailerCropView(c.getId(), c.getName(), c.getCropType(), c.getHarvestDate(), c.getExpiryDate(),
+            c.getSoilType(), c.getPesticidesUsed(), c.getImageUrl(), c.getFarmerLocation(), c.getCreatedAt(),
+            c.getUpdatedAt(), c.getExpiredAt(), c.getFarmerId(), c.getFarmerName(), c.getDistributorId(),
+            c.getDistributorName(), c.getDistributorLocation(), c.getRetailerLocation(), c.getReceivedDate(),
+            c.getUser().getId(), c.getUser().getName(), c.getUser().getFarmerId(), c.getUser().getDistributorId());
+    }
+}
@@ -0,0 +1,117 @@
+package com.farmchainx.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class StatsResponse {
+    private long totalUsers;
+    private long totalFarmerCrops;
+    private long totalDistributorCrops;
+    private long totalRetailerCrops;
+    private long totalCrops;
+    private long activeFarmers;
+    private long newCropsThisMonth;
+    private Map<String, Long> usersByRole;
+    private Map<String, Long> cropsByStage;
+    private Map<String, Long> cropsByType;
+    private Map<String, Long> cropsByMonth;
+    private LocalDateTime reconciledAt;
+
+    public StatsResponse() {}
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public long getTotalFarmerCrops() {
+        return totalFarmerCrops;
+    }
+
+    public void setTotalFarmerCrops(long totalFarmerCrops) {
+        this.totalFarmerCrops = totalFarmerCrops;
+    }
+
+    public long getTotalDistributorCrops() {
+        return totalDistributorCrops;
+    }
+
+    public void setTotalDistributorCrops(long totalDistributorCrops) {
+        this.totalDistributorCrops = totalDistributorCrops;
+    }
+
+    public long getTotalRetailerCrops() {
+        return totalRetailerCrops;
+    }
+
+    public void setTotalRetailerCrops(long totalRetailerCrops) {
+        this.totalRetailerCrops = totalRetailerCrops;
+    }
+
+    public long getTotalCrops() {
+        return totalCrops;
+    }
+
+    public void setTotalCrops(long totalCrops) {
+        this.totalCrops = totalCrops;
+    }
+
+    public long getActiveFarmers() {
+        return activeFarmers;
+    }
+
+    public void setActiveFarmers(long activeFarmers) {
+        this.activeFarmers = activeFarmers;
+    }
+
+    public long getNewCropsThisMonth() {
+        return newCropsThisMonth;
+    }
+
+    public void setNewCropsThisMonth(long newCropsThisMonth) {
+        this.newCropsThisMonth = newCropsThisMonth;
+    }
+
+    public Map<String, Long> getUsersByRole() {
+        return usersByRole;
+    }
+
+    public void setUsersByRole(Map<String, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+
+    public Map<String, Long> getCropsByStage() {
+        return cropsByStage;
+    }
+
+    public void setCropsByStage(Map<String, Long> cropsByStage) {
+        this.cropsByStage = cropsByStage;
+    }
+
+    public Map<String, Long> getCropsByType() {
+        return cropsByType;
+    }
+
+    public void setCropsByType(Map<String, Long> cropsByType) {
+        this.cropsByType = cropsByType;
+    }
+
+    public Map<String, Long> getCropsByMonth() {
+        return cropsByMonth;
+    }
+
+    public void setCropsByMonth(Map<String, Long> cropsByMonth) {
+        this.cropsByMonth = cropsByMonth;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.farmchainx.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
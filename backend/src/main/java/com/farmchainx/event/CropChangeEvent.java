@@ -0,0 +1,57 @@
+package com.farmchainx.event;
+
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.SupplyChainCrop;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a crop row in any stage is inserted, updated or deleted.
+ * Listeners that keep derived state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class CropChangeEvent {
+
+    private final ChangeType type;
+    private final SupplyChainCrop crop;
+    private final String previousCropType;
+
+    public CropChangeEvent(ChangeType type, SupplyChainCrop crop, String previousCropType) {
+        this.type = type;
+        this.crop = crop;
+        this.previousCropType = previousCropType;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public SupplyChainCrop getCrop() {
+        return crop;
+    }
+
+    public CropStage getStage() {
+        return crop.getStage();
+    }
+
+    public Long getCropId() {
+        return crop.getId();
+    }
+
+    public Long getUserId() {
+        return crop.getUser() != null ? crop.getUser().getId() : null;
+    }
+
+    public String getCropType() {
+        return crop.getCropType();
+    }
+
+    /** Crop type before an update; the current type for inserts and deletes. */
+    public String getPreviousCropType() {
+        return previousCropType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return crop.getCreatedAt();
+    }
+}
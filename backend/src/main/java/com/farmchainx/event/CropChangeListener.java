@@ -0,0 +1,38 @@
+package com.farmchainx.event;
+
+import com.farmchainx.model.SupplyChainCrop;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that republishes crop lifecycle callbacks as Spring
+ * application events. Hibernate creates it through Spring, so it can be
+ * constructor-injected. Bulk JPQL updates and deletes bypass it.
+ */
+public class CropChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public CropChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void created(SupplyChainCrop crop) {
+        publisher.publishEvent(new CropChangeEvent(ChangeType.CREATED, crop, crop.getCropType()));
+    }
+
+    @PostUpdate
+    public void updated(SupplyChainCrop crop) {
+        // Soft deletes are updates to the table but deletes to everyone listening
+        ChangeType type = crop.getDeletedAt() != null ? ChangeType.DELETED : ChangeType.UPDATED;
+        publisher.publishEvent(new CropChangeEvent(type, crop, crop.getLoadedCropType()));
+    }
+
+    @PostRemove
+    public void deleted(SupplyChainCrop crop) {
+        publisher.publishEvent(new CropChangeEvent(ChangeType.DELETED, crop, crop.getLoadedCropType()));
+    }
+}
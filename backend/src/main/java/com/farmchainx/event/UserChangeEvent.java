@@ -0,0 +1,25 @@
+package com.farmchainx.event;
+
+import com.farmchainx.model.User;
+
+/**
+ * Published when a user row is inserted, updated or deleted.
+ */
+public class UserChangeEvent {
+
+    private final ChangeType type;
+    private final User user;
+
+    public UserChangeEvent(ChangeType type, User user) {
+        this.type = type;
+        this.user = user;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
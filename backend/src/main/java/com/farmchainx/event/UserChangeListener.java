@@ -0,0 +1,35 @@
+package com.farmchainx.event;
+
+import com.farmchainx.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that republishes user lifecycle callbacks as Spring
+ * application events.
+ */
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public UserChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void created(User user) {
+        publisher.publishEvent(new UserChangeEvent(ChangeType.CREATED, user));
+    }
+
+    @PostUpdate
+    public void updated(User user) {
+        publisher.publishEvent(new UserChangeEvent(ChangeType.UPDATED, user));
+    }
+
+    @PostRemove
+    public void deleted(User user) {
+        publisher.publishEvent(new UserChangeEvent(ChangeType.DELETED, user));
+    }
+}
@@ -0,0 +1,317 @@
+package com.farmchainx.loadtest;
+
+import com.farmchainx.config.IdGeneratorInitializer;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.service.PublicIdAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the {@code loadtest} database with users and farmer → distributor →
+ * retailer crop chains, each one lot shared by its stages with a custody
+ * transition per stage. Ownership and crop types follow a Zipf distribution
+ * (a few large farms and depots, a long tail of small ones), and creation
+ * times cluster towards the present. The same seed always yields the same data.
+ *
+ * Every generated user has the password {@code loadtest} and an email of the
+ * form {@code <role>-<n>@loadtest.local}, with n counting from 1 per role;
+ * the admin is {@code admin@loadtest.local}. Rows are written with batched
+ * JDBC inserts, so entity listeners do not see them; derived state is
+ * rebuilt from the database afterwards.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    public static final String PASSWORD = "loadtest";
+    public static final String EMAIL_DOMAIN = "@loadtest.local";
+
+    private static final String[] CROP_TYPES = {"Vegetable", "Grain", "Fruit", "Pulse", "Spice", "Oilseed", "Herb"};
+    private static final String[][] CROP_NAMES = {
+        {"Tomato", "Potato", "Onion", "Cabbage", "Okra", "Brinjal"},
+        {"Rice", "Wheat", "Maize", "Millet", "Barley"},
+        {"Mango", "Banana", "Guava", "Papaya", "Grapes"},
+        {"Chickpea", "Lentil", "Pigeon Pea", "Mung Bean"},
+        {"Turmeric", "Chilli", "Cardamom", "Pepper"},
+        {"Mustard", "Groundnut", "Sesame", "Sunflower"},
+        {"Coriander", "Mint", "Basil"}
+    };
+    private static final String[] SOIL_TYPES = {"Loam", "Clay", "Sandy", "Black", "Red", "Alluvial"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PublicIdAllocator publicIdAllocator;
+    private final IdGeneratorInitializer idGeneratorInitializer;
+
+    private final int userCount;
+    private final int chainCount;
+    private final double distributorShare;
+    private final double retailerShare;
+    private final double skew;
+    private final int days;
+    private final int batchSize;
+    private final long seed;
+
+    public LoadTestDataGenerator(JdbcTemplate jdbcTemplate,
+                                 PasswordEncoder passwordEncoder,
+                                 PublicIdAllocator publicIdAllocator,
+                                 IdGeneratorInitializer idGeneratorInitializer,
+                                 @Value("${farmchainx.loadtest.users:10000}") int userCount,
+                                 @Value("${farmchainx.loadtest.chains:100000}") int chainCount,
+                                 @Value("${farmchainx.loadtest.distributor-share:0.6}") double distributorShare,
+                                 @Value("${farmchainx.loadtest.retailer-share:0.5}") double retailerShare,
+                                 @Value("${farmchainx.loadtest.skew:1.1}") double skew,
+                                 @Value("${farmchainx.loadtest.days:365}") int days,
+                                 @Value("${farmchainx.loadtest.batch-size:1000}") int batchSize,
+                                 @Value("${farmchainx.loadtest.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.publicIdAllocator = publicIdAllocator;
+        this.idGeneratorInitializer = idGeneratorInitializer;
+        this.userCount = userCount;
+        this.chainCount = chainCount;
+        this.distributorShare = distributorShare;
+        this.retailerShare = retailerShare;
+        this.skew = skew;
+        this.days = days;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+    // Runs before other ready listeners so caches and counters are built from the seeded data
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void generate() {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Load test database already has {} users; not generating data", existing);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Party> farmers = new ArrayList<>();
+        List<Party> distributors = new ArrayList<>();
+        List<Party> retailers = new ArrayList<>();
+        insertUsers(random, now, farmers, distributors, retailers);
+        log.info("Generated {} users ({} farmers, {} distributors, {} retailers)",
+            userCount, farmers.size(), distributors.size(), retailers.size());
+
+        long[] rows = insertChains(random, now, farmers, distributors, retailers);
+        log.info("Generated {} farmer, {} distributor and {} retailer crops in {}s",
+            rows[0], rows[1], rows[2], (System.currentTimeMillis() - started) / 1000);
+    }
+
+    private void insertUsers(SplittableRandom random, LocalDateTime now,
+                             List<Party> farmers, List<Party> distributors, List<Party> retailers) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int[] perRole = new int[UserRole.values().length];
+
+        // IDs are written directly, from ranges reserved on the pooled generators
+        long id = idGeneratorInitializer.reserve("users", userCount);
+        batch.add(new Object[] {id++, "admin" + EMAIL_DOMAIN, hash, UserRole.ADMIN.name(), "Load Test Admin", "HQ", null, null,
+            Timestamp.valueOf(now.minusDays(days))});
+        for (int i = 1; i < userCount; i++) {
+            // Roughly half farmers, a third retailers, a tenth each distributors and consumers
+            double r = random.nextDouble();
+            UserRole role = r < 0.5 ? UserRole.FARMER : r < 0.6 ? UserRole.DISTRIBUTOR : r < 0.9 ? UserRole.RETAILER : UserRole.CONSUMER;
+            int n = ++perRole[role.ordinal()];
+            String name = capitalize(role.name().toLowerCase()) + " " + n;
+            batch.add(new Object[] {
+                id++, role.name().toLowerCase() + "-" + n + EMAIL_DOMAIN, hash, role.name(), name, "District " + random.nextInt(120),
+                role == UserRole.FARMER ? publicIdAllocator.nextFarmerId() : null,
+                role == UserRole.DISTRIBUTOR ? publicIdAllocator.nextDistributorId() : null,
+                Timestamp.valueOf(recent(random, now))
+            });
+            if (batch.size() == batchSize) {
+                flushUsers(batch);
+            }
+        }
+        flushUsers(batch);
+
+        jdbcTemplate.query("select id, role, name, location, farmer_id, distributor_id from users order by id", rs -> {
+            Party party = new Party(rs.getLong("id"), rs.getString("name"), rs.getString("location"),
+                rs.getString("farmer_id") != null ? rs.getString("farmer_id") : rs.getString("distributor_id"));
+            switch (UserRole.valueOf(rs.getString("role"))) {
+                case FARMER -> farmers.add(party);
+                case DISTRIBUTOR -> distributors.add(party);
+                case RETAILER -> retailers.add(party);
+                default -> { }
+            }
+        });
+    }
+
+    private void flushUsers(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into users (id, email, password, role, name, location, farmer_id, distributor_id, created_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private long[] insertChains(SplittableRandom random, LocalDateTime now,
+                                List<Party> farmers, List<Party> distributors, List<Party> retailers) {
+        ZipfSampler farmerSampler = new ZipfSampler(farmers.size(), skew);
+        ZipfSampler distributorSampler = new ZipfSampler(distributors.size(), skew);
+        ZipfSampler retailerSampler = new ZipfSampler(retailers.size(), skew);
+        ZipfSampler typeSampler = new ZipfSampler(CROP_TYPES.length, 1.0);
+
+        Batches batches = new Batches(batchSize);
+        long[] rows = new long[3];
+        long[] nextId = {
+            idGeneratorInitializer.reserve("farmer_crops", chainCount),
+            idGeneratorInitializer.reserve("distributor_crops", chainCount),
+            idGeneratorInitializer.reserve("retailer_crops", chainCount)
+        };
+        long nextLotId = idGeneratorInitializer.reserve("lots", chainCount);
+        long nextTransitionId = idGeneratorInitializer.reserve("custody_transitions", 3L * chainCount);
+
+        for (int i = 0; i < chainCount; i++) {
+            Party farmer = farmers.get(farmerSampler.sample(random));
+            int type = typeSampler.sample(random);
+            String[] names = CROP_NAMES[type];
+            String name = names[random.nextInt(names.length)];
+            String soil = SOIL_TYPES[random.nextInt(SOIL_TYPES.length)];
+            String pesticides = random.nextInt(4) == 0 ? "Organic" : "Neem oil";
+            LocalDateTime created = recent(random, now);
+            LocalDate harvest = created.toLocalDate().minusDays(random.nextInt(10));
+            LocalDate expiry = harvest.plusDays(7 + random.nextInt(114));
+
+            // One lot per chain, shared by every stage that receives it
+            long lotId = nextLotId++;
+            batches.lots.add(new Object[] {lotId, name, CROP_TYPES[type], Date.valueOf(harvest), Date.valueOf(expiry), soil,
+                pesticides, null, farmer.publicId, farmer.name, farmer.location, farmer.id,
+                Timestamp.valueOf(created), Timestamp.valueOf(created)});
+
+            long farmerCropId = nextId[0]++;
+            batches.farmerCrops.add(new Object[] {farmerCropId, CROP_TYPES[type], Date.valueOf(expiry), lotId, farmer.id,
+                Timestamp.valueOf(created), Timestamp.valueOf(created)});
+            batches.transitions.add(new Object[] {nextTransitionId++, lotId, "FARMER", farmerCropId, farmer.id,
+                null, null, null, Timestamp.valueOf(created)});
+
+            if (!distributors.isEmpty() && random.nextDouble() < distributorShare) {
+                Party distributor = distributors.get(distributorSampler.sample(random));
+                LocalDateTime received = min(created.plusHours(12 + random.nextInt(96)), now);
+                Party retailer = !retailers.isEmpty() && random.nextDouble() < retailerShare
+                    ? retailers.get(retailerSampler.sample(random)) : null;
+
+                long distributorCropId = nextId[1]++;
+                batches.distributorCrops.add(new Object[] {distributorCropId, CROP_TYPES[type], Date.valueOf(expiry), lotId,
+                    distributor.id, Timestamp.valueOf(received), Timestamp.valueOf(received), distributor.location,
+                    Date.valueOf(received.toLocalDate()), retailer != null ? retailer.name : null,
+                    retailer != null ? retailer.location : null});
+                batches.transitions.add(new Object[] {nextTransitionId++, lotId, "DISTRIBUTOR", distributorCropId,
+                    distributor.id, "FARMER", farmerCropId, farmer.id, Timestamp.valueOf(received)});
+
+                if (retailer != null) {
+                    LocalDateTime stocked = min(received.plusHours(12 + random.nextInt(72)), now);
+                    long retailerCropId = nextId[2]++;
+                    batches.retailerCrops.add(new Object[] {retailerCropId, CROP_TYPES[type], Date.valueOf(expiry), lotId,
+                        retailer.id, Timestamp.valueOf(stocked), Timestamp.valueOf(stocked), distributor.publicId,
+                        distributor.name, distributor.location, retailer.location, Date.valueOf(stocked.toLocalDate())});
+                    batches.transitions.add(new Object[] {nextTransitionId++, lotId, "RETAILER", retailerCropId,
+                        retailer.id, "DISTRIBUTOR", distributorCropId, distributor.id, Timestamp.valueOf(stocked)});
+                }
+            }
+
+            if (batches.lots.size() >= batchSize) {
+                flushChains(batches, rows);
+            }
+            if (chainCount >= 10 && (i + 1) % (chainCount / 10) == 0) {
+                log.info("Generated {}/{} crop chains", i + 1, chainCount);
+            }
+        }
+        flushChains(batches, rows);
+        return rows;
+    }
+
+    /** Writes the buffered rows, lots first so the crop and transition foreign keys hold. */
+    private void flushChains(Batches batches, long[] rows) {
+        flush("insert into lots (id, name, crop_type, harvest_date, expiry_date, soil_type, pesticides_used, image_url, " +
+            "farmer_id, farmer_name, farmer_location, created_by, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batches.lots);
+        rows[0] += flush("insert into farmer_crops (id, crop_type, expiry_date, lot_id, user_id, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?)", batches.farmerCrops);
+        rows[1] += flush("insert into distributor_crops (id, crop_type, expiry_date, lot_id, user_id, created_at, updated_at, " +
+            "distributor_location, received_date, sent_to_retailer, retailer_location) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batches.distributorCrops);
+        rows[2] += flush("insert into retailer_crops (id, crop_type, expiry_date, lot_id, user_id, created_at, updated_at, " +
+            "distributor_id, distributor_name, distributor_location, retailer_location, received_date) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batches.retailerCrops);
+        flush("insert into custody_transitions (id, lot_id, stage, crop_id, holder_id, from_stage, from_crop_id, " +
+            "from_holder_id, occurred_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", batches.transitions);
+    }
+
+    private long flush(String sql, List<Object[]> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+        return size;
+    }
+
+    /** A time within the configured window, denser towards now. */
+    private LocalDateTime recent(SplittableRandom random, LocalDateTime now) {
+        double age = random.nextDouble();
+        return now.minusSeconds((long) (age * age * days * 86400L));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static class Batches {
+        final List<Object[]> lots;
+        final List<Object[]> farmerCrops;
+        final List<Object[]> distributorCrops;
+        final List<Object[]> retailerCrops;
+        final List<Object[]> transitions;
+
+        Batches(int batchSize) {
+            lots = new ArrayList<>(batchSize);
+            farmerCrops = new ArrayList<>(batchSize);
+            distributorCrops = new ArrayList<>(batchSize);
+            retailerCrops = new ArrayList<>(batchSize);
+            transitions = new ArrayList<>(3 * batchSize);
+        }
+    }
+
+    private static class Party {
+        final long id;
+        final String name;
+        final String location;
+        final String publicId;
+
+        Party(long id, String name, String location, String publicId) {
+            this.id = id;
+            this.name = name;
+            this.location = location;
+            this.publicId = publicId;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.farmchainx.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source in a {@link RecordingDataSource} when
+ * {@link QueryPlanVerifier} is on, so it can see the statements the
+ * repositories execute.
+ */
+@Configuration
+@ConditionalOnProperty(name = "farmchainx.query-plans.verify", havingValue = "true")
+public class QueryPlanConfig {
+
+    @Bean
+    public static BeanPostProcessor recordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                    return new RecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
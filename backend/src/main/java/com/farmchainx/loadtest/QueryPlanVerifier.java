@@ -0,0 +1,278 @@
+package com.farmchainx.loadtest;
+
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.CustodyTransitionRepository;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.LotRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs each repository query and {@code EXPLAIN}s the statements it actually
+ * executed, failing startup if any of them reads a whole table. Bind values
+ * are written into the statement as literals, the way MySQL Connector/J sends
+ * them, so the planner sees through {@code :param is null} filters. The statements are captured by {@link RecordingDataSource}, so
+ * editing a {@code @Query} or a derived query changes what is checked. Works
+ * on H2 (the {@code loadtest} profile, after the data has been generated) and
+ * on MySQL; on MySQL, run it against a populated database, as the planner may
+ * skip indexes on tiny tables.
+ *
+ * <p>Each query runs in a transaction that is rolled back, and its bulk
+ * deletes are recorded without running. Caches are cleared first, so cached
+ * lookups reach the database. List queries are checked for a page after a
+ * cursor, and for the first page where the index use does not depend on the
+ * LIMIT: H2 ignores the LIMIT when ordering a join, so it would drive the
+ * unfiltered first page of the all-crops list from the users table. Aggregates
+ * that read every row by design (the stats reconciliation counts,
+ * {@code streamAll}, the admin export) are not listed, nor are the small
+ * {@code user_purges} and {@code public_id_blocks} tables.
+ */
+@Component
+@ConditionalOnProperty(name = "farmchainx.query-plans.verify", havingValue = "true")
+public class QueryPlanVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final List<String> TABLES = List.of("users", "lots", "custody_transitions",
+        "farmer_crops", "distributor_crops", "retailer_crops");
+
+    // H2 annotates each table access with the index it reads, or with "<table>.tablescan"
+    private static final Pattern H2_ACCESS = Pattern.compile("/\\* public\\.([\\w.]+)");
+
+    private static final Long USER = 2L;
+    private static final Long LOT = 5L;
+    private static final Long AFTER_ID = 1000L;
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2025, 2, 1, 0, 0);
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = FROM.plusDays(7);
+    private static final Pageable PAGE = Pageable.ofSize(51);
+    private static final Pageable CHANGES = Pageable.ofSize(201);
+    private static final Pageable CHUNK = Pageable.ofSize(500);
+    private static final Pageable NEWEST = Pageable.ofSize(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecordingDataSource recorder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transaction;
+    private final UserRepository userRepository;
+    private final LotRepository lotRepository;
+    private final CustodyTransitionRepository custodyTransitionRepository;
+    private final Map<String, Object> cropRepositories = new LinkedHashMap<>();
+
+    public QueryPlanVerifier(JdbcTemplate jdbcTemplate,
+                             DataSource dataSource,
+                             EntityManagerFactory entityManagerFactory,
+                             PlatformTransactionManager transactionManager,
+                             UserRepository userRepository,
+                             LotRepository lotRepository,
+                             CustodyTransitionRepository custodyTransitionRepository,
+                             FarmerCropRepository farmerCropRepository,
+                             DistributorCropRepository distributorCropRepository,
+                             RetailerCropRepository retailerCropRepository) throws SQLException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recorder = dataSource.unwrap(RecordingDataSource.class);
+        this.entityManagerFactory = entityManagerFactory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.lotRepository = lotRepository;
+        this.custodyTransitionRepository = custodyTransitionRepository;
+        cropRepositories.put("FarmerCropRepository", farmerCropRepository);
+        cropRepositories.put("DistributorCropRepository", distributorCropRepository);
+        cropRepositories.put("RetailerCropRepository", retailerCropRepository);
+    }
+
+    // After the load test data generator, so the planner sees realistic row counts
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void verify() {
+        List<String> scans = findScans();
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Repository queries reading whole tables:\n" + String.join("\n", scans));
+        }
+        log.info("All {} repository queries read through an index", checks().size());
+    }
+
+    /**
+     * Runs every checked query and returns those with a statement reading a
+     * whole table, each with the statement and how it reads its tables.
+     */
+    public List<String> findScans() {
+        boolean mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+            connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql"));
+        if (mysql) {
+            jdbcTemplate.execute("analyze table " + String.join(", ", TABLES));
+        }
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        List<String> scans = new ArrayList<>();
+        for (Check check : checks()) {
+            List<RecordingDataSource.Recorded> statements = recorder.record(() -> transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                check.call().run();
+            }));
+            if (statements.isEmpty()) {
+                scans.add(check.query() + ": ran no statement");
+                continue;
+            }
+            for (RecordingDataSource.Recorded statement : statements) {
+                Set<String> access = mysql ? mysqlAccess(statement) : h2Access(statement);
+                boolean scan = access.stream().anyMatch(a -> a.endsWith(".tablescan"));
+                log.info("{} {} {}", scan ? "SCAN" : "OK  ", check.query(), access);
+                if (scan) {
+                    scans.add(check.query() + ": " + access + " " + statement.sql());
+                }
+            }
+        }
+        return scans;
+    }
+
+    /** How each table is read: an index name, or {@code <table>.tablescan}. */
+    private Set<String> h2Access(RecordingDataSource.Recorded statement) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> access = new TreeSet<>();
+            try (Statement explain = connection.createStatement();
+                 ResultSet rows = explain.executeQuery("explain " + statement.inlined())) {
+                while (rows.next()) {
+                    Matcher matcher = H2_ACCESS.matcher(rows.getString(1).toLowerCase(Locale.ROOT));
+                    while (matcher.find()) {
+                        access.add(matcher.group(1));
+                    }
+                }
+            }
+            return access;
+        });
+    }
+
+    private Set<String> mysqlAccess(RecordingDataSource.Recorded statement) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> access = new TreeSet<>();
+            try (Statement explain = connection.createStatement();
+                 ResultSet rows = explain.executeQuery("explain " + statement.inlined())) {
+                while (rows.next()) {
+                    String key = rows.getString("key");
+                    access.add("ALL".equals(rows.getString("type")) || key == null
+                        ? rows.getString("table") + ".tablescan" : key);
+                }
+            }
+            return access;
+        });
+    }
+
+    private List<Check> checks() {
+        List<Check> checks = new ArrayList<>();
+        checks.add(new Check("UserRepository.findByEmail", () -> userRepository.findByEmail("farmer-1@loadtest.local")));
+        checks.add(new Check("UserRepository.findByFarmerId", () -> userRepository.findByFarmerId("F0000018")));
+        checks.add(new Check("UserRepository.findByDistributorId", () -> userRepository.findByDistributorId("D0000018")));
+        checks.add(new Check("UserRepository.findByRole", () -> userRepository.findByRole(UserRole.DISTRIBUTOR)));
+        checks.add(new Check("UserRepository.findPage", () -> userRepository.findPage(null, null, null, PAGE)));
+        checks.add(new Check("UserRepository.findPage",
+            () -> userRepository.findPage(null, AT, AFTER_ID, PAGE)).afterCursor());
+        checks.add(new Check("UserRepository.findPage",
+            () -> userRepository.findPage(UserRole.RETAILER, AT, AFTER_ID, PAGE)).named("by role after cursor"));
+
+        cropRepositories.forEach((name, repository) -> {
+            checks.add(call(name, repository, "findPageByUserId", USER, null, null, null, PAGE));
+            checks.add(call(name, repository, "findPageByUserId", USER, null, AT, AFTER_ID, PAGE).afterCursor());
+            checks.add(call(name, repository, "findPage", null, AT, AFTER_ID, PAGE).afterCursor());
+            checks.add(call(name, repository, "findPage", "Grain", AT, AFTER_ID, PAGE).named("by crop type after cursor"));
+            checks.add(call(name, repository, "findExpiringByUserId", USER, FROM, TO, FROM.plusDays(1), AFTER_ID, PAGE));
+            checks.add(call(name, repository, "findChangesByUserId", USER, AT, AFTER_ID, UNTIL, CHANGES));
+            checks.add(call(name, repository, "findDeletedByUserId", USER, AT, AFTER_ID, UNTIL, CHANGES));
+            checks.add(call(name, repository, "findChangesSince", AT, AFTER_ID, UNTIL, CHANGES));
+            checks.add(call(name, repository, "findDeletedSince", AT, AFTER_ID, UNTIL, CHANGES));
+            checks.add(call(name, repository, "findCollectionStamp", USER));
+            checks.add(call(name, repository, "findUnexpiredDueBetween", FROM, TO));
+            checks.add(call(name, repository, "findChunkByUserId", USER, CHUNK));
+            checks.add(call(name, repository, "findDeletedIdsByUserId", USER, CHUNK));
+            checks.add(call(name, repository, "findByLotId", LOT));
+            checks.add(call(name, repository, "findLotIdsByIds", IDS));
+            checks.add(call(name, repository, "deleteAllByIds", IDS));
+            checks.add(call(name, repository, "findWithUserById", 1L));
+        });
+        Object farmerCrops = cropRepositories.get("FarmerCropRepository");
+        Object distributorCrops = cropRepositories.get("DistributorCropRepository");
+        checks.add(call("FarmerCropRepository", farmerCrops, "findPageByFarmerId", "F0000018", AT, AFTER_ID, PAGE)
+            .afterCursor());
+        checks.add(call("FarmerCropRepository", farmerCrops, "findLatestByFarmerIdAndName", "F0000018", "Tomato", NEWEST));
+        checks.add(call("DistributorCropRepository", distributorCrops, "findLatestByDistributorIdAndFarmerIdAndName",
+            "D0000018", "F0000018", "Tomato", NEWEST));
+        checks.add(call("FarmerCropRepository", farmerCrops, "findWithUserByIdIn", IDS));
+        checks.add(call("DistributorCropRepository", distributorCrops, "findWithUserByIdIn", IDS));
+
+        checks.add(new Check("LotRepository.findUnheldIds", () -> lotRepository.findUnheldIds(IDS)));
+        checks.add(new Check("LotRepository.deleteAllByIds", () -> lotRepository.deleteAllByIds(IDS)));
+        checks.add(new Check("CustodyTransitionRepository.findByLotIdOrderById",
+            () -> custodyTransitionRepository.findByLotIdOrderById(LOT)));
+        checks.add(new Check("CustodyTransitionRepository.findFirstByStageAndCropIdOrderByIdDesc",
+            () -> custodyTransitionRepository.findFirstByStageAndCropIdOrderByIdDesc(CropStage.DISTRIBUTOR, LOT)));
+        checks.add(new Check("CustodyTransitionRepository.deleteByStageAndCropIds",
+            () -> custodyTransitionRepository.deleteByStageAndCropIds(CropStage.DISTRIBUTOR.name(), IDS)));
+        checks.add(new Check("CustodyTransitionRepository.deleteByLotIds",
+            () -> custodyTransitionRepository.deleteByLotIds(IDS)));
+        return checks;
+    }
+
+    /** A crop repository method, called by name since the three repositories share no interface. */
+    private static Check call(String repositoryName, Object repository, String method, Object... args) {
+        String query = repositoryName + "." + method;
+        return new Check(query, () -> {
+            try {
+                Arrays.stream(repository.getClass().getMethods())
+                    .filter(m -> m.getName().equals(method) && m.getParameterCount() == args.length)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No query " + query))
+                    .invoke(repository, args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Running " + query + " failed", e);
+            }
+        });
+    }
+
+    private record Check(String query, Runnable call) {
+
+        Check named(String variant) {
+            return new Check(query + " " + variant, call);
+        }
+
+        Check afterCursor() {
+            return named("after cursor");
+        }
+    }
+}
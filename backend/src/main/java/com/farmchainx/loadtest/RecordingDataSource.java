@@ -0,0 +1,155 @@
+package com.farmchainx.loadtest;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Records the prepared statements a piece of code executes on the calling
+ * thread, with their bind parameters, so {@link QueryPlanVerifier} can
+ * explain exactly the SQL Hibernate generated. While recording, updates and
+ * deletes are recorded but not run. Other threads, and this one when not
+ * recording, get the pool's statements untouched.
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+
+    private final ThreadLocal<List<Recorded>> recording = new ThreadLocal<>();
+
+    public RecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /** Runs {@code work} and returns the statements it executed, in order. */
+    public List<Recorded> record(Runnable work) {
+        List<Recorded> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            work.run();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recordingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recordingConnection(super.getConnection(username, password));
+    }
+
+    private Connection recordingConnection(Connection target) {
+        return proxy(Connection.class, target, (method, args, call) -> {
+            Object result = call.get();
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                    && recording.get() != null) {
+                return recordingStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recordingStatement(PreparedStatement target, String sql) {
+        TreeMap<Integer, Binding> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, target, (method, args, call) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                List<Recorded> statements = recording.get();
+                if (statements != null) {
+                    statements.add(new Recorded(sql, List.copyOf(parameters.values())));
+                    if (name.equals("executeUpdate")) {
+                        return 0;
+                    }
+                    if (name.equals("executeLargeUpdate")) {
+                        return 0L;
+                    }
+                }
+            }
+            return call.get();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+            handler.handle(method, args, () -> {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }));
+    }
+
+    /** One executed statement with its parameters in index order. */
+    public record Recorded(String sql, List<Binding> parameters) {
+
+        /**
+         * The statement with each parameter written in as a literal, which is
+         * what MySQL Connector/J sends unless server-side prepared statements
+         * are turned on.
+         */
+        public String inlined() {
+            StringBuilder out = new StringBuilder(sql.length() + 16 * parameters.size());
+            int next = 0;
+            boolean quoted = false;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    out.append(next < parameters.size() ? parameters.get(next++).literal() : "?");
+                } else {
+                    out.append(c);
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    /** A {@code set*} call on the statement. */
+    public record Binding(Method method, Object[] args) {
+
+        String literal() {
+            Object value = method.getName().equals("setNull") ? null : args[1];
+            if (value == null) {
+                return "null";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            if (value instanceof LocalDateTime dateTime) {
+                value = Timestamp.valueOf(dateTime);
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args, Call call) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object get() throws Throwable;
+    }
+}
@@ -0,0 +1,19 @@
+package com.farmchainx.model;
+
+/**
+ * Where in the supply chain a crop row lives; each stage has its own table.
+ */
+public enum CropStage {
+    FARMER,
+    DISTRIBUTOR,
+    RETAILER;
+
+    /** The stage rows of this stage receive their lots from, or {@code null} for farmers. */
+    public CropStage upstream() {
+        return switch (this) {
+            case FARMER -> null;
+            case DISTRIBUTOR -> FARMER;
+            case RETAILER -> DISTRIBUTOR;
+        };
+    }
+}
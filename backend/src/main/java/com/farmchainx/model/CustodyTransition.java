@@ -0,0 +1,118 @@
+package com.farmchainx.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+
+/**
+ * One crop row taking custody of a lot: a farmer recording a harvest, or a
+ * distributor or retailer receiving it from the upstream row in
+ * {@code from*}. Rows are only ever appended; a holder switching to a lot of
+ * its own appends another one for the new lot. Provenance reads a lot's
+ * transitions by {@code lot_id}.
+ */
+@Entity
+@Immutable
+@Table(name = "custody_transitions")
+public class CustodyTransition {
+
+    @Id
+    @GeneratedValue(generator = "custody_transition_ids")
+    @GenericGenerator(name = "custody_transition_ids", type = TableGenerator.class, parameters = {
+        @Parameter(name = "table_name", value = "id_generators"),
+        @Parameter(name = "segment_column_name", value = "name"),
+        @Parameter(name = "value_column_name", value = "next_val"),
+        @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+        @Parameter(name = "increment_size", value = "50")
+    })
+    private Long id;
+
+    @Column(name = "lot_id", nullable = false)
+    private Long lotId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private CropStage stage;
+
+    @Column(name = "crop_id", nullable = false)
+    private Long cropId;
+
+    @Column(name = "holder_id")
+    private Long holderId;
+
+    @Column(name = "from_stage")
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private CropStage fromStage;
+
+    @Column(name = "from_crop_id")
+    private Long fromCropId;
+
+    @Column(name = "from_holder_id")
+    private Long fromHolderId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    protected CustodyTransition() {}
+
+    /** The crop taking custody of its lot, from {@code from} or from nobody for a new lot. */
+    public CustodyTransition(SupplyChainCrop crop, SupplyChainCrop from) {
+        this(crop, from != null ? from.getStage() : null, from != null ? from.getId() : null,
+             from != null && from.getUser() != null ? from.getUser().getId() : null);
+    }
+
+    /** The crop taking custody of its lot from the given upstream row, which need not be loaded. */
+    public CustodyTransition(SupplyChainCrop crop, CropStage fromStage, Long fromCropId, Long fromHolderId) {
+        this.lotId = crop.getLot().getId();
+        this.stage = crop.getStage();
+        this.cropId = crop.getId();
+        this.holderId = crop.getUser() != null ? crop.getUser().getId() : null;
+        this.fromStage = fromStage;
+        this.fromCropId = fromCropId;
+        this.fromHolderId = fromHolderId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getLotId() {
+        return lotId;
+    }
+
+    public CropStage getStage() {
+        return stage;
+    }
+
+    public Long getCropId() {
+        return cropId;
+    }
+
+    public Long getHolderId() {
+        return holderId;
+    }
+
+    public CropStage getFromStage() {
+        return fromStage;
+    }
+
+    public Long getFromCropId() {
+        return fromCropId;
+    }
+
+    public Long getFromHolderId() {
+        return fromHolderId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -1,140 +1,17 @@
 package com.farmchainx.model;
 
 import jakarta.persistence.*;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction("deleted_at is null")
 @Table(name = "farmer_crops")
-public class FarmerCrop {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String name;
-
-    @Column(name = "crop_type", nullable = false)
-    private String cropType;
-
-    @Column(name = "harvest_date", nullable = false)
-    private LocalDate harvestDate;
-
-    @Column(name = "expiry_date", nullable = false)
-    private LocalDate expiryDate;
-
-    @Column(name = "soil_type", nullable = false)
-    private String soilType;
-
-    @Column(name = "pesticides_used")
-    private String pesticidesUsed;
-
-    @Column(name = "image_url", length = 5000)
-    private String imageUrl;
-
-    @Column(name = "farmer_location")
-    private String farmerLocation;
-
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;
-
-    @Column(name = "created_at")
-    private LocalDateTime createdAt;
-
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-    }
+public class FarmerCrop extends SupplyChainCrop {
 
     public FarmerCrop() {}
 
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getCropType() {
-        return cropType;
-    }
-
-    public void setCropType(String cropType) {
-        this.cropType = cropType;
-    }
-
-    public LocalDate getHarvestDate() {
-        return harvestDate;
-    }
-
-    public void setHarvestDate(LocalDate harvestDate) {
-        this.harvestDate = harvestDate;
-    }
-
-    public LocalDate getExpiryDate() {
-        return expiryDate;
-    }
-
-    public void setExpiryDate(LocalDate expiryDate) {
-        this.expiryDate = expiryDate;
-    }
-
-    public String getSoilType() {
-        return soilType;
-    }
-
-    public void setSoilType(String soilType) {
-        this.soilType = soilType;
-    }
-
-    public String getPesticidesUsed() {
-        return pesticidesUsed;
-    }
-
-    public void setPesticidesUsed(String pesticidesUsed) {
-        this.pesticidesUsed = pesticidesUsed;
-    }
-
-    public String getImageUrl() {
-        return imageUrl;
-    }
-
-    public void setImageUrl(String imageUrl) {
-        this.imageUrl = imageUrl;
-    }
-
-    public String getFarmerLocation() {
-        return farmerLocation;
-    }
-
-    public void setFarmerLocation(String farmerLocation) {
-        this.farmerLocation = farmerLocation;
-    }
-
-    public User getUser() {
-        return user;
-    }
-
-    public void setUser(User user) {
-        this.user = user;
-    }
-
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+    @Override
+    public CropStage getStage() {
+        return CropStage.FARMER;
     }
 }
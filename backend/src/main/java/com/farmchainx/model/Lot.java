@@ -0,0 +1,228 @@
+package com.farmchainx.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * What a crop is, recorded once and shared by every stage that holds it: a
+ * distributor or retailer receiving a lot points its row at the upstream lot
+ * instead of copying these columns. Only the party that created a lot edits
+ * it in place; a holder who records different values gets a copy of its own
+ * (see {@link com.farmchainx.service.LotService}).
+ */
+@Entity
+@Table(name = "lots")
+public class Lot {
+
+    @Id
+    @GeneratedValue(generator = "lot_ids")
+    @GenericGenerator(name = "lot_ids", type = TableGenerator.class, parameters = {
+        @Parameter(name = "table_name", value = "id_generators"),
+        @Parameter(name = "segment_column_name", value = "name"),
+        @Parameter(name = "value_column_name", value = "next_val"),
+        @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+        @Parameter(name = "increment_size", value = "50")
+    })
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "crop_type", nullable = false)
+    private String cropType;
+
+    @Column(name = "harvest_date", nullable = false)
+    private LocalDate harvestDate;
+
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDate expiryDate;
+
+    @Column(name = "soil_type", nullable = false)
+    private String soilType;
+
+    @Column(name = "pesticides_used")
+    private String pesticidesUsed;
+
+    @Column(name = "image_url", length = 5000)
+    private String imageUrl;
+
+    // Farmer's public ID and name as recorded by whoever created the lot
+    @Column(name = "farmer_id")
+    private String farmerId;
+
+    @Column(name = "farmer_name")
+    private String farmerName;
+
+    @Column(name = "farmer_location")
+    private String farmerLocation;
+
+    // User who created the lot; no foreign key, as lots outlive purged users their holders still point at
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Lot() {}
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /** A new, unsaved lot with the same values, created by {@code createdBy}. */
+    public Lot copy(Long createdBy) {
+        Lot copy = new Lot();
+        copy.copyValuesFrom(this);
+        copy.createdBy = createdBy;
+        return copy;
+    }
+
+    /** Takes over the other lot's values, leaving identity and ownership alone. */
+    public void copyValuesFrom(Lot other) {
+        name = other.name;
+        cropType = other.cropType;
+        harvestDate = other.harvestDate;
+        expiryDate = other.expiryDate;
+        soilType = other.soilType;
+        pesticidesUsed = other.pesticidesUsed;
+        imageUrl = other.imageUrl;
+        farmerId = other.farmerId;
+        farmerName = other.farmerName;
+        farmerLocation = other.farmerLocation;
+    }
+
+    /** Whether both lots record the same values, whoever created them. */
+    public boolean sameValuesAs(Lot other) {
+        return other != null
+            && Objects.equals(name, other.name)
+            && Objects.equals(cropType, other.cropType)
+            && Objects.equals(harvestDate, other.harvestDate)
+            && Objects.equals(expiryDate, other.expiryDate)
+            && Objects.equals(soilType, other.soilType)
+            && Objects.equals(pesticidesUsed, other.pesticidesUsed)
+            && Objects.equals(imageUrl, other.imageUrl)
+            && Objects.equals(farmerId, other.farmerId)
+            && Objects.equals(farmerName, other.farmerName)
+            && Objects.equals(farmerLocation, other.farmerLocation);
+    }
+
+    /** Whether no value is set, as for a row sent with receipt fields only. */
+    public boolean isEmpty() {
+        return sameValuesAs(new Lot());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCropType() {
+        return cropType;
+    }
+
+    public void setCropType(String cropType) {
+        this.cropType = cropType;
+    }
+
+    public LocalDate getHarvestDate() {
+        return harvestDate;
+    }
+
+    public void setHarvestDate(LocalDate harvestDate) {
+        this.harvestDate = harvestDate;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public String getSoilType() {
+        return soilType;
+    }
+
+    public void setSoilType(String soilType) {
+        this.soilType = soilType;
+    }
+
+    public String getPesticidesUsed() {
+        return pesticidesUsed;
+    }
+
+    public void setPesticidesUsed(String pesticidesUsed) {
+        this.pesticidesUsed = pesticidesUsed;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getFarmerId() {
+        return farmerId;
+    }
+
+    public void setFarmerId(String farmerId) {
+        this.farmerId = farmerId;
+    }
+
+    public String getFarmerName() {
+        return farmerName;
+    }
+
+    public void setFarmerName(String farmerName) {
+        this.farmerName = farmerName;
+    }
+
+    public String getFarmerLocation() {
+        return farmerLocation;
+    }
+
+    public void setFarmerLocation(String farmerLocation) {
+        this.farmerLocation = farmerLocation;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Long createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.farmchainx.model;
+
+import jakarta.persistence.*;
+
+/**
+ * High-water mark for one public ID series (farmer or distributor IDs).
+ * Application instances reserve a block of values by advancing
+ * {@code nextValue} under a row lock, then hand those values out from memory.
+ */
+@Entity
+@Table(name = "public_id_blocks")
+public class PublicIdBlock {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public PublicIdBlock() {}
+
+    public PublicIdBlock(String name, Long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,7 @@
+package com.farmchainx.model;
+
+public enum PurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
@@ -1,46 +1,13 @@
 package com.farmchainx.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 
 @Entity
+@SQLRestriction("deleted_at is null")
 @Table(name = "retailer_crops")
-public class RetailerCrop {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String name;
-
-    @Column(name = "crop_type", nullable = false)
-    private String cropType;
-
-    @Column(name = "harvest_date", nullable = false)
-    private LocalDate harvestDate;
-
-    @Column(name = "expiry_date", nullable = false)
-    private LocalDate expiryDate;
-
-    @Column(name = "soil_type", nullable = false)
-    private String soilType;
-
-    @Column(name = "pesticides_used")
-    private String pesticidesUsed;
-
-    @Column(name = "image_url", length = 5000)
-    private String imageUrl;
-
-    @Column(name = "farmer_id")
-    private String farmerId;
-
-    @Column(name = "farmer_name")
-    private String farmerName;
-
-    @Column(name = "farmer_location")
-    private String farmerLocation;
+public class RetailerCrop extends SupplyChainCrop {
 
     @Column(name = "distributor_id")
     private String distributorId;
@@ -57,106 +24,22 @@ public class RetailerCrop {
     @Column(name = "received_date")
     private LocalDate receivedDate;
 
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;
-
-    @Column(name = "created_at")
-    private LocalDateTime createdAt;
-
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-    }
-
     public RetailerCrop() {}
 
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getCropType() {
-        return cropType;
-    }
-
-    public void setCropType(String cropType) {
-        this.cropType = cropType;
-    }
-
-    public LocalDate getHarvestDate() {
-        return harvestDate;
-    }
-
-    public void setHarvestDate(LocalDate harvestDate) {
-        this.harvestDate = harvestDate;
-    }
-
-    public LocalDate getExpiryDate() {
-        return expiryDate;
-    }
-
-    public void setExpiryDate(LocalDate expiryDate) {
-        this.expiryDate = expiryDate;
-    }
-
-    public String getSoilType() {
-        return soilType;
-    }
-
-    public void setSoilType(String soilType) {
-        this.soilType = soilType;
-    }
-
-    public String getPesticidesUsed() {
-        return pesticidesUsed;
-    }
-
-    public void setPesticidesUsed(String pesticidesUsed) {
-        this.pesticidesUsed = pesticidesUsed;
-    }
-
-    public String getImageUrl() {
-        return imageUrl;
-    }
-
-    public void setImageUrl(String imageUrl) {
-        this.imageUrl = imageUrl;
-    }
-
     public String getFarmerId() {
-        return farmerId;
+        return getLot() != null ? getLot().getFarmerId() : null;
     }
 
     public void setFarmerId(String farmerId) {
-        this.farmerId = farmerId;
+        lot().setFarmerId(farmerId);
     }
 
     public String getFarmerName() {
-        return farmerName;
+        return getLot() != null ? getLot().getFarmerName() : null;
     }
 
     public void setFarmerName(String farmerName) {
-        this.farmerName = farmerName;
-    }
-
-    public String getFarmerLocation() {
-        return farmerLocation;
-    }
-
-    public void setFarmerLocation(String farmerLocation) {
-        this.farmerLocation = farmerLocation;
+        lot().setFarmerName(farmerName);
     }
 
     public String getDistributorId() {
@@ -199,19 +82,8 @@ public class RetailerCrop {
         this.receivedDate = receivedDate;
     }
 
-    public User getUser() {
-        return user;
-    }
-
-    public void setUser(User user) {
-        this.user = user;
-    }
-
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+    @Override
+    public CropStage getStage() {
+        return CropStage.RETAILER;
     }
 }
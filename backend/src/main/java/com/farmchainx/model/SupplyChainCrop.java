@@ -0,0 +1,266 @@
+package com.farmchainx.model;
+
+import com.farmchainx.event.CropChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columns shared by the farmer, distributor and retailer crop tables. What the
+ * crop is lives in its {@link Lot}, which the stages holding the same lot
+ * share; the getters and setters for those values read and write the lot.
+ * Changes are published as {@link com.farmchainx.event.CropChangeEvent}s.
+ * Deleted rows stay behind as tombstones with {@code deleted_at} set, and each
+ * subclass hides them from every entity query with {@code @SQLRestriction}.
+ * The tables and their indexes are defined by the migrations in
+ * {@code db/migration}.
+ */
+@MappedSuperclass
+@EntityListeners(CropChangeListener.class)
+public abstract class SupplyChainCrop {
+
+    // Pooled IDs from id_generators, one row per crop table; unlike IDENTITY this lets
+    // Hibernate batch inserts because it knows the ID before the row is written
+    @Id
+    @GeneratedValue(generator = "crop_ids")
+    @GenericGenerator(name = "crop_ids", type = TableGenerator.class, parameters = {
+        @Parameter(name = "table_name", value = "id_generators"),
+        @Parameter(name = "segment_column_name", value = "name"),
+        @Parameter(name = "value_column_name", value = "next_val"),
+        @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+        @Parameter(name = "increment_size", value = "50")
+    })
+    private Long id;
+
+    // Copies of the lot's values, kept on the row for the indexed list, expiry and stats queries
+    @Column(name = "crop_type", nullable = false)
+    private String cropType;
+
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDate expiryDate;
+
+    // Entity loads need the lot for nearly every getter; lists read it through the *CropView joins
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @JoinColumn(name = "lot_id", nullable = false)
+    private Lot lot;
+
+    // Lists read through the *CropView projections, so nothing needs the owner loaded up front
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Set on every write; delta sync pages through (user_id, updated_at, id)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Soft-delete tombstone; the row stays so delta sync can report the deletion
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Set by the expiry scheduler once expiry_date has passed; cleared if the date is moved forward
+    @Column(name = "expired_at")
+    private LocalDateTime expiredAt;
+
+    // Upstream row a distributor or retailer received the lot from, as sent by the client
+    @Transient
+    private Long sourceCropId;
+
+    // Crop type as last read from or written to the database, so updates can tell what changed
+    @Transient
+    private String loadedCropType;
+
+    @PrePersist
+    protected void onCreate() {
+        copyLotValues();
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        // A tombstone's updated_at is its deletion time; delta sync orders tombstones by either
+        updatedAt = deletedAt != null ? deletedAt : LocalDateTime.now();
+        if (expiredAt != null && !expiryDate.isBefore(LocalDate.now())) {
+            expiredAt = null;
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberLoadedState() {
+        loadedCropType = cropType;
+    }
+
+    @JsonIgnore
+    public abstract CropStage getStage();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @JsonIgnore
+    public Lot getLot() {
+        return lot;
+    }
+
+    /** Points the row at another lot and takes over its crop type and expiry date. */
+    public void setLot(Lot lot) {
+        this.lot = lot;
+        copyLotValues();
+    }
+
+    /**
+     * Picks up an edit made to the lot through another row; saving the row
+     * then publishes an update, so lists and delta sync see the new values.
+     */
+    public void lotChanged() {
+        copyLotValues();
+        updatedAt = LocalDateTime.now();
+    }
+
+    private void copyLotValues() {
+        if (lot != null) {
+            cropType = lot.getCropType();
+            expiryDate = lot.getExpiryDate();
+        }
+    }
+
+    /** The lot, created on first write for rows built from a request body. */
+    protected Lot lot() {
+        if (lot == null) {
+            lot = new Lot();
+        }
+        return lot;
+    }
+
+    public Long getSourceCropId() {
+        return sourceCropId;
+    }
+
+    public void setSourceCropId(Long sourceCropId) {
+        this.sourceCropId = sourceCropId;
+    }
+
+    public String getName() {
+        return lot != null ? lot.getName() : null;
+    }
+
+    public void setName(String name) {
+        lot().setName(name);
+    }
+
+    public String getCropType() {
+        return cropType;
+    }
+
+    public void setCropType(String cropType) {
+        lot().setCropType(cropType);
+        this.cropType = cropType;
+    }
+
+    public LocalDate getHarvestDate() {
+        return lot != null ? lot.getHarvestDate() : null;
+    }
+
+    public void setHarvestDate(LocalDate harvestDate) {
+        lot().setHarvestDate(harvestDate);
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        lot().setExpiryDate(expiryDate);
+        this.expiryDate = expiryDate;
+    }
+
+    public String getSoilType() {
+        return lot != null ? lot.getSoilType() : null;
+    }
+
+    public void setSoilType(String soilType) {
+        lot().setSoilType(soilType);
+    }
+
+    public String getPesticidesUsed() {
+        return lot != null ? lot.getPesticidesUsed() : null;
+    }
+
+    public void setPesticidesUsed(String pesticidesUsed) {
+        lot().setPesticidesUsed(pesticidesUsed);
+    }
+
+    public String getImageUrl() {
+        return lot != null ? lot.getImageUrl() : null;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        lot().setImageUrl(imageUrl);
+    }
+
+    public String getFarmerLocation() {
+        return lot != null ? lot.getFarmerLocation() : null;
+    }
+
+    public void setFarmerLocation(String farmerLocation) {
+        lot().setFarmerLocation(farmerLocation);
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    /** Turns the row into a tombstone; saving it publishes a delete. */
+    public void markDeleted() {
+        deletedAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    /** Records that the crop is past its expiry date; saving it publishes an update. */
+    public void markExpired() {
+        expiredAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public String getLoadedCropType() {
+        return loadedCropType;
+    }
+}
@@ -1,24 +1,50 @@
 package com.farmchainx.model;
 
+import com.farmchainx.config.UserCacheConfig;
+import com.farmchainx.event.UserChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(UserChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserCacheConfig.USERS_REGION)
+@NaturalIdCache(region = UserCacheConfig.USERS_BY_EMAIL_REGION)
 @Table(name = "users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "user_ids")
+    @GenericGenerator(name = "user_ids", type = TableGenerator.class, parameters = {
+        @Parameter(name = "table_name", value = "id_generators"),
+        @Parameter(name = "segment_column_name", value = "name"),
+        @Parameter(name = "value_column_name", value = "next_val"),
+        @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+        @Parameter(name = "increment_size", value = "50")
+    })
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
+    // Plain varchar rather than the dialect's native enum type, so every database validates alike
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private UserRole role;
 
     private String name;
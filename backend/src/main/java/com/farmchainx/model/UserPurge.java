@@ -0,0 +1,138 @@
+package com.farmchainx.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of deleting one user and everything they own. The purge job
+ * updates the counts in the same transaction as each chunk it deletes, so
+ * they always match what has been committed, and a job interrupted by a
+ * crash resumes from the rows still there. {@code leaseUntil} keeps two
+ * instances from working on the same purge at once.
+ */
+@Entity
+@Table(name = "user_purges")
+public class UserPurge {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private PurgeStatus status;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "farmer_crops_deleted", nullable = false)
+    private long farmerCropsDeleted;
+
+    @Column(name = "distributor_crops_deleted", nullable = false)
+    private long distributorCropsDeleted;
+
+    @Column(name = "retailer_crops_deleted", nullable = false)
+    private long retailerCropsDeleted;
+
+    @JsonIgnore
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public UserPurge() {}
+
+    public UserPurge(Long userId, Long requestedBy) {
+        this.userId = userId;
+        this.requestedBy = requestedBy;
+        this.status = PurgeStatus.PENDING;
+        this.requestedAt = LocalDateTime.now();
+        this.updatedAt = requestedAt;
+    }
+
+    /** Adds one committed chunk to the counts and extends the lease for the next one. */
+    public void recordDeleted(CropStage stage, int count, LocalDateTime leaseUntil) {
+        switch (stage) {
+            case FARMER -> farmerCropsDeleted += count;
+            case DISTRIBUTOR -> distributorCropsDeleted += count;
+            case RETAILER -> retailerCropsDeleted += count;
+        }
+        this.status = PurgeStatus.RUNNING;
+        this.leaseUntil = leaseUntil;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = PurgeStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+        this.updatedAt = finishedAt;
+        this.leaseUntil = null;
+        this.lastError = null;
+    }
+
+    /** Records why the last run stopped and gives up the lease, so the next poll retries straight away. */
+    public void fail(String error) {
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        this.leaseUntil = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public PurgeStatus getStatus() {
+        return status;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getFarmerCropsDeleted() {
+        return farmerCropsDeleted;
+    }
+
+    public long getDistributorCropsDeleted() {
+        return distributorCropsDeleted;
+    }
+
+    public long getRetailerCropsDeleted() {
+        return retailerCropsDeleted;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
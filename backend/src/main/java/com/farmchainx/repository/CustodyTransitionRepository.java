@@ -0,0 +1,32 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.CustodyTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CustodyTransitionRepository extends JpaRepository<CustodyTransition, Long> {
+
+    /** A lot's custody history, oldest first. */
+    List<CustodyTransition> findByLotIdOrderById(Long lotId);
+
+    /** How a crop row came by the lot it holds now. */
+    Optional<CustodyTransition> findFirstByStageAndCropIdOrderByIdDesc(CropStage stage, Long cropId);
+
+    /** Deletes the history of purged crop rows; the only time transitions are removed. */
+    @Modifying
+    @Query(value = "delete from custody_transitions where stage = :stage and crop_id in (:cropIds)", nativeQuery = true)
+    int deleteByStageAndCropIds(@Param("stage") String stage, @Param("cropIds") Collection<Long> cropIds);
+
+    @Modifying
+    @Query(value = "delete from custody_transitions where lot_id in (:lotIds)", nativeQuery = true)
+    int deleteByLotIds(@Param("lotIds") Collection<Long> lotIds);
+}
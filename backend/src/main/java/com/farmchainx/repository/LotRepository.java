@@ -0,0 +1,27 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.model.Lot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LotRepository extends JpaRepository<Lot, Long> {
+
+    /** Those of the given lots no crop row holds any more, tombstones included, for the user purge job. */
+    @Query(value = "select l.id from lots l where l.id in (:ids) " +
+                   "and not exists (select 1 from farmer_crops c where c.lot_id = l.id) " +
+                   "and not exists (select 1 from distributor_crops c where c.lot_id = l.id) " +
+                   "and not exists (select 1 from retailer_crops c where c.lot_id = l.id)",
+           nativeQuery = true)
+    List<Long> findUnheldIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from lots where id in (:ids)", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.model.PublicIdBlock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PublicIdBlockRepository extends JpaRepository<PublicIdBlock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from PublicIdBlock b where b.name = :name")
+    Optional<PublicIdBlock> findForUpdate(@Param("name") String name);
+}
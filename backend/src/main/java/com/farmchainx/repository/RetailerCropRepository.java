@@ -1,15 +1,146 @@
 package com.farmchainx.repository;
 
+import com.farmchainx.dto.CropCollectionStamp;
+import com.farmchainx.dto.CropExpiry;
+import com.farmchainx.dto.CropTombstone;
+import com.farmchainx.dto.RetailerCropView;
 import com.farmchainx.model.RetailerCrop;
-import com.farmchainx.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RetailerCropRepository extends JpaRepository<RetailerCrop, Long> {
-    List<RetailerCrop> findByUser(User user);
-    List<RetailerCrop> findByUserOrderByCreatedAtDesc(User user);
-    void deleteByUser(User user);
+    /** Loads one crop together with its owner and lot, for the write paths that return a view. */
+    @EntityGraph(attributePaths = {"user", "lot"})
+    Optional<RetailerCrop> findWithUserById(Long id);
+
+    /**
+     * Keyset page of one user's crops, newest first. Pass a {@code null}
+     * createdAt/id for the first page and a {@code null} cropType for all types.
+     */
+    @Query(RetailerCropView.SELECT + "where u.id = :userId " +
+           "and (:cropType is null or c.cropType = :cropType) " +
+           "and (:createdAt is null or (c.createdAt <= :createdAt and (c.createdAt < :createdAt or c.id < :id))) " +
+           "order by c.createdAt desc, c.id desc")
+    List<RetailerCropView> findPageByUserId(@Param("userId") Long userId,
+                                            @Param("cropType") String cropType,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query(RetailerCropView.SELECT + "where (:cropType is null or c.cropType = :cropType) " +
+           "and (:createdAt is null or (c.createdAt <= :createdAt and (c.createdAt < :createdAt or c.id < :id))) " +
+           "order by c.createdAt desc, c.id desc")
+    List<RetailerCropView> findPage(@Param("cropType") String cropType,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    /** One user's crops expiring in {@code [from, to]}, soonest first, after {@code (expiryDate, id)}. */
+    @Query(RetailerCropView.SELECT + "where u.id = :userId and c.expiryDate >= :from and c.expiryDate <= :to " +
+           "and (:expiryDate is null " +
+           "or (c.expiryDate >= :expiryDate and (c.expiryDate > :expiryDate or c.id > :id))) " +
+           "order by c.expiryDate, c.id")
+    List<RetailerCropView> findExpiringByUserId(@Param("userId") Long userId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("expiryDate") LocalDate expiryDate,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    /** Delta sync: one user's live crops updated after {@code (updatedAt, id)}, up to {@code until}. */
+    @Query(RetailerCropView.SELECT + "where u.id = :userId " +
+           "and c.updatedAt >= :updatedAt and (c.updatedAt > :updatedAt or c.id > :id) and c.updatedAt <= :until " +
+           "order by c.updatedAt, c.id")
+    List<RetailerCropView> findChangesByUserId(@Param("userId") Long userId,
+                                               @Param("updatedAt") LocalDateTime updatedAt,
+                                               @Param("id") Long id,
+                                               @Param("until") LocalDateTime until,
+                                               Pageable pageable);
+
+    /** Delta sync tombstones; native because the entity's restriction hides deleted rows from JPQL. */
+    @Query(value = "select c.id as id, c.deleted_at as deletedAt from retailer_crops c where c.user_id = :userId " +
+                   "and c.deleted_at is not null " +
+                   "and c.updated_at >= :updatedAt and (c.updated_at > :updatedAt or c.id > :id) " +
+                   "and c.updated_at <= :until order by c.updated_at, c.id",
+           nativeQuery = true)
+    List<CropTombstone> findDeletedByUserId(@Param("userId") Long userId,
+                                            @Param("updatedAt") LocalDateTime updatedAt,
+                                            @Param("id") Long id,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
+
+    /** Every live crop updated after {@code (updatedAt, id)}, up to {@code until}, for the search index catch-up. */
+    @Query(RetailerCropView.SELECT + "where c.updatedAt >= :updatedAt and (c.updatedAt > :updatedAt or c.id > :id) " +
+           "and c.updatedAt <= :until order by c.updatedAt, c.id")
+    List<RetailerCropView> findChangesSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                            @Param("id") Long id,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
+
+    /** Every tombstone written after {@code (updatedAt, id)}, up to {@code until}, for the search index catch-up. */
+    @Query(value = "select c.id as id, c.deleted_at as deletedAt from retailer_crops c where c.deleted_at is not null " +
+                   "and c.updated_at >= :updatedAt and (c.updated_at > :updatedAt or c.id > :id) " +
+                   "and c.updated_at <= :until order by c.updated_at, c.id",
+           nativeQuery = true)
+    List<CropTombstone> findDeletedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                         @Param("id") Long id,
+                                         @Param("until") LocalDateTime until,
+                                         Pageable pageable);
+
+    /** List ETag source; native so tombstones count, and read from the (user_id, updated_at) index alone. */
+    @Query(value = "select count(*) as rowCount, max(updated_at) as latestUpdate from retailer_crops where user_id = :userId",
+           nativeQuery = true)
+    CropCollectionStamp findCollectionStamp(@Param("userId") Long userId);
+
+    /** Crops not yet marked expired whose expiry date is in {@code (after, through]}, for the expiry scheduler. */
+    @Query("select c.id as id, c.expiryDate as expiryDate from RetailerCrop c where c.expiredAt is null " +
+           "and c.expiryDate > :after and c.expiryDate <= :through")
+    List<CropExpiry> findUnexpiredDueBetween(@Param("after") LocalDate after, @Param("through") LocalDate through);
+
+    /** Up to a page of the user's crops, for the user purge job. */
+    @Query("select c from RetailerCrop c join fetch c.lot where c.user.id = :userId")
+    List<RetailerCrop> findChunkByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /** Up to a page of the user's tombstones, which entity queries cannot see, for the user purge job. */
+    @Query(value = "select id from retailer_crops where user_id = :userId and deleted_at is not null", nativeQuery = true)
+    List<Long> findDeletedIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /** The lots the given rows hold, tombstones included, for the user purge job. */
+    @Query(value = "select distinct lot_id from retailer_crops where id in (:ids)", nativeQuery = true)
+    List<Long> findLotIdsByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every live row holding the lot, for passing an in-place lot edit on to them. */
+    @Query("select c from RetailerCrop c join fetch c.lot where c.lot.id = :lotId")
+    List<RetailerCrop> findByLotId(@Param("lotId") Long lotId);
+
+    /** Deletes the rows in one statement, tombstones included, without entity callbacks. */
+    @Modifying
+    @Query(value = "delete from retailer_crops where id in (:ids)", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every crop as a view, read through a cursor, for building in-memory indexes. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(RetailerCropView.SELECT + "order by c.id")
+    Stream<RetailerCropView> streamAll();
+
+    /** Row counts per crop type and creation month, for reconciling the admin stats counters. */
+    @Query("select c.cropType, year(c.createdAt), month(c.createdAt), count(c) from RetailerCrop c " +
+           "group by c.cropType, year(c.createdAt), month(c.createdAt)")
+    List<Object[]> countByTypeAndMonth();
 }
@@ -0,0 +1,28 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.model.UserPurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserPurgeRepository extends JpaRepository<UserPurge, Long> {
+
+    @Query("select p.userId from UserPurge p where p.requestedAt >= :since")
+    List<Long> findUserIdsRequestedSince(@Param("since") LocalDateTime since);
+
+    @Query("select p.userId from UserPurge p where p.status <> com.farmchainx.model.PurgeStatus.COMPLETED")
+    List<Long> findUnfinishedUserIds();
+
+    /** Takes the purge's lease unless it is finished or another instance holds an unexpired one. */
+    @Modifying
+    @Query("update UserPurge p set p.leaseUntil = :until where p.userId = :userId " +
+           "and p.status <> com.farmchainx.model.PurgeStatus.COMPLETED " +
+           "and (p.leaseUntil is null or p.leaseUntil < :now)")
+    int claim(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
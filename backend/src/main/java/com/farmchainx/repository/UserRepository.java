@@ -2,17 +2,44 @@ package com.farmchainx.repository;
 
 import com.farmchainx.model.User;
 import com.farmchainx.model.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByEmail(String email);
     List<User> findByRole(UserRole role);
+
+    // Query cache; Hibernate drops these results whenever users is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByFarmerId(String farmerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByDistributorId(String distributorId);
+
+    /**
+     * Keyset page of users, newest first. Pass a {@code null} createdAt/id for
+     * the first page and a {@code null} role for all roles.
+     */
+    @Query("select u from User u where (:role is null or u.role = :role) " +
+           "and (:createdAt is null or (u.createdAt <= :createdAt and (u.createdAt < :createdAt or u.id < :id))) " +
+           "order by u.createdAt desc, u.id desc")
+    List<User> findPage(@Param("role") UserRole role,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+    /** Row counts per role, for reconciling the admin stats counters. */
+    @Query("select u.role, count(u) from User u group by u.role")
+    List<Object[]> countByRole();
 }
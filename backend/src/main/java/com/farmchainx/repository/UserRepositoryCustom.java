@@ -0,0 +1,14 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks a user up by email, the natural id, so repeat lookups are served
+     * from the second-level cache instead of querying {@code users}.
+     */
+    Optional<User> findByEmail(String email);
+}
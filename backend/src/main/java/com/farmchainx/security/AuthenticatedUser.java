@@ -0,0 +1,56 @@
+package com.farmchainx.security;
+
+import com.farmchainx.model.UserRole;
+
+import java.security.Principal;
+
+/**
+ * Principal built from the claims of a verified JWT. Carries everything the
+ * crop endpoints need to scope their queries, so authenticated requests do
+ * not have to load the {@code users} row.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String email;
+    private final UserRole role;
+    private final String farmerId;
+    private final String distributorId;
+
+    public AuthenticatedUser(Long userId, String email, UserRole role, String farmerId, String distributorId) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.farmerId = farmerId;
+        this.distributorId = distributorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public String getFarmerId() {
+        return farmerId;
+    }
+
+    public String getDistributorId() {
+        return distributorId;
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
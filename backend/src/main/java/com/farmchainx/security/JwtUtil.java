@@ -1,34 +1,56 @@
 package com.farmchainx.security;
 
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once and
+ * shared; both are immutable and safe to use from any thread.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${spring.security.jwt.secret}")
-    private String secret;
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_FARMER_ID = "farmerId";
+    static final String CLAIM_DISTRIBUTOR_ID = "distributorId";
 
-    @Value("${spring.security.jwt.expiration}")
-    private Long expiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${spring.security.jwt.secret}") String secret,
+                   @Value("${spring.security.jwt.expiration}") long expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expiration = expiration;
     }
 
-    public String generateToken(String email, Long userId) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        return createToken(claims, email);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        if (user.getFarmerId() != null) {
+            claims.put(CLAIM_FARMER_ID, user.getFarmerId());
+        }
+        if (user.getDistributorId() != null) {
+            claims.put(CLAIM_DISTRIBUTOR_ID, user.getDistributorId());
+        }
+        return createToken(claims, user.getEmail());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -40,37 +62,60 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * This is the only place a token is parsed; callers should keep the
+     * result rather than parse the same token again.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        return parseClaims(token).get(CLAIM_USER_ID, Long.class);
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return parseClaims(token).getExpiration();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token and builds the request principal from its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or predates
+     *         the role claim (such tokens have to be renewed by logging in again)
+     */
+    public AuthenticatedUser extractPrincipal(String token) {
+        return toPrincipal(parseClaims(token));
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    AuthenticatedUser toPrincipal(Claims claims) {
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (role == null || userId == null) {
+            throw new MalformedJwtException("Token is missing the userId or role claim");
+        }
+        return new AuthenticatedUser(
+                userId,
+                claims.getSubject(),
+                UserRole.valueOf(role),
+                claims.get(CLAIM_FARMER_ID, String.class),
+                claims.get(CLAIM_DISTRIBUTOR_ID, String.class)
+        );
     }
 
     public Boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        Claims claims = parseClaims(token);
+        return claims.getSubject().equals(email) && claims.getExpiration().after(new Date());
     }
 }
@@ -0,0 +1,25 @@
+package com.farmchainx.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users whose tokens must stop authenticating before they expire, e.g. after
+ * an admin deleted the account. Tokens are otherwise trusted on their claims
+ * alone, so this is the only per-request check besides the signature.
+ */
+@Component
+public class RevokedUserRegistry {
+
+    private final Set<Long> revokedUserIds = ConcurrentHashMap.newKeySet();
+
+    public void revoke(Long userId) {
+        revokedUserIds.add(userId);
+    }
+
+    public boolean isRevoked(Long userId) {
+        return revokedUserIds.contains(userId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.farmchainx.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Front of {@link JwtUtil} for the request path. A dashboard session sends the
+ * same token on every call, so principals of recently verified tokens are kept
+ * until the token itself expires and repeat requests skip signature checking
+ * and claim parsing. Entries are keyed by a SHA-256 digest so raw tokens are
+ * never held in memory.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${spring.security.jwt.cache-size:10000}") long maximumSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Returns the principal for a token, verifying it only if it is not cached.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        String key = digest(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            return entry.principal();
+        }
+
+        Claims claims = jwtUtil.parseClaims(token);
+        AuthenticatedUser principal = jwtUtil.toPrincipal(claims);
+        cache.put(key, new Entry(principal, claims.getExpiration().getTime()));
+        return principal;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        md.reset();
+        // Latin-1 maps each digest byte to one char, giving a compact 32-char key
+        return new String(md.digest(token.getBytes(StandardCharsets.US_ASCII)), StandardCharsets.ISO_8859_1);
+    }
+
+    private record Entry(AuthenticatedUser principal, long expiresAtMillis) {
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.CropCollectionStamp;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Version stamp per user's crop collection, which list endpoints turn into an
+ * ETag so a client whose copy is current gets a 304 without the page query.
+ *
+ * <p>The stamp is the row count and newest {@code updated_at} over the user's
+ * rows, tombstones included, read from the {@code (user_id, updated_at, id)}
+ * index. Every instance therefore computes the same stamp from the same
+ * committed rows, and any insert, update, soft delete or purge changes it.
+ * {@code updated_at} is set before commit, though, so a slow transaction can
+ * commit a row older than one already visible. As in delta sync, no stamp is
+ * given out while the newest write is within {@code farmchainx.crops.changes-settle}
+ * of now; those responses carry no ETag.
+ */
+@Service
+public class CropCollectionVersions {
+
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+    private final Duration settle;
+
+    public CropCollectionVersions(FarmerCropRepository farmerCropRepository,
+                                  DistributorCropRepository distributorCropRepository,
+                                  RetailerCropRepository retailerCropRepository,
+                                  @Value("${farmchainx.crops.changes-settle:PT2S}") Duration settle) {
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+        this.settle = settle;
+    }
+
+    /**
+     * Strong ETag for the user's collection in {@code stage}, or {@code null}
+     * while it may still be missing a commit; read it before querying the
+     * rows it describes.
+     */
+    public String etag(CropStage stage, Long userId) {
+        LocalDateTime settled = LocalDateTime.now().minus(settle);
+        CropCollectionStamp stamp = switch (stage) {
+            case FARMER -> farmerCropRepository.findCollectionStamp(userId);
+            case DISTRIBUTOR -> distributorCropRepository.findCollectionStamp(userId);
+            case RETAILER -> retailerCropRepository.findCollectionStamp(userId);
+        };
+        LocalDateTime latest = stamp.getLatestUpdate();
+        if (latest == null) {
+            return "\"" + userId + "-0\"";
+        }
+        if (latest.isAfter(settled)) {
+            return null;
+        }
+        long micros = latest.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + latest.getNano() / 1_000;
+        return "\"" + userId + "-" + stamp.getRowCount() + "-" + Long.toString(micros, 36) + "\"";
+    }
+}
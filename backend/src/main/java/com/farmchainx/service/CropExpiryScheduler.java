@@ -0,0 +1,234 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.CropExpiry;
+import com.farmchainx.event.ChangeType;
+import com.farmchainx.event.CropChangeEvent;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Marks crops expired once their expiry date has passed, without scanning
+ * the crop tables. Crops due within the next few days
+ * ({@code farmchainx.expiry.horizon-days}) sit in an in-memory calendar queue
+ * bucketed by expiry date. The window is loaded with
+ * one range query per table at startup, and extended by one day's worth of
+ * rows as each day begins. Committed {@link CropChangeEvent}s keep the queue
+ * current in between.
+ *
+ * <p>When a bucket's day is over, its crops are re-read, checked, and saved
+ * with {@code expired_at} set. The save publishes an ordinary update, so
+ * event streams, delta sync and list ETags all see the expiry. Every node
+ * runs its own queue; a crop marked by another node is skipped on re-read.
+ */
+@Service
+public class CropExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(CropExpiryScheduler.class);
+
+    // Crops saved per transaction when a bucket is marked
+    private static final int MARK_BATCH = 500;
+
+    private final Map<CropStage, JpaRepository<? extends SupplyChainCrop, Long>> repositories =
+        new EnumMap<>(CropStage.class);
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int horizonDays;
+    private final Clock clock;
+    private final Counter expired;
+
+    // Guarded by this: crops due per expiry date, and the reverse lookup for moves and deletes
+    private final TreeMap<LocalDate, Set<Due>> buckets = new TreeMap<>();
+    private final Map<Due, LocalDate> scheduled = new HashMap<>();
+    // Crops expiring on or before this date are in the queue; null until the first load starts
+    private LocalDate loadedThrough;
+
+    public CropExpiryScheduler(FarmerCropRepository farmerCropRepository,
+                               DistributorCropRepository distributorCropRepository,
+                               RetailerCropRepository retailerCropRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${farmchainx.expiry.horizon-days:7}") int horizonDays,
+                               Clock clock) {
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+        this.repositories.put(CropStage.FARMER, farmerCropRepository);
+        this.repositories.put(CropStage.DISTRIBUTOR, distributorCropRepository);
+        this.repositories.put(CropStage.RETAILER, retailerCropRepository);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.horizonDays = Math.max(1, horizonDays);
+        this.clock = clock;
+        this.expired = Counter.builder("crops.expired")
+            .description("Crops marked expired by the expiry scheduler").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // The first load also picks up every overdue crop left unmarked while the application was down
+        extendWindow(LocalDate.EPOCH, LocalDate.now(clock).plusDays(horizonDays));
+        sweep();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCropChange(CropChangeEvent event) {
+        Due due = new Due(event.getStage(), event.getCropId());
+        SupplyChainCrop crop = event.getCrop();
+        synchronized (this) {
+            if (event.getType() != ChangeType.DELETED && crop.getExpiredAt() == null
+                    && loadedThrough != null && !crop.getExpiryDate().isAfter(loadedThrough)) {
+                schedule(due, crop.getExpiryDate());
+            } else {
+                unschedule(due);
+            }
+        }
+    }
+
+    /** Marks every queued crop whose expiry date is before today, then loads any day that came into the window. */
+    @Scheduled(fixedDelayString = "${farmchainx.expiry.check-interval:PT1M}",
+               initialDelayString = "${farmchainx.expiry.check-interval:PT1M}")
+    public void sweep() {
+        LocalDate today = LocalDate.now(clock);
+        List<Due> overdue = new ArrayList<>();
+        LocalDate from;
+        synchronized (this) {
+            if (loadedThrough == null) {
+                return;
+            }
+            while (!buckets.isEmpty() && buckets.firstKey().isBefore(today)) {
+                for (Due due : buckets.pollFirstEntry().getValue()) {
+                    scheduled.remove(due);
+                    overdue.add(due);
+                }
+            }
+            from = loadedThrough;
+        }
+        if (!overdue.isEmpty()) {
+            mark(overdue, today);
+        }
+        LocalDate through = today.plusDays(horizonDays);
+        if (from.isBefore(through)) {
+            extendWindow(from, through);
+        }
+    }
+
+    /** Moves the window end to {@code through}, loading the crops due in {@code (after, through]}. */
+    private void extendWindow(LocalDate after, LocalDate through) {
+        // Set the bound first: a change committed during the load is then queued by its event, and a
+        // stale row from the load can only add a crop that mark() re-checks anyway
+        synchronized (this) {
+            loadedThrough = through;
+        }
+        long started = System.currentTimeMillis();
+        Map<CropStage, List<CropExpiry>> due = readOnlyTransaction.execute(status -> Map.of(
+            CropStage.FARMER, farmerCropRepository.findUnexpiredDueBetween(after, through),
+            CropStage.DISTRIBUTOR, distributorCropRepository.findUnexpiredDueBetween(after, through),
+            CropStage.RETAILER, retailerCropRepository.findUnexpiredDueBetween(after, through)));
+        int loaded = 0;
+        synchronized (this) {
+            for (Map.Entry<CropStage, List<CropExpiry>> rows : due.entrySet()) {
+                for (CropExpiry row : rows.getValue()) {
+                    Due key = new Due(rows.getKey(), row.getId());
+                    if (!scheduled.containsKey(key)) {
+                        schedule(key, row.getExpiryDate());
+                        loaded++;
+                    }
+                }
+            }
+        }
+        log.debug("Queued {} crops expiring through {} in {} ms",
+            loaded, through, System.currentTimeMillis() - started);
+    }
+
+    private void mark(List<Due> overdue, LocalDate today) {
+        Map<CropStage, List<Long>> idsByStage = new EnumMap<>(CropStage.class);
+        for (Due due : overdue) {
+            idsByStage.computeIfAbsent(due.stage(), stage -> new ArrayList<>()).add(due.id());
+        }
+        int marked = 0;
+        for (Map.Entry<CropStage, List<Long>> entry : idsByStage.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int start = 0; start < ids.size(); start += MARK_BATCH) {
+                List<Long> batch = ids.subList(start, Math.min(start + MARK_BATCH, ids.size()));
+                try {
+                    marked += markBatch(repositories.get(entry.getKey()), batch, today);
+                } catch (RuntimeException e) {
+                    log.warn("Could not mark {} {} crops expired; retrying on the next sweep",
+                        batch.size(), entry.getKey(), e);
+                    synchronized (this) {
+                        batch.forEach(id -> schedule(new Due(entry.getKey(), id), today.minusDays(1)));
+                    }
+                }
+            }
+        }
+        expired.increment(marked);
+        if (marked > 0) {
+            log.info("Marked {} crops expired", marked);
+        }
+    }
+
+    private <T extends SupplyChainCrop> int markBatch(JpaRepository<T, Long> repository, List<Long> ids,
+                                                      LocalDate today) {
+        Integer marked = transaction.execute(status -> {
+            // Re-read: the crop may have been deleted, moved to a later date or marked by another node
+            List<T> crops = repository.findAllById(ids).stream()
+                .filter(crop -> crop.getExpiredAt() == null && crop.getExpiryDate().isBefore(today))
+                .toList();
+            crops.forEach(SupplyChainCrop::markExpired);
+            repository.saveAll(crops);
+            return crops.size();
+        });
+        return marked != null ? marked : 0;
+    }
+
+    private void schedule(Due due, LocalDate expiryDate) {
+        unschedule(due);
+        scheduled.put(due, expiryDate);
+        buckets.computeIfAbsent(expiryDate, date -> new HashSet<>()).add(due);
+    }
+
+    private void unschedule(Due due) {
+        LocalDate expiryDate = scheduled.remove(due);
+        if (expiryDate != null) {
+            Set<Due> bucket = buckets.get(expiryDate);
+            bucket.remove(due);
+            if (bucket.isEmpty()) {
+                buckets.remove(expiryDate);
+            }
+        }
+    }
+
+    private record Due(CropStage stage, Long id) {}
+}
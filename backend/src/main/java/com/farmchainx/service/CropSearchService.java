@@ -0,0 +1,426 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.CropChanges;
+import com.farmchainx.dto.CropSearchHit;
+import com.farmchainx.dto.CropSearchResponse;
+import com.farmchainx.dto.CropTombstone;
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.DistributorCropView;
+import com.farmchainx.dto.FarmerCropView;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.dto.RetailerCropView;
+import com.farmchainx.event.ChangeType;
+import com.farmchainx.event.CropChangeEvent;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the text fields of all three crop tables.
+ * Query words match indexed words by prefix, and every word has to match.
+ * Results are newest first and paginated with the usual keyset cursor.
+ *
+ * <p>Built from the database once the application is ready, then kept current
+ * from committed {@link CropChangeEvent}s. Those only cover this instance's
+ * writes, so every {@code farmchainx.search.catch-up-interval} the index also
+ * reads the rows any instance changed since the last catch-up, by
+ * {@code (updated_at, id)} as delta sync does, and stays that far behind at
+ * worst. Writers take a single lock, so the posting lists never lose an
+ * update; searches read the concurrent maps without locking.
+ */
+@Service
+public class CropSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CropSearchService.class);
+
+    private static final Pageable CATCH_UP_PAGE = PageRequest.ofSize(500);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<LocalDateTime> CREATED_DESCENDING = Comparator.nullsLast(Comparator.reverseOrder());
+    private static final Comparator<CropSearchHit> NEWEST_FIRST = Comparator
+        .comparing(CropSearchHit::createdAt, CREATED_DESCENDING)
+        .thenComparing(CropSearchHit::key, Comparator.reverseOrder());
+
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration settle;
+
+    private final Map<Long, CropSearchHit> documents = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<Long>> documentsByOwner = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+    // Keys changed by events while the initial build runs; the build must not overwrite them
+    private Set<Long> changedDuringBuild = new HashSet<>();
+    private volatile boolean ready;
+    // Changes up to here are in the index; touched by the build, then only by the catch-up task
+    private volatile LocalDateTime caughtUpThrough;
+
+    public CropSearchService(FarmerCropRepository farmerCropRepository,
+                             DistributorCropRepository distributorCropRepository,
+                             RetailerCropRepository retailerCropRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${farmchainx.crops.changes-settle:PT2S}") Duration settle) {
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.settle = settle;
+    }
+
+    /** {@code false} until the startup build has finished. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long started = System.currentTimeMillis();
+        // Anything that commits during the build with an older updated_at is read again by the first catch-up
+        caughtUpThrough = LocalDateTime.now().minus(settle);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<FarmerCropView> rows = farmerCropRepository.streamAll()) {
+                rows.forEach(row -> indexFromBuild(toHit(row)));
+            }
+            try (Stream<DistributorCropView> rows = distributorCropRepository.streamAll()) {
+                rows.forEach(row -> indexFromBuild(toHit(row)));
+            }
+            try (Stream<RetailerCropView> rows = retailerCropRepository.streamAll()) {
+                rows.forEach(row -> indexFromBuild(toHit(row)));
+            }
+        });
+        synchronized (writeLock) {
+            changedDuringBuild = null;
+            ready = true;
+        }
+        log.info("Indexed {} crops ({} distinct words) for search in {} ms",
+            documents.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Applies the rows changed since the last catch-up, up to
+     * {@code farmchainx.crops.changes-settle} ago, whichever instance wrote
+     * them. A row read here just before a local event for it is applied may
+     * briefly overwrite the newer state; that change is newer than this
+     * catch-up's bound, so the next one restores it.
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.search.catch-up-interval:PT30S}",
+               initialDelayString = "${farmchainx.search.catch-up-interval:PT30S}")
+    public void catchUp() {
+        LocalDateTime since = caughtUpThrough;
+        LocalDateTime until = LocalDateTime.now().minus(settle);
+        if (!ready || !until.isAfter(since)) {
+            return;
+        }
+        Integer applied = readOnlyTransaction.execute(status ->
+            applyChanges(since, until, farmerCropRepository::findChangesSince,
+                    row -> index(toHit(row)), row -> new PageCursor(row.updatedAt(), row.id()))
+            + applyChanges(since, until, distributorCropRepository::findChangesSince,
+                    row -> index(toHit(row)), row -> new PageCursor(row.updatedAt(), row.id()))
+            + applyChanges(since, until, retailerCropRepository::findChangesSince,
+                    row -> index(toHit(row)), row -> new PageCursor(row.updatedAt(), row.id()))
+            + applyChanges(since, until, farmerCropRepository::findDeletedSince,
+                    row -> remove(CropSearchHit.key(CropStage.FARMER, row.getId())), CropSearchService::cursorOf)
+            + applyChanges(since, until, distributorCropRepository::findDeletedSince,
+                    row -> remove(CropSearchHit.key(CropStage.DISTRIBUTOR, row.getId())), CropSearchService::cursorOf)
+            + applyChanges(since, until, retailerCropRepository::findDeletedSince,
+                    row -> remove(CropSearchHit.key(CropStage.RETAILER, row.getId())), CropSearchService::cursorOf));
+        caughtUpThrough = until;
+        log.debug("Search index caught up through {} ({} changes)", until, applied);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCropChange(CropChangeEvent event) {
+        long key = CropSearchHit.key(event.getStage(), event.getCropId());
+        synchronized (writeLock) {
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(key);
+            }
+            if (event.getType() == ChangeType.DELETED) {
+                remove(key);
+            } else {
+                index(toHit(event.getCrop(), event.getUserId()));
+            }
+        }
+    }
+
+    /**
+     * @param ownerId  restricts results to one user's rows; {@code null} searches every row
+     * @param query    words to match, or blank for every row in scope
+     * @param stage    optional stage filter
+     * @param cropType optional crop type filter, case-insensitive
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CropSearchResponse search(Long ownerId, String query, CropStage stage, String cropType,
+                                     String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+
+        Map<String, Long> stageFacet = new HashMap<>();
+        Map<String, Long> cropTypeFacet = new HashMap<>();
+        Map<String, Long> soilTypeFacet = new HashMap<>();
+        long total = 0;
+        // Oldest of the kept hits at the head, so the queue holds the newest pageSize + 1
+        PriorityQueue<CropSearchHit> page = new PriorityQueue<>(NEWEST_FIRST.reversed());
+
+        for (Long key : candidates(ownerId, query)) {
+            CropSearchHit hit = documents.get(key);
+            if (hit == null || (ownerId != null && !ownerId.equals(hit.userId()))) {
+                continue;
+            }
+            count(stageFacet, hit.stage().name());
+            count(cropTypeFacet, hit.cropType());
+            count(soilTypeFacet, hit.soilType());
+
+            if ((stage != null && hit.stage() != stage)
+                    || (cropType != null && !cropType.equalsIgnoreCase(hit.cropType()))) {
+                continue;
+            }
+            total++;
+            if (after != null && !isAfter(hit, after)) {
+                continue;
+            }
+            page.add(hit);
+            if (page.size() > pageSize + 1) {
+                page.poll();
+            }
+        }
+
+        List<CropSearchHit> rows = new ArrayList<>(page);
+        rows.sort(NEWEST_FIRST);
+        CursorPage<CropSearchHit> items = CursorPage.of(rows, pageSize, hit -> new PageCursor(hit.createdAt(), hit.key()));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("stage", byCountDescending(stageFacet));
+        facets.put("cropType", byCountDescending(cropTypeFacet));
+        facets.put("soilType", byCountDescending(soilTypeFacet));
+        return new CropSearchResponse(items.getItems(), items.getNextCursor(), total, facets);
+    }
+
+    /** Keys that may match: the intersection of each word's prefix matches, or everything in scope. */
+    private Collection<Long> candidates(Long ownerId, String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return ownerId != null ? documentsByOwner.getOrDefault(ownerId, Set.of()) : documents.keySet();
+        }
+
+        List<Set<Long>> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            Set<Long> keys = new HashSet<>();
+            for (Set<Long> posting : postings.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                keys.addAll(posting);
+            }
+            if (keys.isEmpty()) {
+                return Set.of();
+            }
+            matches.add(keys);
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = matches.get(0);
+        for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+            result.retainAll(matches.get(i));
+        }
+        return result;
+    }
+
+    /** Applies every row a change query returns for {@code (since, until]}, a page at a time. */
+    private <T> int applyChanges(LocalDateTime since, LocalDateTime until, CropChanges.ChangeQuery<T> changes,
+                                 Consumer<T> apply, Function<T, PageCursor> cursor) {
+        int applied = 0;
+        // An id past every row makes the first page start strictly after since
+        PageCursor after = new PageCursor(since, Long.MAX_VALUE);
+        List<T> rows;
+        do {
+            rows = changes.find(after.getCreatedAt(), after.getId(), until, CATCH_UP_PAGE);
+            synchronized (writeLock) {
+                rows.forEach(apply);
+            }
+            applied += rows.size();
+            if (!rows.isEmpty()) {
+                after = cursor.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == CATCH_UP_PAGE.getPageSize());
+        return applied;
+    }
+
+    private void indexFromBuild(CropSearchHit hit) {
+        synchronized (writeLock) {
+            if (!changedDuringBuild.contains(hit.key())) {
+                index(hit);
+            }
+        }
+    }
+
+    // Callers hold writeLock
+    private void index(CropSearchHit hit) {
+        long key = hit.key();
+        CropSearchHit previous = documents.put(key, hit);
+        Set<String> words = words(hit);
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        documentsByOwner.computeIfAbsent(hit.userId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+
+        if (previous != null) {
+            for (String word : words(previous)) {
+                if (!words.contains(word)) {
+                    removePosting(word, key);
+                }
+            }
+            if (!previous.userId().equals(hit.userId())) {
+                removeOwned(previous.userId(), key);
+            }
+        }
+    }
+
+    // Callers hold writeLock
+    private void remove(long key) {
+        CropSearchHit previous = documents.remove(key);
+        if (previous != null) {
+            for (String word : words(previous)) {
+                removePosting(word, key);
+            }
+            removeOwned(previous.userId(), key);
+        }
+    }
+
+    private void removePosting(String word, long key) {
+        Set<Long> posting = postings.get(word);
+        if (posting != null && posting.remove(key) && posting.isEmpty()) {
+            postings.remove(word);
+        }
+    }
+
+    private void removeOwned(Long userId, long key) {
+        Set<Long> owned = documentsByOwner.get(userId);
+        if (owned != null && owned.remove(key) && owned.isEmpty()) {
+            documentsByOwner.remove(userId);
+        }
+    }
+
+    private static Set<String> words(CropSearchHit hit) {
+        Set<String> words = new HashSet<>();
+        for (String field : new String[] {hit.name(), hit.cropType(), hit.soilType(), hit.pesticidesUsed(),
+                hit.farmerLocation(), hit.distributorLocation(), hit.retailerLocation()}) {
+            words.addAll(tokenize(field));
+        }
+        return words;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /** Whether {@code hit} sorts after the cursor in {@link #NEWEST_FIRST} order. */
+    private static boolean isAfter(CropSearchHit hit, PageCursor after) {
+        int byTime = CREATED_DESCENDING.compare(hit.createdAt(), after.getCreatedAt());
+        return byTime > 0 || (byTime == 0 && hit.key() < after.getId());
+    }
+
+    private static void count(Map<String, Long> facet, String value) {
+        if (value != null) {
+            facet.merge(value, 1L, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> byCountDescending(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static CropSearchHit toHit(SupplyChainCrop crop, Long userId) {
+        String distributorLocation = null;
+        String retailerLocation = null;
+        if (crop instanceof DistributorCrop d) {
+            distributorLocation = d.getDistributorLocation();
+            retailerLocation = d.getRetailerLocation();
+        } else if (crop instanceof RetailerCrop r) {
+            distributorLocation = r.getDistributorLocation();
+            retailerLocation = r.getRetailerLocation();
+        }
+        return new CropSearchHit(crop.getStage(), crop.getId(), userId, crop.getName(), crop.getCropType(),
+            crop.getSoilType(), crop.getPesticidesUsed(), storedImage(crop.getImageUrl()), crop.getFarmerLocation(),
+            distributorLocation, retailerLocation, crop.getHarvestDate(), crop.getExpiryDate(), crop.getCreatedAt());
+    }
+
+    private static CropSearchHit toHit(FarmerCropView c) {
+        return new CropSearchHit(CropStage.FARMER, c.id(), c.user().id(), c.name(), c.cropType(), c.soilType(),
+            c.pesticidesUsed(), storedImage(c.imageUrl()), c.farmerLocation(), null, null,
+            c.harvestDate(), c.expiryDate(), c.createdAt());
+    }
+
+    private static CropSearchHit toHit(DistributorCropView c) {
+        return new CropSearchHit(CropStage.DISTRIBUTOR, c.id(), c.user().id(), c.name(), c.cropType(), c.soilType(),
+            c.pesticidesUsed(), storedImage(c.imageUrl()), c.farmerLocation(), c.distributorLocation(),
+            c.retailerLocation(), c.harvestDate(), c.expiryDate(), c.createdAt());
+    }
+
+    private static CropSearchHit toHit(RetailerCropView c) {
+        return new CropSearchHit(CropStage.RETAILER, c.id(), c.user().id(), c.name(), c.cropType(), c.soilType(),
+            c.pesticidesUsed(), storedImage(c.imageUrl()), c.farmerLocation(), c.distributorLocation(),
+            c.retailerLocation(), c.harvestDate(), c.expiryDate(), c.createdAt());
+    }
+
+    private static PageCursor cursorOf(CropTombstone tombstone) {
+        return new PageCursor(tombstone.getDeletedAt(), tombstone.getId());
+    }
+
+    /** Keeps short /images references only; inline data URLs would bloat the index. */
+    private static String storedImage(String imageUrl) {
+        return imageUrl != null && imageUrl.startsWith("/images/") ? imageUrl : null;
+    }
+}
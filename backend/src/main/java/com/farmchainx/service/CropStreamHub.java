@@ -0,0 +1,249 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.DistributorCropView;
+import com.farmchainx.dto.FarmerCropView;
+import com.farmchainx.dto.RetailerCropView;
+import com.farmchainx.event.ChangeType;
+import com.farmchainx.event.CropChangeEvent;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.FarmerCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed crop changes out to server-sent event subscribers on this
+ * node. Each subscriber sees the rows its role can list: its own, plus every
+ * farmer lot for distributors and every distributor row for retailers;
+ * admins see everything.
+ *
+ * <p>Every change is serialized once and offered to each matching
+ * subscriber's bounded buffer, so the writing request never waits on a
+ * client. A few sender threads drain the buffers. A subscriber whose buffer
+ * fills up loses what it had queued and gets a single {@code resync} event
+ * instead, telling it to reload. Heartbeats come from one shared scheduled
+ * task, and connections are async, so an idle stream holds no thread.
+ */
+@Service
+public class CropStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(CropStreamHub.class);
+
+    // Messages sent per turn before a sender thread moves on to other subscribers
+    private static final int SEND_BATCH = 32;
+
+    private static final Message RESYNC = new Message("resync", "{}");
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Counter resyncs;
+    private final Counter published;
+
+    public CropStreamHub(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${farmchainx.stream.buffer-size:256}") int bufferSize,
+                         @Value("${farmchainx.stream.max-subscribers:5000}") int maxSubscribers,
+                         @Value("${farmchainx.stream.timeout:PT30M}") Duration timeout,
+                         @Value("${farmchainx.stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.senders = Executors.newFixedThreadPool(senderThreads, new SenderThreadFactory());
+
+        Gauge.builder("crops.stream.subscribers", subscribers, Set::size)
+            .description("Open crop event streams on this node").register(meterRegistry);
+        this.resyncs = Counter.builder("crops.stream.resyncs")
+            .description("Subscribers whose buffer overflowed and were told to reload").register(meterRegistry);
+        this.published = Counter.builder("crops.stream.events")
+            .description("Crop changes fanned out to subscribers").register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user.
+     *
+     * @return the emitter, or {@code null} if this node already has the maximum number of subscribers
+     */
+    public SseEmitter subscribe(AuthenticatedUser user) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, user.getUserId(), user.getRole(), bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        enqueue(subscriber, new Message("ready", "{}"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCropChange(CropChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message;
+        try {
+            message = new Message(event.getType().name().toLowerCase(Locale.ROOT),
+                objectMapper.writeValueAsString(new Change(event.getType(), event.getStage(), event.getCropId(),
+                    event.getUserId(), view(event))));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize crop change {} {}", event.getStage(), event.getCropId(), e);
+            message = RESYNC;
+        }
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.canSee(event.getStage(), event.getUserId())) {
+                enqueue(subscriber, message);
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${farmchainx.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // A full buffer will be drained anyway; a heartbeat must never trigger a resync
+            if (subscriber.buffer.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (!subscriber.buffer.offer(message)) {
+            // Too far behind: everything queued is stale anyway, so replace it with one reload hint
+            subscriber.buffer.clear();
+            subscriber.buffer.offer(RESYNC);
+            resyncs.increment();
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            for (int i = 0; i < SEND_BATCH; i++) {
+                Message message = subscriber.buffer.poll();
+                if (message == null) {
+                    break;
+                }
+                subscriber.emitter.send(message == HEARTBEAT
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event().name(message.name()).data(message.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks may not fire for a broken connection
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    /** The row as its list endpoint returns it, or {@code null} for deletes and unloaded owners. */
+    private static Object view(CropChangeEvent event) {
+        SupplyChainCrop crop = event.getCrop();
+        if (event.getType() == ChangeType.DELETED || !Hibernate.isInitialized(crop.getUser())) {
+            return null;
+        }
+        if (crop instanceof FarmerCrop f) {
+            return FarmerCropView.from(f);
+        }
+        if (crop instanceof DistributorCrop d) {
+            return DistributorCropView.from(d);
+        }
+        return RetailerCropView.from((RetailerCrop) crop);
+    }
+
+    /** Event payload; {@code crop} is {@code null} when the client has to fetch the row itself. */
+    private record Change(ChangeType type, CropStage stage, Long id, Long userId, Object crop) {}
+
+    private record Message(String name, String data) {}
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final Long userId;
+        final UserRole role;
+        final BlockingQueue<Message> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Long userId, UserRole role, int bufferSize) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.role = role;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /** Mirrors what each role's dashboard lists. */
+        boolean canSee(CropStage stage, Long ownerId) {
+            return role == UserRole.ADMIN
+                || userId.equals(ownerId)
+                || (role == UserRole.DISTRIBUTOR && stage == CropStage.FARMER)
+                || (role == UserRole.RETAILER && stage == CropStage.DISTRIBUTOR);
+        }
+    }
+
+    private static class SenderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "crop-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.DistributorCropView;
+import com.farmchainx.dto.FarmerCropView;
+import com.farmchainx.dto.RetailerCropView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as newline-delimited JSON for offline reconciliation.
+ * Rows are read through a forward-only cursor and detached as soon as they are
+ * written, so memory use does not depend on table size.
+ */
+@Service
+public class ExportService {
+
+    private static final Map<String, String> QUERIES = Map.of(
+        "users", "select u from User u order by u.id",
+        "farmer-crops", FarmerCropView.SELECT + "order by c.id",
+        "distributor-crops", DistributorCropView.SELECT + "order by c.id",
+        "retailer-crops", RetailerCropView.SELECT + "order by c.id"
+    );
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public ExportService(ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${farmchainx.export.fetch-size:1000}") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean supports(String entity) {
+        return QUERIES.containsKey(entity);
+    }
+
+    /**
+     * Writes every row of {@code entity} to {@code out}, one JSON object per line.
+     * Runs in its own read-only transaction so it can be called from the async
+     * thread that drives a {@code StreamingResponseBody}.
+     */
+    public void export(String entity, OutputStream out) throws IOException {
+        String jpql = QUERIES.get(entity);
+        if (jpql == null) {
+            throw new IllegalArgumentException("Unknown export entity: " + entity);
+        }
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly; no extra separator between root values
+            generator.setRootValueSeparator(null);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<?> rows = entityManager.createQuery(jpql)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()) {
+                    long written = 0;
+                    Iterator<?> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        Object row = iterator.next();
+                        generator.writeObject(row);
+                        generator.writeRaw('\n');
+                        // Crop exports are projections; only user rows are managed
+                        if (!(row instanceof Record)) {
+                            entityManager.detach(row);
+                        }
+                        if (++written % CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                            generator.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
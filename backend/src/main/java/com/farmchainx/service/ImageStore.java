@@ -0,0 +1,217 @@
+package com.farmchainx.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for crop photos on the local filesystem. Each image
+ * is saved once under the SHA-256 of its bytes, so the same photo carried
+ * from a farmer lot to distributor and retailer rows is stored a single time.
+ * Crop rows only keep the short {@code /images/<name>} reference.
+ */
+@Service
+public class ImageStore {
+
+    public static final String REFERENCE_PREFIX = "/images/";
+
+    private static final Pattern DATA_URL = Pattern.compile("^data:(image/[a-z+.-]+);base64,(.*)$", Pattern.DOTALL);
+    private static final Pattern NAME = Pattern.compile("^([0-9a-f]{64})\\.(png|jpg|gif|webp)$");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/png", "png",
+        "image/jpeg", "jpg",
+        "image/jpg", "jpg",
+        "image/gif", "gif",
+        "image/webp", "webp"
+    );
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "png", "image/png",
+        "jpg", "image/jpeg",
+        "gif", "image/gif",
+        "webp", "image/webp"
+    );
+
+    private final Path root;
+    private final Path thumbnails;
+    private final Path incoming;
+    private final int thumbnailSize;
+    private final long maxBytes;
+
+    public ImageStore(@Value("${farmchainx.images.directory:data/images}") String directory,
+                      @Value("${farmchainx.images.thumbnail-size:240}") int thumbnailSize,
+                      @Value("${farmchainx.images.max-bytes:5242880}") long maxBytes) throws IOException {
+        this.root = Paths.get(directory).toAbsolutePath();
+        this.thumbnails = root.resolve("thumbnails");
+        this.incoming = root.resolve("incoming");
+        this.thumbnailSize = thumbnailSize;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(thumbnails);
+        Files.createDirectories(incoming);
+    }
+
+    /**
+     * Moves inline image data out of a crop's imageUrl. Data URLs are stored
+     * and replaced by their reference; absolute links to this store are
+     * shortened to the reference; anything else is returned unchanged.
+     *
+     * @throws IllegalArgumentException if a data URL is malformed, too large or not a supported image type
+     */
+    public String toReference(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return imageUrl;
+        }
+        Matcher dataUrl = DATA_URL.matcher(imageUrl);
+        if (dataUrl.matches()) {
+            String extension = EXTENSIONS.get(dataUrl.group(1));
+            if (extension == null) {
+                throw new IllegalArgumentException("Unsupported image type: " + dataUrl.group(1));
+            }
+            // Every 4 Base64 characters carry 3 bytes; line breaks only make this an overestimate
+            if (dataUrl.group(2).length() / 4 * 3 > maxBytes) {
+                throw new IllegalArgumentException("Image is larger than " + maxBytes + " bytes");
+            }
+            byte[] bytes = Base64.getMimeDecoder().decode(dataUrl.group(2));
+            return REFERENCE_PREFIX + store(bytes, extension);
+        }
+        int prefix = imageUrl.indexOf(REFERENCE_PREFIX);
+        if (prefix > 0 && isValidName(imageUrl.substring(prefix + REFERENCE_PREFIX.length()))) {
+            return imageUrl.substring(prefix);
+        }
+        return imageUrl;
+    }
+
+    /** Stores the bytes if not already present and returns the image name. */
+    public String store(byte[] bytes, String extension) {
+        String name = sha256(bytes) + "." + extension;
+        Path target = pathFor(name);
+        if (Files.exists(target)) {
+            return name;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(incoming, "upload", ".tmp");
+            Files.write(temp, bytes);
+            publish(temp, target);
+            return name;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image", e);
+        }
+    }
+
+    public boolean isValidName(String name) {
+        return NAME.matcher(name).matches();
+    }
+
+    /** @return the file for a stored image, or {@code null} if the name is invalid or unknown */
+    public Path find(String name) {
+        if (!isValidName(name)) {
+            return null;
+        }
+        Path path = pathFor(name);
+        return Files.exists(path) ? path : null;
+    }
+
+    /** Content type of a stored image or thumbnail file, from its extension. */
+    public String contentType(Path file) {
+        String fileName = file.getFileName().toString();
+        return CONTENT_TYPES.get(fileName.substring(fileName.lastIndexOf('.') + 1));
+    }
+
+    /** The content hash, which is also the strong ETag of the image. */
+    public String hashOf(String name) {
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    /** Longest edge of generated thumbnails, in pixels. */
+    public int thumbnailSize() {
+        return thumbnailSize;
+    }
+
+    /**
+     * Returns a thumbnail of a stored image, generating it on first use. Images
+     * with an alpha channel get a PNG thumbnail so transparency survives;
+     * everything else gets a JPEG. Formats the JDK cannot decode (e.g. WebP)
+     * fall back to the original.
+     */
+    public Path thumbnail(String name) throws IOException {
+        Path original = find(name);
+        if (original == null) {
+            return null;
+        }
+        for (String format : new String[] {"jpg", "png"}) {
+            Path existing = thumbnails.resolve(hashOf(name) + "-" + thumbnailSize + "." + format);
+            if (Files.exists(existing)) {
+                return existing;
+            }
+        }
+
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            return original;
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        Path thumbnail = thumbnails.resolve(hashOf(name) + "-" + thumbnailSize + "." + format);
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height,
+            alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile(incoming, "thumb", ".tmp");
+        ImageIO.write(scaled, format, temp.toFile());
+        publish(temp, thumbnail);
+        return thumbnail;
+    }
+
+    private Path pathFor(String name) {
+        // Two levels of fan-out keep directories small
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    /** Atomically renames a fully written temp file into place; concurrent writers of the same content are harmless. */
+    private static void publish(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(temp);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
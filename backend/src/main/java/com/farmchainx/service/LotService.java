@@ -0,0 +1,283 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.CropReceiptReport;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.CustodyTransition;
+import com.farmchainx.model.Lot;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.model.User;
+import com.farmchainx.repository.CustodyTransitionRepository;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.LotRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes crop rows together with the lots they hold and their custody
+ * transitions.
+ *
+ * <p>A distributor or retailer row names the upstream row it received in
+ * {@code sourceCropId}; rows without one are linked to the upstream party's
+ * newest row with the same crop name, if any. When the values sent match the
+ * upstream lot, the new row shares that lot and the handoff is two small
+ * inserts: the row and its transition. Otherwise the row gets a lot of its
+ * own. The same rule applies to edits: the creator of a lot edits it in place
+ * and every other holder is touched so it publishes the change, while any
+ * other holder changing a value moves to a copy. Bulk receipts always share
+ * the upstream lots.
+ */
+@Service
+public class LotService {
+
+    private static final Pageable NEWEST = Pageable.ofSize(1);
+
+    private final LotRepository lotRepository;
+    private final CustodyTransitionRepository custodyTransitionRepository;
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+    private final TransactionTemplate transaction;
+
+    public LotService(LotRepository lotRepository,
+                      CustodyTransitionRepository custodyTransitionRepository,
+                      FarmerCropRepository farmerCropRepository,
+                      DistributorCropRepository distributorCropRepository,
+                      RetailerCropRepository retailerCropRepository,
+                      PlatformTransactionManager transactionManager) {
+        this.lotRepository = lotRepository;
+        this.custodyTransitionRepository = custodyTransitionRepository;
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Saves new crop rows owned by {@code user} in one transaction, with their
+     * lots and transitions. Upstream rows named by {@code sourceCropId} are
+     * read with one query.
+     *
+     * @throws RuntimeException if a named upstream row does not exist
+     */
+    public <T extends SupplyChainCrop> List<T> create(User user, List<T> crops, JpaRepository<T, Long> repository) {
+        if (crops.isEmpty()) {
+            return crops;
+        }
+        return transaction.execute(status -> {
+            CropStage stage = crops.get(0).getStage();
+            Map<Long, ? extends SupplyChainCrop> sources = findUpstream(stage,
+                crops.stream().map(SupplyChainCrop::getSourceCropId).filter(id -> id != null).collect(Collectors.toSet()));
+
+            List<SupplyChainCrop> upstream = new ArrayList<>(crops.size());
+            for (T crop : crops) {
+                SupplyChainCrop from = null;
+                if (crop.getSourceCropId() != null) {
+                    from = sources.get(crop.getSourceCropId());
+                    if (from == null) {
+                        throw new RuntimeException("Source crop not found: " + crop.getSourceCropId());
+                    }
+                } else if (stage != CropStage.FARMER) {
+                    from = inferUpstream(crop);
+                }
+                crop.setId(null);
+                crop.setUser(user);
+                attach(crop, from, user);
+                upstream.add(from);
+            }
+            return saveWithTransitions(crops, upstream, repository);
+        });
+    }
+
+    /**
+     * Records {@code user} receiving the upstream rows {@code sourceCropIds}
+     * into {@code stage}, in one transaction. The upstream rows are read with
+     * one {@code IN} query; each new row shares its upstream row's lot and
+     * takes its own columns from {@code receipt}. IDs that are unknown or
+     * listed twice are reported and skipped, without failing the rest.
+     */
+    @SuppressWarnings("unchecked")
+    public <U extends SupplyChainCrop, T extends SupplyChainCrop> CropReceiptReport receive(
+            User user, CropStage stage, List<Long> sourceCropIds, Function<U, T> receipt, JpaRepository<T, Long> repository) {
+        return transaction.execute(status -> {
+            Map<Long, ? extends SupplyChainCrop> sources = findUpstream(stage,
+                sourceCropIds.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+
+            // Received items stay null until their rows have IDs
+            List<CropReceiptReport.Item> items = new ArrayList<>(sourceCropIds.size());
+            List<T> crops = new ArrayList<>(sourceCropIds.size());
+            List<SupplyChainCrop> upstream = new ArrayList<>(sourceCropIds.size());
+            Set<Long> seen = new HashSet<>();
+            for (Long sourceCropId : sourceCropIds) {
+                SupplyChainCrop from = sources.get(sourceCropId);
+                if (!seen.add(sourceCropId)) {
+                    items.add(new CropReceiptReport.Item(sourceCropId, CropReceiptReport.Status.DUPLICATE, null));
+                } else if (from == null) {
+                    items.add(new CropReceiptReport.Item(sourceCropId, CropReceiptReport.Status.NOT_FOUND, null));
+                } else {
+                    T crop = receipt.apply((U) from);
+                    crop.setUser(user);
+                    crop.setLot(from.getLot());
+                    crops.add(crop);
+                    upstream.add(from);
+                    items.add(null);
+                }
+            }
+
+            Iterator<T> saved = saveWithTransitions(crops, upstream, repository).iterator();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == null) {
+                    items.set(i, new CropReceiptReport.Item(sourceCropIds.get(i), CropReceiptReport.Status.RECEIVED,
+                        saved.next().getId()));
+                }
+            }
+            return CropReceiptReport.of(items);
+        });
+    }
+
+    /**
+     * Saves an edit to a crop read with its owner and lot. {@code requested}
+     * holds the lot values sent by the client; the crop's own columns must
+     * already be set.
+     */
+    public <T extends SupplyChainCrop> void update(T crop, Lot requested, JpaRepository<T, Long> repository) {
+        transaction.executeWithoutResult(status -> {
+            User owner = crop.getUser();
+            Lot current = crop.getLot();
+            if (crop.getStage() == CropStage.FARMER) {
+                stampFarmer(requested, owner);
+            }
+            if (requested == null || requested.isEmpty() || requested.sameValuesAs(current)) {
+                repository.save(crop);
+                return;
+            }
+
+            if (owner.getId().equals(current.getCreatedBy())) {
+                current.copyValuesFrom(requested);
+                lotRepository.save(current);
+                crop.lotChanged();
+                repository.save(crop);
+                touchHolders(crop);
+                return;
+            }
+
+            // Someone else's lot: move to a copy, keeping the upstream link of the row's last transition
+            Lot copy = lotRepository.save(requested.copy(owner.getId()));
+            crop.setLot(copy);
+            crop.lotChanged();
+            repository.save(crop);
+            CustodyTransition last = custodyTransitionRepository
+                .findFirstByStageAndCropIdOrderByIdDesc(crop.getStage(), crop.getId()).orElse(null);
+            custodyTransitionRepository.save(last != null
+                ? new CustodyTransition(crop, last.getFromStage(), last.getFromCropId(), last.getFromHolderId())
+                : new CustodyTransition(crop, null));
+        });
+    }
+
+    /** Inserts the rows, then one transition per row from the matching upstream row, as two batches. */
+    private <T extends SupplyChainCrop> List<T> saveWithTransitions(List<T> crops, List<SupplyChainCrop> upstream,
+                                                                   JpaRepository<T, Long> repository) {
+        List<T> saved = repository.saveAll(crops);
+        List<CustodyTransition> transitions = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            transitions.add(new CustodyTransition(saved.get(i), upstream.get(i)));
+        }
+        custodyTransitionRepository.saveAll(transitions);
+        return saved;
+    }
+
+    /** Shares the upstream lot if the crop carries no lot values or the same ones, else saves a new lot. */
+    private void attach(SupplyChainCrop crop, SupplyChainCrop upstream, User user) {
+        Lot requested = crop.getLot();
+        if (crop.getStage() == CropStage.FARMER) {
+            stampFarmer(requested, user);
+        }
+        if (upstream != null && (requested == null || requested.isEmpty() || requested.sameValuesAs(upstream.getLot()))) {
+            crop.setLot(upstream.getLot());
+            return;
+        }
+        Lot lot = requested != null ? requested : new Lot();
+        lot.setCreatedBy(user.getId());
+        crop.setLot(lotRepository.save(lot));
+    }
+
+    /** A farmer's own lots always name the farmer as recorded on their account. */
+    private static void stampFarmer(Lot lot, User farmer) {
+        if (lot != null) {
+            lot.setFarmerId(farmer.getFarmerId());
+            lot.setFarmerName(farmer.getName());
+        }
+    }
+
+    private Map<Long, ? extends SupplyChainCrop> findUpstream(CropStage stage, Collection<Long> ids) {
+        if (ids.isEmpty() || stage.upstream() == null) {
+            return Map.of();
+        }
+        List<? extends SupplyChainCrop> rows = stage.upstream() == CropStage.FARMER
+            ? farmerCropRepository.findWithUserByIdIn(ids)
+            : distributorCropRepository.findWithUserByIdIn(ids);
+        return rows.stream().collect(Collectors.toMap(SupplyChainCrop::getId, Function.identity()));
+    }
+
+    /** The upstream party's newest row with the same crop name, going by the public IDs the crop names. */
+    private SupplyChainCrop inferUpstream(SupplyChainCrop crop) {
+        String name = trimToNull(crop.getName());
+        String farmerId = publicId(crop.getLot() != null ? crop.getLot().getFarmerId() : null);
+        if (name == null || farmerId == null) {
+            return null;
+        }
+        List<? extends SupplyChainCrop> candidates;
+        if (crop.getStage() == CropStage.DISTRIBUTOR) {
+            candidates = farmerCropRepository.findLatestByFarmerIdAndName(farmerId, name, NEWEST);
+        } else {
+            String distributorId = publicId(((RetailerCrop) crop).getDistributorId());
+            if (distributorId == null) {
+                return null;
+            }
+            candidates = distributorCropRepository.findLatestByDistributorIdAndFarmerIdAndName(distributorId,
+                farmerId, name, NEWEST);
+        }
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    /** Marks every other live row holding the crop's lot as changed, so each publishes an update. */
+    private void touchHolders(SupplyChainCrop crop) {
+        Long lotId = crop.getLot().getId();
+        Stream.of(farmerCropRepository.findByLotId(lotId), distributorCropRepository.findByLotId(lotId),
+                retailerCropRepository.findByLotId(lotId))
+            .flatMap(List::stream)
+            .filter(holder -> holder.getStage() != crop.getStage() || !holder.getId().equals(crop.getId()))
+            .forEach(SupplyChainCrop::lotChanged);
+    }
+
+    private static String publicId(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed != null ? trimmed.toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
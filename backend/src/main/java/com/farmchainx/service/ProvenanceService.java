@@ -0,0 +1,162 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.ProvenanceResponse;
+import com.farmchainx.dto.ProvenanceStep;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.CustodyTransition;
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.FarmerCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.model.User;
+import com.farmchainx.repository.CustodyTransitionRepository;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Provenance behind the public scan endpoint, read from the custody
+ * transitions. A scan loads the scanned row with its lot, then the lot's
+ * transitions in one query on {@code lot_id}, and follows each row's
+ * transition to the upstream row it was received from. A row that moved to a
+ * lot of its own is found by its own transition on {@code (stage, crop_id)}.
+ * Both are index lookups, so a scan costs a handful of primary-key and index
+ * reads however large the tables grow.
+ */
+@Service
+public class ProvenanceService {
+
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+    private final CustodyTransitionRepository custodyTransitionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProvenanceService(FarmerCropRepository farmerCropRepository,
+                             DistributorCropRepository distributorCropRepository,
+                             RetailerCropRepository retailerCropRepository,
+                             CustodyTransitionRepository custodyTransitionRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+        this.custodyTransitionRepository = custodyTransitionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** The scanned row and its upstream chain, or empty if no such row exists. */
+    public Optional<ProvenanceResponse> lookup(CropStage stage, long cropId) {
+        return readOnlyTransaction.execute(status -> {
+            SupplyChainCrop scanned = find(stage, cropId);
+            if (scanned == null) {
+                return Optional.<ProvenanceResponse>empty();
+            }
+            List<CustodyTransition> history = custodyTransitionRepository.findByLotIdOrderById(scanned.getLot().getId());
+            FarmerCrop farmer = scanned instanceof FarmerCrop f ? f : null;
+            DistributorCrop distributor = scanned instanceof DistributorCrop d ? d : null;
+            for (SupplyChainCrop row = scanned; row != null && row.getStage() != CropStage.FARMER; ) {
+                row = upstreamOf(row, history);
+                if (row instanceof DistributorCrop d) {
+                    distributor = d;
+                } else if (row instanceof FarmerCrop f) {
+                    farmer = f;
+                }
+            }
+            return Optional.of(response(stage, scanned, distributor, farmer));
+        });
+    }
+
+    /** Stage-qualified ID printed in QR codes, e.g. {@code R42}. */
+    public static String scanId(CropStage stage, long cropId) {
+        return stage.name().charAt(0) + Long.toString(cropId);
+    }
+
+    /** The live row the crop received its lot from, if it was recorded and still exists. */
+    private SupplyChainCrop upstreamOf(SupplyChainCrop crop, List<CustodyTransition> history) {
+        CustodyTransition received = null;
+        for (CustodyTransition transition : history) {
+            if (transition.getStage() == crop.getStage() && transition.getCropId().equals(crop.getId())) {
+                received = transition;
+            }
+        }
+        // Rows that moved to a lot of their own are not in the scanned lot's history
+        if (received == null) {
+            received = custodyTransitionRepository
+                .findFirstByStageAndCropIdOrderByIdDesc(crop.getStage(), crop.getId()).orElse(null);
+        }
+        if (received == null || received.getFromCropId() == null
+                || received.getFromStage() != crop.getStage().upstream()) {
+            return null;
+        }
+        return find(received.getFromStage(), received.getFromCropId());
+    }
+
+    private SupplyChainCrop find(CropStage stage, long cropId) {
+        Optional<? extends SupplyChainCrop> crop = switch (stage) {
+            case FARMER -> farmerCropRepository.findWithUserById(cropId);
+            case DISTRIBUTOR -> distributorCropRepository.findWithUserById(cropId);
+            case RETAILER -> retailerCropRepository.findWithUserById(cropId);
+        };
+        return crop.orElse(null);
+    }
+
+    private static ProvenanceResponse response(CropStage stage, SupplyChainCrop scanned,
+                                               DistributorCrop distributor, FarmerCrop farmer) {
+        // Upstream parties without their own row are described from the downstream row
+        SupplyChainCrop downstream = distributor != null ? distributor : scanned;
+        List<ProvenanceStep> chain = new ArrayList<>(3);
+        chain.add(farmer != null
+            ? new ProvenanceStep(CropStage.FARMER, farmer.getId(), ownerName(farmer), farmer.getUser().getFarmerId(),
+                farmer.getFarmerLocation(), null, farmer.getCreatedAt())
+            : new ProvenanceStep(CropStage.FARMER, null, downstream.getLot().getFarmerName(),
+                downstream.getLot().getFarmerId(), downstream.getFarmerLocation(), null, null));
+        if (stage != CropStage.FARMER) {
+            RetailerCrop retailer = scanned instanceof RetailerCrop r ? r : null;
+            chain.add(distributor != null
+                ? new ProvenanceStep(CropStage.DISTRIBUTOR, distributor.getId(), ownerName(distributor),
+                    distributor.getUser().getDistributorId(), distributor.getDistributorLocation(),
+                    distributor.getReceivedDate(), distributor.getCreatedAt())
+                : new ProvenanceStep(CropStage.DISTRIBUTOR, null, retailer.getDistributorName(),
+                    retailer.getDistributorId(), retailer.getDistributorLocation(), null, null));
+            if (retailer != null) {
+                chain.add(new ProvenanceStep(CropStage.RETAILER, retailer.getId(), ownerName(retailer), null,
+                    retailer.getRetailerLocation(), retailer.getReceivedDate(), retailer.getCreatedAt()));
+            }
+        }
+
+        ProvenanceResponse body = new ProvenanceResponse(scanId(stage, scanned.getId()), stage, scanned.getId(),
+            scanned.getName(), scanned.getCropType(), scanned.getHarvestDate(), scanned.getExpiryDate(),
+            scanned.getSoilType(), scanned.getPesticidesUsed(), storedImage(scanned.getImageUrl()), chain, null);
+        String etag = "\"" + Long.toHexString(fingerprint(body.toString())) + "\"";
+        return new ProvenanceResponse(body.scanId(), stage, body.cropId(), body.name(), body.cropType(),
+            body.harvestDate(), body.expiryDate(), body.soilType(), body.pesticidesUsed(), body.imageUrl(), chain, etag);
+    }
+
+    private static String ownerName(SupplyChainCrop crop) {
+        User owner = crop.getUser();
+        return owner != null ? owner.getName() : null;
+    }
+
+    /** FNV-1a over the response; stable across restarts, unlike identity or enum hash codes. */
+    private static long fingerprint(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** Keeps short /images references only; inline data URLs would bloat a public response cached by proxies. */
+    private static String storedImage(String imageUrl) {
+        return imageUrl != null && imageUrl.startsWith("/images/") ? imageUrl : null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.farmchainx.service;
+
+import com.farmchainx.model.PublicIdBlock;
+import com.farmchainx.repository.PublicIdBlockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out public farmer and distributor IDs such as {@code F0000018}: a
+ * one-letter series prefix, a zero-padded sequence number and a Luhn check
+ * digit. Values are reserved from {@code public_id_blocks} a block at a time
+ * in their own transaction, so normally an ID costs no query at all, and two
+ * instances (or two concurrent registrations) can never get the same value.
+ * The unique indexes on {@code users} back this up.
+ */
+@Service
+public class PublicIdAllocator {
+
+    public static final String FARMER = "F";
+    public static final String DISTRIBUTOR = "D";
+
+    private static final int SEQUENCE_DIGITS = 6;
+
+    private final PublicIdBlockRepository blockRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public PublicIdAllocator(PublicIdBlockRepository blockRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${farmchainx.public-ids.block-size:100}") int blockSize) {
+        this.blockRepository = blockRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextFarmerId() {
+        return next(FARMER);
+    }
+
+    public String nextDistributorId() {
+        return next(DISTRIBUTOR);
+    }
+
+    /**
+     * True for IDs produced by this allocator with an intact check digit, and
+     * for the three-digit IDs issued before it existed.
+     */
+    public static boolean isWellFormed(String id) {
+        if (id == null) {
+            return false;
+        }
+        if (id.matches("\\d{3}")) {
+            return true;
+        }
+        if (!id.matches("[" + FARMER + DISTRIBUTOR + "]\\d{" + (SEQUENCE_DIGITS + 1) + ",}")) {
+            return false;
+        }
+        String digits = id.substring(1);
+        return luhnDigit(digits.substring(0, digits.length() - 1)) == digits.charAt(digits.length() - 1) - '0';
+    }
+
+    /** The public ID for sequence number {@code value} in the series; also used by the migrations. */
+    public static String format(String prefix, long value) {
+        String digits = String.format("%0" + SEQUENCE_DIGITS + "d", value);
+        return prefix + digits + luhnDigit(digits);
+    }
+
+    private String next(String prefix) {
+        Series s = series.computeIfAbsent(prefix, p -> new Series());
+        while (true) {
+            Block block = s.current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return format(prefix, value);
+            }
+            s.refill(prefix, block);
+        }
+    }
+
+    private Block reserve(String name) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return requiresNew.execute(status -> {
+                    PublicIdBlock row = blockRepository.findForUpdate(name)
+                        .orElseGet(() -> blockRepository.saveAndFlush(new PublicIdBlock(name, 1L)));
+                    long start = row.getNextValue();
+                    row.setNextValue(start + blockSize);
+                    return new Block(start, start + blockSize);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first; lock it on the next pass
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static int luhnDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubled) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private class Series {
+
+        final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+        final ReentrantLock refillLock = new ReentrantLock();
+
+        void refill(String prefix, Block exhausted) {
+            refillLock.lock();
+            try {
+                // Another thread may have swapped in a fresh block while we waited
+                if (current.get() == exhausted) {
+                    current.set(reserve(prefix));
+                }
+            } finally {
+                refillLock.unlock();
+            }
+        }
+    }
+
+    private static class Block {
+
+        static final Block EMPTY = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
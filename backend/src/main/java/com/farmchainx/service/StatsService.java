@@ -0,0 +1,239 @@
+package com.farmchainx.service;
+
+import com.farmchainx.dto.StatsResponse;
+import com.farmchainx.event.ChangeType;
+import com.farmchainx.event.CropChangeEvent;
+import com.farmchainx.event.UserChangeEvent;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the admin dashboard counters in memory so {@code /admin/stats} never
+ * scans a table. Counters are striped {@link LongAdder}s updated from committed
+ * entity changes, and rebuilt from grouped counts at startup and every
+ * {@code farmchainx.stats.reconcile-interval} to correct any drift (bulk JPQL
+ * statements, other instances, changes racing a previous rebuild).
+ * <p>
+ * The active farmer count is the one counter that is not a fixed number of
+ * adders: it is a counted set of farmer user IDs (crop rows per farmer), so
+ * a farmer's last deleted crop can drop them from it. Reads stay constant
+ * time through the set's size, but memory grows with the number of active
+ * farmers, and the reconcile rebuilds the set along with everything else.
+ */
+@Service
+public class StatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsService.class);
+
+    private final UserRepository userRepository;
+    private final FarmerCropRepository farmerCropRepository;
+    private final DistributorCropRepository distributorCropRepository;
+    private final RetailerCropRepository retailerCropRepository;
+
+    private volatile Counters counters = new Counters();
+
+    public StatsService(UserRepository userRepository,
+                        FarmerCropRepository farmerCropRepository,
+                        DistributorCropRepository distributorCropRepository,
+                        RetailerCropRepository retailerCropRepository) {
+        this.userRepository = userRepository;
+        this.farmerCropRepository = farmerCropRepository;
+        this.distributorCropRepository = distributorCropRepository;
+        this.retailerCropRepository = retailerCropRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChangeEvent event) {
+        UserRole role = event.getUser().getRole();
+        if (role == null) {
+            return;
+        }
+        if (event.getType() == ChangeType.CREATED) {
+            counters.usersByRole.get(role).increment();
+        } else if (event.getType() == ChangeType.DELETED) {
+            counters.usersByRole.get(role).decrement();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCropChange(CropChangeEvent event) {
+        Counters c = counters;
+        StageCounters stage = c.crops.get(event.getStage());
+        YearMonth month = event.getCreatedAt() != null ? YearMonth.from(event.getCreatedAt()) : null;
+
+        switch (event.getType()) {
+            case CREATED -> {
+                stage.add(event.getCropType(), month, 1);
+                if (event.getStage() == CropStage.FARMER) {
+                    c.adjustFarmer(event.getUserId(), 1);
+                }
+            }
+            case DELETED -> {
+                stage.add(event.getPreviousCropType(), month, -1);
+                if (event.getStage() == CropStage.FARMER) {
+                    c.adjustFarmer(event.getUserId(), -1);
+                }
+            }
+            case UPDATED -> {
+                if (!Objects.equals(event.getPreviousCropType(), event.getCropType())) {
+                    stage.addType(event.getPreviousCropType(), -1);
+                    stage.addType(event.getCropType(), 1);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Rebuilds every counter from grouped counts and swaps them in. Changes
+     * committed while the counts run may be missed until the next pass.
+     */
+    @Scheduled(fixedDelayString = "${farmchainx.stats.reconcile-interval:PT15M}",
+               initialDelayString = "${farmchainx.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        Counters fresh = new Counters();
+
+        for (Object[] row : userRepository.countByRole()) {
+            fresh.usersByRole.get((UserRole) row[0]).add((Long) row[1]);
+        }
+        loadStage(fresh.crops.get(CropStage.FARMER), farmerCropRepository.countByTypeAndMonth());
+        loadStage(fresh.crops.get(CropStage.DISTRIBUTOR), distributorCropRepository.countByTypeAndMonth());
+        loadStage(fresh.crops.get(CropStage.RETAILER), retailerCropRepository.countByTypeAndMonth());
+        for (Object[] row : farmerCropRepository.countByUserId()) {
+            fresh.farmerCropCounts.put((Long) row[0], (Long) row[1]);
+        }
+        fresh.reconciledAt = LocalDateTime.now();
+
+        Counters previous = counters;
+        counters = fresh;
+        long drift = Math.abs(previous.totalUsers() - fresh.totalUsers()) + Math.abs(previous.totalCrops() - fresh.totalCrops())
+            + Math.abs(previous.farmerCropCounts.size() - fresh.farmerCropCounts.size());
+        if (previous.reconciledAt != null && drift != 0) {
+            log.info("Stats counters drifted by {} since last reconcile; corrected", drift);
+        }
+    }
+
+    public StatsResponse snapshot() {
+        Counters c = counters;
+        StatsResponse response = new StatsResponse();
+
+        Map<String, Long> usersByRole = new TreeMap<>();
+        c.usersByRole.forEach((role, count) -> usersByRole.put(role.name(), count.sum()));
+        response.setUsersByRole(usersByRole);
+        response.setTotalUsers(c.totalUsers());
+
+        Map<String, Long> cropsByType = new TreeMap<>();
+        Map<String, Long> cropsByMonth = new TreeMap<>();
+        Map<String, Long> cropsByStage = new TreeMap<>();
+        for (Map.Entry<CropStage, StageCounters> entry : c.crops.entrySet()) {
+            StageCounters stage = entry.getValue();
+            cropsByStage.put(entry.getKey().name(), stage.total.sum());
+            stage.byType.forEach((type, count) -> cropsByType.merge(type, count.sum(), Long::sum));
+            stage.byMonth.forEach((month, count) -> cropsByMonth.merge(month.toString(), count.sum(), Long::sum));
+        }
+        cropsByType.values().removeIf(count -> count == 0);
+        cropsByMonth.values().removeIf(count -> count == 0);
+
+        response.setTotalFarmerCrops(cropsByStage.get(CropStage.FARMER.name()));
+        response.setTotalDistributorCrops(cropsByStage.get(CropStage.DISTRIBUTOR.name()));
+        response.setTotalRetailerCrops(cropsByStage.get(CropStage.RETAILER.name()));
+        response.setTotalCrops(c.totalCrops());
+        response.setCropsByStage(cropsByStage);
+        response.setCropsByType(cropsByType);
+        response.setCropsByMonth(cropsByMonth);
+        response.setNewCropsThisMonth(cropsByMonth.getOrDefault(YearMonth.now().toString(), 0L));
+        response.setActiveFarmers(c.farmerCropCounts.size());
+        response.setReconciledAt(c.reconciledAt);
+        return response;
+    }
+
+    private static void loadStage(StageCounters stage, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            YearMonth month = row[1] != null ? YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue()) : null;
+            stage.add((String) row[0], month, (Long) row[3]);
+        }
+    }
+
+    private static class Counters {
+
+        final Map<UserRole, LongAdder> usersByRole = new EnumMap<>(UserRole.class);
+        final Map<CropStage, StageCounters> crops = new EnumMap<>(CropStage.class);
+        // Counted set of farmer users: crop rows per farmer, with no zero entries, so its size is the active farmer count
+        final ConcurrentHashMap<Long, Long> farmerCropCounts = new ConcurrentHashMap<>();
+        volatile LocalDateTime reconciledAt;
+
+        Counters() {
+            // Fully populated up front so the enum maps are only ever read concurrently
+            for (UserRole role : UserRole.values()) {
+                usersByRole.put(role, new LongAdder());
+            }
+            for (CropStage stage : CropStage.values()) {
+                crops.put(stage, new StageCounters());
+            }
+        }
+
+        void adjustFarmer(Long userId, long delta) {
+            if (userId != null) {
+                farmerCropCounts.compute(userId, (id, count) -> {
+                    long updated = (count == null ? 0 : count) + delta;
+                    return updated > 0 ? updated : null;
+                });
+            }
+        }
+
+        long totalUsers() {
+            return usersByRole.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        long totalCrops() {
+            return crops.values().stream().mapToLong(s -> s.total.sum()).sum();
+        }
+    }
+
+    private static class StageCounters {
+
+        final LongAdder total = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> byType = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<YearMonth, LongAdder> byMonth = new ConcurrentHashMap<>();
+
+        void add(String cropType, YearMonth month, long delta) {
+            total.add(delta);
+            addType(cropType, delta);
+            if (month != null) {
+                byMonth.computeIfAbsent(month, m -> new LongAdder()).add(delta);
+            }
+        }
+
+        void addType(String cropType, long delta) {
+            if (cropType != null) {
+                byType.computeIfAbsent(cropType, t -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.farmchainx.service;
+
+import com.farmchainx.event.ChangeType;
+import com.farmchainx.event.CropChangeEvent;
+import com.farmchainx.model.CropStage;
+import com.farmchainx.model.PurgeStatus;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.model.UserPurge;
+import com.farmchainx.repository.CustodyTransitionRepository;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.LotRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.repository.UserPurgeRepository;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.RevokedUserRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Deletes users in the background. An admin deletion only records a
+ * {@link UserPurge} row and revokes the user's tokens; the job then deletes
+ * the user's crops a chunk at a time ({@code farmchainx.purge.chunk-size}),
+ * each chunk in its own short transaction with one select and one
+ * {@code delete ... where id in (...)}, and the user row last. The chunk also
+ * removes the rows' custody transitions and any lot no row holds any more;
+ * lots still held downstream stay, as the other holders' record of the crop.
+ *
+ * <p>Live crops are read as entities so that a {@link CropChangeEvent} can
+ * be published for each, exactly as an entity delete would; soft-deleted
+ * tombstones already announced their delete and are removed by ID only.
+ * Purges run one at a time on a single thread per instance. Unfinished ones
+ * are polled from the table, so a purge cut off by a crash or a failed chunk
+ * is picked up again by whichever instance next takes its lease.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final LotRepository lotRepository;
+    private final CustodyTransitionRepository custodyTransitionRepository;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transaction;
+    private final List<Target<?>> targets;
+    private final Pageable chunk;
+    private final Duration lease;
+    private final Counter purged;
+    private final ExecutorService runner;
+
+    // Users with a run waiting on the runner thread, so polls do not queue the same purge twice
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    // Purges requested since this time are revoked by the next poll, whichever instance accepted them
+    private volatile LocalDateTime revokedSince = LocalDate.EPOCH.atStartOfDay();
+
+    public UserPurgeService(UserRepository userRepository,
+                            UserPurgeRepository userPurgeRepository,
+                            FarmerCropRepository farmerCropRepository,
+                            DistributorCropRepository distributorCropRepository,
+                            RetailerCropRepository retailerCropRepository,
+                            LotRepository lotRepository,
+                            CustodyTransitionRepository custodyTransitionRepository,
+                            RevokedUserRegistry revokedUserRegistry,
+                            ApplicationEventPublisher publisher,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${farmchainx.purge.chunk-size:500}") int chunkSize,
+                            @Value("${farmchainx.purge.lease:PT2M}") Duration lease) {
+        this.userRepository = userRepository;
+        this.userPurgeRepository = userPurgeRepository;
+        this.lotRepository = lotRepository;
+        this.custodyTransitionRepository = custodyTransitionRepository;
+        this.revokedUserRegistry = revokedUserRegistry;
+        this.publisher = publisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.targets = List.of(
+            new Target<>(CropStage.FARMER, farmerCropRepository::findChunkByUserId,
+                farmerCropRepository::findDeletedIdsByUserId, farmerCropRepository::findLotIdsByIds,
+                farmerCropRepository::deleteAllByIds),
+            new Target<>(CropStage.DISTRIBUTOR, distributorCropRepository::findChunkByUserId,
+                distributorCropRepository::findDeletedIdsByUserId, distributorCropRepository::findLotIdsByIds,
+                distributorCropRepository::deleteAllByIds),
+            new Target<>(CropStage.RETAILER, retailerCropRepository::findChunkByUserId,
+                retailerCropRepository::findDeletedIdsByUserId, retailerCropRepository::findLotIdsByIds,
+                retailerCropRepository::deleteAllByIds));
+        this.chunk = Pageable.ofSize(Math.max(1, chunkSize));
+        this.lease = lease;
+        this.purged = Counter.builder("users.purge.crops.deleted")
+            .description("Crop rows deleted by user purges").register(meterRegistry);
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records the deletion of a user and starts purging them. Asking again
+     * for a user already being purged returns the existing purge.
+     *
+     * @throws RuntimeException if there is no such user
+     */
+    public UserPurge submit(Long userId, Long requestedBy) {
+        UserPurge purge = transaction.execute(status -> userPurgeRepository.findById(userId).orElseGet(() -> {
+            userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            return userPurgeRepository.save(new UserPurge(userId, requestedBy));
+        }));
+        revokedUserRegistry.revoke(userId);
+        if (purge.getStatus() != PurgeStatus.COMPLETED) {
+            enqueue(userId);
+        }
+        return purge;
+    }
+
+    public Optional<UserPurge> find(Long userId) {
+        return userPurgeRepository.findById(userId);
+    }
+
+    /** Revokes users purged by any instance and queues the unfinished purges, including on startup. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${farmchainx.purge.poll-interval:PT30S}",
+               initialDelayString = "${farmchainx.purge.poll-interval:PT30S}")
+    public void poll() {
+        // Overlap the previous poll a little, for clock skew between instances
+        LocalDateTime since = revokedSince;
+        revokedSince = LocalDateTime.now().minusMinutes(1);
+        userPurgeRepository.findUserIdsRequestedSince(since).forEach(revokedUserRegistry::revoke);
+        userPurgeRepository.findUnfinishedUserIds().forEach(this::enqueue);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void enqueue(Long userId) {
+        if (queued.add(userId)) {
+            runner.execute(() -> run(userId));
+        }
+    }
+
+    private void run(Long userId) {
+        queued.remove(userId);
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transaction.execute(status -> userPurgeRepository.claim(userId, now, now.plus(lease)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            for (Target<?> target : targets) {
+                while (deleteChunk(userId, target) > 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+            }
+            transaction.executeWithoutResult(status -> {
+                userRepository.findById(userId).ifPresent(userRepository::delete);
+                userPurgeRepository.findById(userId).ifPresent(UserPurge::complete);
+            });
+            log.info("Purged user {} in {} ms", userId, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Purge of user {} stopped; retrying on the next poll", userId, e);
+            transaction.executeWithoutResult(status ->
+                userPurgeRepository.findById(userId).ifPresent(purge -> purge.fail(e.toString())));
+        }
+    }
+
+    /** Deletes one chunk of the user's rows in the target table and returns how many there were. */
+    private <T extends SupplyChainCrop> int deleteChunk(Long userId, Target<T> target) {
+        Integer deleted = transaction.execute(status -> {
+            List<T> crops = target.live().apply(userId, chunk);
+            List<Long> ids = !crops.isEmpty()
+                ? crops.stream().map(SupplyChainCrop::getId).toList()
+                : target.tombstones().apply(userId, chunk);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Long> lotIds = target.lotIds().apply(ids);
+            int count = target.delete().apply(ids);
+            custodyTransitionRepository.deleteByStageAndCropIds(target.stage().name(), ids);
+            List<Long> unheld = lotRepository.findUnheldIds(lotIds);
+            if (!unheld.isEmpty()) {
+                custodyTransitionRepository.deleteByLotIds(unheld);
+                lotRepository.deleteAllByIds(unheld);
+            }
+            // Published inside the transaction, so listeners see the deletes only once they commit
+            crops.forEach(crop -> publisher.publishEvent(
+                new CropChangeEvent(ChangeType.DELETED, crop, crop.getLoadedCropType())));
+            userPurgeRepository.findById(userId).ifPresent(purge ->
+                purge.recordDeleted(target.stage(), count, LocalDateTime.now().plus(lease)));
+            return ids.size();
+        });
+        int rows = deleted != null ? deleted : 0;
+        purged.increment(rows);
+        return rows;
+    }
+
+    /** One crop table: the user's live rows as entities, their tombstone IDs, the rows' lots, and the bulk delete. */
+    private record Target<T extends SupplyChainCrop>(CropStage stage,
+                                                      BiFunction<Long, Pageable, List<T>> live,
+                                                      BiFunction<Long, Pageable, List<Long>> tombstones,
+                                                      Function<Collection<Long>, List<Long>> lotIds,
+                                                      Function<Collection<Long>, Integer> delete) {}
+}
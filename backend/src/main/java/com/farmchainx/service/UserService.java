@@ -3,7 +3,10 @@ package com.farmchainx.service;
 import com.farmchainx.model.User;
 import com.farmchainx.model.UserRole;
 import com.farmchainx.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,7 +15,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
-import java.util.Random;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -23,6 +28,24 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    // Unknown emails are checked against this so they take as long as a wrong password
+    private String unknownUserHash;
+
+    @PostConstruct
+    void init() {
+        unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
@@ -35,25 +58,57 @@ public class UserService implements UserDetailsService {
         );
     }
 
-    public User registerUser(String email, String password, UserRole role, String name, String location) {
+    /**
+     * Hashes the password on the bounded hashing pool, then saves the user on
+     * the application task executor so database work stays off that pool.
+     *
+     * @throws PasswordHashingBusyException if the hashing queue is full
+     */
+    public CompletableFuture<User> registerUser(String email, String password, UserRole role, String name, String location) {
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Email already exists");
         }
 
+        return passwordHashingService.encode(password)
+                .thenApplyAsync(encodedPassword -> createUser(email, encodedPassword, role, name, location), taskExecutor);
+    }
+
+    /**
+     * Completes with the user when the password matches, or empty otherwise.
+     *
+     * @throws PasswordHashingBusyException if the hashing queue is full
+     */
+    public CompletableFuture<Optional<User>> authenticate(String email, String password) {
+        Optional<User> user = userRepository.findByEmail(email);
+        String encodedPassword = user.map(User::getPassword).orElse(unknownUserHash);
+
+        return passwordHashingService.matches(password, encodedPassword)
+                .thenApply(matches -> matches ? user : Optional.<User>empty());
+    }
+
+    private User createUser(String email, String encodedPassword, UserRole role, String name, String location) {
         User user = new User();
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(encodedPassword);
         user.setRole(role);
         user.setName(name);
         user.setLocation(location);
 
         if (role == UserRole.FARMER) {
-            user.setFarmerId(generateUniqueFarmerId());
+            user.setFarmerId(publicIdAllocator.nextFarmerId());
         } else if (role == UserRole.DISTRIBUTOR) {
-            user.setDistributorId(generateUniqueDistributorId());
+            user.setDistributorId(publicIdAllocator.nextDistributorId());
         }
 
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took the email between the check and the insert
+            if (userRepository.existsByEmail(email)) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
     }
 
     public User findByEmail(String email) {
@@ -65,20 +120,4 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
-
-    private String generateUniqueFarmerId() {
-        String farmerId;
-        do {
-            farmerId = String.format("%03d", new Random().nextInt(1000));
-        } while (userRepository.findByFarmerId(farmerId).isPresent());
-        return farmerId;
-    }
-
-    private String generateUniqueDistributorId() {
-        String distributorId;
-        do {
-            distributorId = String.format("%03d", new Random().nextInt(1000));
-        } while (userRepository.findByDistributorId(distributorId).isPresent());
-        return distributorId;
-    }
 }
@@ -0,0 +1,101 @@
+package db.migration;
+
+import com.farmchainx.service.PublicIdAllocator;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the unique constraints on the public farmer and distributor IDs. The
+ * registration before {@link PublicIdAllocator} picked a random unused value
+ * without locking, so an old database can hold the same ID twice; the
+ * constraint would then fail and the application would not start. The
+ * oldest holder of each duplicate keeps it and every later one gets a fresh
+ * ID from the allocator's series, reserved from {@code public_id_blocks} the
+ * way the allocator reserves a block. The copies of the old ID on distributor
+ * and retailer rows are left alone: they still name the oldest holder.
+ */
+public class V1_1__UniquePublicIds extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V1_1__UniquePublicIds.class);
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        reassignDuplicates(connection, "farmer_id", PublicIdAllocator.FARMER);
+        reassignDuplicates(connection, "distributor_id", PublicIdAllocator.DISTRIBUTOR);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table users add constraint uk_users_farmer_id unique (farmer_id)");
+            statement.execute("alter table users add constraint uk_users_distributor_id unique (distributor_id)");
+        }
+    }
+
+    private void reassignDuplicates(Connection connection, String column, String series) throws SQLException {
+        // Grouped by the database, so values count as equal exactly when the constraint would say so
+        List<String> duplicated = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select " + column + " from users where " + column +
+                 " is not null group by " + column + " having count(*) > 1")) {
+            while (rows.next()) {
+                duplicated.add(rows.getString(1));
+            }
+        }
+
+        for (String value : duplicated) {
+            List<Long> later = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(
+                    "select id from users where " + column + " = ? order by id")) {
+                select.setString(1, value);
+                try (ResultSet rows = select.executeQuery()) {
+                    rows.next();
+                    while (rows.next()) {
+                        later.add(rows.getLong(1));
+                    }
+                }
+            }
+            long next = reserve(connection, series, later.size());
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update users set " + column + " = ? where id = ?")) {
+                for (Long userId : later) {
+                    String fresh = PublicIdAllocator.format(series, next++);
+                    update.setString(1, fresh);
+                    update.setLong(2, userId);
+                    update.executeUpdate();
+                    log.warn("User {} shared {} {} with an older account and now has {}", userId, column, value, fresh);
+                }
+            }
+        }
+    }
+
+    /** Takes {@code count} sequence numbers from the series' block row and returns the first. */
+    private static long reserve(Connection connection, String series, int count) throws SQLException {
+        Long stored = null;
+        try (PreparedStatement select = connection.prepareStatement(
+                "select next_value from public_id_blocks where name = ?")) {
+            select.setString(1, series);
+            try (ResultSet rows = select.executeQuery()) {
+                if (rows.next()) {
+                    stored = rows.getLong(1);
+                }
+            }
+        }
+        long start = stored != null ? stored : 1;
+        try (PreparedStatement upsert = connection.prepareStatement(stored == null
+                ? "insert into public_id_blocks (next_value, name) values (?, ?)"
+                : "update public_id_blocks set next_value = ? where name = ?")) {
+            upsert.setLong(1, start + count);
+            upsert.setString(2, series);
+            upsert.executeUpdate();
+        }
+        return start;
+    }
+}
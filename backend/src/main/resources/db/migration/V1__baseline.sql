@@ -0,0 +1,158 @@
+-- Brings a database to the schema the later migrations start from. Databases created by the old
+-- ddl-auto: update already have the four tables below, so they are only created when missing, in
+-- the form Hibernate generated them (same columns, AUTO_INCREMENT ids and constraint names) apart
+-- from users.role, which is declared as it ends up. Everything after the create statements runs on
+-- old and new databases alike. The unique public IDs follow in V1_1, which first has to reassign
+-- any duplicates the old registration left behind.
+-- Written for MySQL 8; it also runs on H2 in MySQL mode for the loadtest profile.
+
+create table if not exists users (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    distributor_id varchar(255),
+    email varchar(255) not null,
+    farmer_id varchar(255),
+    location varchar(255),
+    name varchar(255),
+    password varchar(255) not null,
+    role varchar(255) not null,
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
+
+create table if not exists farmer_crops (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    crop_type varchar(255) not null,
+    expiry_date date not null,
+    farmer_location varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint FKa3x4l9f4mbm0fay5va4kh6hc6 foreign key (user_id) references users (id)
+);
+
+create table if not exists distributor_crops (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    crop_type varchar(255) not null,
+    distributor_location varchar(255),
+    expiry_date date not null,
+    farmer_id varchar(255),
+    farmer_location varchar(255),
+    farmer_name varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    received_date date,
+    retailer_location varchar(255),
+    sent_to_retailer varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint FKf7ijyvmg1vpog4gevq50dk6yn foreign key (user_id) references users (id)
+);
+
+create table if not exists retailer_crops (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    crop_type varchar(255) not null,
+    distributor_id varchar(255),
+    distributor_location varchar(255),
+    distributor_name varchar(255),
+    expiry_date date not null,
+    farmer_id varchar(255),
+    farmer_location varchar(255),
+    farmer_name varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    received_date date,
+    retailer_location varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint FK984rn42tvav15en8aelc0is7c foreign key (user_id) references users (id)
+);
+
+-- Row IDs now come from these pooled generators; the AUTO_INCREMENT above is left unused.
+-- Each starts past the table's highest existing ID.
+create table id_generators (
+    name varchar(255) not null,
+    next_val bigint,
+    primary key (name)
+);
+
+insert into id_generators (name, next_val) select 'users', coalesce(max(id), 0) from users;
+insert into id_generators (name, next_val) select 'farmer_crops', coalesce(max(id), 0) from farmer_crops;
+insert into id_generators (name, next_val) select 'distributor_crops', coalesce(max(id), 0) from distributor_crops;
+insert into id_generators (name, next_val) select 'retailer_crops', coalesce(max(id), 0) from retailer_crops;
+
+create table public_id_blocks (
+    name varchar(32) not null,
+    next_value bigint not null,
+    primary key (name)
+);
+
+-- The old schema had role as a MySQL enum, which needs a table rebuild for every new role and which
+-- H2 reports with a different type than MySQL; a plain varchar maps the same way on both
+alter table users modify role varchar(255) not null;
+
+alter table farmer_crops add column updated_at datetime(6);
+alter table farmer_crops add column deleted_at datetime(6);
+alter table farmer_crops add column expired_at datetime(6);
+
+alter table distributor_crops add column updated_at datetime(6);
+alter table distributor_crops add column deleted_at datetime(6);
+alter table distributor_crops add column expired_at datetime(6);
+
+alter table retailer_crops add column updated_at datetime(6);
+alter table retailer_crops add column deleted_at datetime(6);
+alter table retailer_crops add column expired_at datetime(6);
+
+-- Rows written before updated_at existed; delta sync only sees rows that have one
+update farmer_crops set updated_at = coalesce(created_at, current_timestamp) where updated_at is null;
+update distributor_crops set updated_at = coalesce(created_at, current_timestamp) where updated_at is null;
+update retailer_crops set updated_at = coalesce(created_at, current_timestamp) where updated_at is null;
+
+-- The list queries read newest first. Descending indexes let MySQL read them forward, and are the
+-- only kind H2 uses to avoid the sort.
+
+-- Admin user list, optionally per role
+create index idx_users_newest on users (created_at desc, id desc);
+create index idx_users_role_newest on users (role, created_at desc, id desc);
+
+-- Per crop table, one index per access path:
+--   user_newest   own list (findPageByUserId), deleteByUser, purgeDeletedByUserId, by-farmer lists after the users lookup
+--   user_updated  delta sync (findChangesByUserId, findDeletedByUserId)
+--   user_expiry   expiry window (findExpiringByUserId)
+--   unexpired     expiry scheduler (findUnexpiredDueBetween)
+--   newest        all-rows list (findPage)
+--   type_newest   all-rows list filtered by crop type (findPage with cropType)
+-- MySQL drops the index it made for each user_id foreign key once a (user_id, ...) index can serve it.
+create index idx_farmer_crops_user_newest on farmer_crops (user_id, created_at desc, id desc);
+create index idx_farmer_crops_user_updated on farmer_crops (user_id, updated_at, id);
+create index idx_farmer_crops_user_expiry on farmer_crops (user_id, expiry_date, id);
+create index idx_farmer_crops_unexpired on farmer_crops (expired_at, expiry_date, id);
+create index idx_farmer_crops_newest on farmer_crops (created_at desc, id desc);
+create index idx_farmer_crops_type_newest on farmer_crops (crop_type, created_at desc, id desc);
+
+create index idx_distributor_crops_user_newest on distributor_crops (user_id, created_at desc, id desc);
+create index idx_distributor_crops_user_updated on distributor_crops (user_id, updated_at, id);
+create index idx_distributor_crops_user_expiry on distributor_crops (user_id, expiry_date, id);
+create index idx_distributor_crops_unexpired on distributor_crops (expired_at, expiry_date, id);
+create index idx_distributor_crops_newest on distributor_crops (created_at desc, id desc);
+create index idx_distributor_crops_type_newest on distributor_crops (crop_type, created_at desc, id desc);
+
+create index idx_retailer_crops_user_newest on retailer_crops (user_id, created_at desc, id desc);
+create index idx_retailer_crops_user_updated on retailer_crops (user_id, updated_at, id);
+create index idx_retailer_crops_user_expiry on retailer_crops (user_id, expiry_date, id);
+create index idx_retailer_crops_unexpired on retailer_crops (expired_at, expiry_date, id);
+create index idx_retailer_crops_newest on retailer_crops (created_at desc, id desc);
+create index idx_retailer_crops_type_newest on retailer_crops (crop_type, created_at desc, id desc);
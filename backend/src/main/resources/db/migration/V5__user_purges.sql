@@ -0,0 +1,20 @@
+-- One row per admin user deletion. The purge job deletes the user's crops in chunks and the
+-- user row last; the row stays behind as the record of the deletion. No foreign key to users,
+-- as it outlives the user.
+create table user_purges (
+    user_id bigint not null,
+    status varchar(255) not null,
+    requested_by bigint,
+    requested_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    finished_at datetime(6),
+    farmer_crops_deleted bigint not null,
+    distributor_crops_deleted bigint not null,
+    retailer_crops_deleted bigint not null,
+    lease_until datetime(6),
+    last_error varchar(1000),
+    primary key (user_id)
+);
+
+-- Unfinished purges, polled by every instance
+create index idx_user_purges_status on user_purges (status);
@@ -0,0 +1,154 @@
+-- What a crop is moves from each crop table into lots, shared by the stages holding the same lot,
+-- and each handoff is recorded in the append-only custody_transitions table. crop_type and
+-- expiry_date stay on the crop tables as copies of the lot's, for the indexed list, expiry and
+-- stats queries; the retailer's distributor columns stay too, as its record of the receipt.
+
+create table lots (
+    id bigint not null,
+    name varchar(255) not null,
+    crop_type varchar(255) not null,
+    harvest_date date not null,
+    expiry_date date not null,
+    soil_type varchar(255) not null,
+    pesticides_used varchar(255),
+    image_url varchar(5000),
+    farmer_id varchar(255),
+    farmer_name varchar(255),
+    farmer_location varchar(255),
+    created_by bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+);
+
+create table custody_transitions (
+    id bigint not null,
+    lot_id bigint not null,
+    stage varchar(255) not null,
+    crop_id bigint not null,
+    holder_id bigint,
+    from_stage varchar(255),
+    from_crop_id bigint,
+    from_holder_id bigint,
+    occurred_at datetime(6) not null,
+    primary key (id)
+);
+
+-- Existing rows each get a lot of their own, since their copies may have drifted apart. Lot and
+-- transition IDs are the row IDs, offset per table so the three ranges do not overlap.
+insert into lots (id, name, crop_type, harvest_date, expiry_date, soil_type, pesticides_used, image_url,
+                  farmer_id, farmer_name, farmer_location, created_by, created_at, updated_at)
+select f.id, f.name, f.crop_type, f.harvest_date, f.expiry_date, f.soil_type, f.pesticides_used, f.image_url,
+       u.farmer_id, u.name, f.farmer_location, f.user_id, f.created_at, f.updated_at
+from farmer_crops f join users u on u.id = f.user_id;
+
+insert into lots (id, name, crop_type, harvest_date, expiry_date, soil_type, pesticides_used, image_url,
+                  farmer_id, farmer_name, farmer_location, created_by, created_at, updated_at)
+select d.id + (select coalesce(max(id), 0) from farmer_crops),
+       d.name, d.crop_type, d.harvest_date, d.expiry_date, d.soil_type, d.pesticides_used, d.image_url,
+       d.farmer_id, d.farmer_name, d.farmer_location, d.user_id, d.created_at, d.updated_at
+from distributor_crops d;
+
+insert into lots (id, name, crop_type, harvest_date, expiry_date, soil_type, pesticides_used, image_url,
+                  farmer_id, farmer_name, farmer_location, created_by, created_at, updated_at)
+select r.id + (select coalesce(max(id), 0) from farmer_crops) + (select coalesce(max(id), 0) from distributor_crops),
+       r.name, r.crop_type, r.harvest_date, r.expiry_date, r.soil_type, r.pesticides_used, r.image_url,
+       r.farmer_id, r.farmer_name, r.farmer_location, r.user_id, r.created_at, r.updated_at
+from retailer_crops r;
+
+alter table farmer_crops add column lot_id bigint;
+alter table distributor_crops add column lot_id bigint;
+alter table retailer_crops add column lot_id bigint;
+
+update farmer_crops set lot_id = id;
+update distributor_crops set lot_id = id + (select coalesce(max(id), 0) from farmer_crops);
+update retailer_crops set lot_id = id + (select coalesce(max(id), 0) from farmer_crops)
+    + (select coalesce(max(id), 0) from distributor_crops);
+
+-- Handoffs were never recorded, so existing rows are linked the way the old lineage index guessed:
+-- the upstream party's live row with the same crop name, the latest one recorded no later than the
+-- downstream row, else the earliest.
+insert into custody_transitions (id, lot_id, stage, crop_id, holder_id, occurred_at)
+select f.id, f.lot_id, 'FARMER', f.id, f.user_id, coalesce(f.created_at, f.updated_at, current_timestamp)
+from farmer_crops f;
+
+insert into custody_transitions (id, lot_id, stage, crop_id, holder_id, from_stage, from_crop_id, occurred_at)
+select d.lot_id, d.lot_id, 'DISTRIBUTOR', d.id, d.user_id, 'FARMER',
+       coalesce(
+           (select f.id from farmer_crops f join users u on u.id = f.user_id
+            where u.farmer_id = upper(trim(d.farmer_id)) and lower(trim(f.name)) = lower(trim(d.name))
+              and f.deleted_at is null and f.created_at <= d.created_at
+            order by f.created_at desc, f.id desc limit 1),
+           (select f.id from farmer_crops f join users u on u.id = f.user_id
+            where u.farmer_id = upper(trim(d.farmer_id)) and lower(trim(f.name)) = lower(trim(d.name))
+              and f.deleted_at is null
+            order by f.created_at, f.id limit 1)),
+       coalesce(d.created_at, d.updated_at, current_timestamp)
+from distributor_crops d;
+
+insert into custody_transitions (id, lot_id, stage, crop_id, holder_id, from_stage, from_crop_id, occurred_at)
+select r.lot_id, r.lot_id, 'RETAILER', r.id, r.user_id, 'DISTRIBUTOR',
+       coalesce(
+           (select d.id from distributor_crops d join users u on u.id = d.user_id
+            where u.distributor_id = upper(trim(r.distributor_id)) and upper(trim(d.farmer_id)) = upper(trim(r.farmer_id))
+              and lower(trim(d.name)) = lower(trim(r.name)) and d.deleted_at is null and d.created_at <= r.created_at
+            order by d.created_at desc, d.id desc limit 1),
+           (select d.id from distributor_crops d join users u on u.id = d.user_id
+            where u.distributor_id = upper(trim(r.distributor_id)) and upper(trim(d.farmer_id)) = upper(trim(r.farmer_id))
+              and lower(trim(d.name)) = lower(trim(r.name)) and d.deleted_at is null
+            order by d.created_at, d.id limit 1)),
+       coalesce(r.created_at, r.updated_at, current_timestamp)
+from retailer_crops r;
+
+update custody_transitions set from_stage = null where from_crop_id is null;
+update custody_transitions set from_holder_id =
+    (select f.user_id from farmer_crops f where f.id = custody_transitions.from_crop_id)
+where from_stage = 'FARMER';
+update custody_transitions set from_holder_id =
+    (select d.user_id from distributor_crops d where d.id = custody_transitions.from_crop_id)
+where from_stage = 'DISTRIBUTOR';
+
+insert into id_generators (name, next_val) select 'lots', coalesce(max(id), 0) from lots;
+insert into id_generators (name, next_val) select 'custody_transitions', coalesce(max(id), 0) from custody_transitions;
+
+alter table farmer_crops modify lot_id bigint not null;
+alter table distributor_crops modify lot_id bigint not null;
+alter table retailer_crops modify lot_id bigint not null;
+
+alter table farmer_crops drop column name;
+alter table farmer_crops drop column harvest_date;
+alter table farmer_crops drop column soil_type;
+alter table farmer_crops drop column pesticides_used;
+alter table farmer_crops drop column image_url;
+alter table farmer_crops drop column farmer_location;
+
+alter table distributor_crops drop column name;
+alter table distributor_crops drop column harvest_date;
+alter table distributor_crops drop column soil_type;
+alter table distributor_crops drop column pesticides_used;
+alter table distributor_crops drop column image_url;
+alter table distributor_crops drop column farmer_id;
+alter table distributor_crops drop column farmer_name;
+alter table distributor_crops drop column farmer_location;
+
+alter table retailer_crops drop column name;
+alter table retailer_crops drop column harvest_date;
+alter table retailer_crops drop column soil_type;
+alter table retailer_crops drop column pesticides_used;
+alter table retailer_crops drop column image_url;
+alter table retailer_crops drop column farmer_id;
+alter table retailer_crops drop column farmer_name;
+alter table retailer_crops drop column farmer_location;
+
+-- Holders of a lot (in-place lot edits, the purge job's held-lot check), a lot's history
+-- (provenance), and one row's own transitions
+create index idx_farmer_crops_lot on farmer_crops (lot_id);
+create index idx_distributor_crops_lot on distributor_crops (lot_id);
+create index idx_retailer_crops_lot on retailer_crops (lot_id);
+create index idx_custody_transitions_lot on custody_transitions (lot_id, id);
+create index idx_custody_transitions_crop on custody_transitions (stage, crop_id, id);
+
+alter table farmer_crops add constraint fk_farmer_crops_lot foreign key (lot_id) references lots (id);
+alter table distributor_crops add constraint fk_distributor_crops_lot foreign key (lot_id) references lots (id);
+alter table retailer_crops add constraint fk_retailer_crops_lot foreign key (lot_id) references lots (id);
+alter table custody_transitions add constraint fk_custody_transitions_lot foreign key (lot_id) references lots (id);
@@ -0,0 +1,6 @@
+-- The search index catches up on rows other instances wrote by reading every table's changes in
+-- (updated_at, id) order, across all users. The (user_id, updated_at, id) indexes cannot serve that.
+
+create index idx_farmer_crops_updated on farmer_crops (updated_at, id);
+create index idx_distributor_crops_updated on distributor_crops (updated_at, id);
+create index idx_retailer_crops_updated on retailer_crops (updated_at, id);
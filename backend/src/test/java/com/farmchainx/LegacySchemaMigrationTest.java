@@ -0,0 +1,102 @@
+package com.farmchainx;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database left by the release before the
+ * Flyway migrations, which Flyway adopts at version 0 and upgrades from V1,
+ * including two farmers the old registration gave the same ID.
+ * The context only starts if Hibernate's schema validation passes afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LegacySchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy-" + UUID.randomUUID()
+        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy-schema.sql"));
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void baselinesAtZeroAndRunsEveryMigration() {
+        assertThat(jdbcTemplate.queryForList(
+            "select version from flyway_schema_history where success and version is not null order by installed_rank", String.class))
+            .containsExactly("0", "1", "1.1", "5", "6", "7");
+    }
+
+    @Test
+    void addsTheColumnsConstraintsAndIndexesTheLegacySchemaLacked() {
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from farmer_crops where updated_at is null", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForList(
+            "select index_name from information_schema.indexes where table_name = 'farmer_crops'", String.class))
+            .contains("idx_farmer_crops_user_newest", "idx_farmer_crops_user_updated",
+                "idx_farmer_crops_user_expiry", "idx_farmer_crops_unexpired");
+        assertThat(jdbcTemplate.queryForList(
+            "select constraint_name from information_schema.table_constraints where table_name = 'users'", String.class))
+            .contains("uk_users_farmer_id", "uk_users_distributor_id");
+    }
+
+    @Test
+    void givesLaterHoldersOfADuplicatedIdAFreshOne() {
+        assertThat(userRepository.findByFarmerId("970")).map(User::getEmail).contains("farmer@legacy.local");
+        String reassigned = userRepository.findById(4L).orElseThrow().getFarmerId();
+        assertThat(reassigned).matches("F\\d{7}");
+        assertThat(PublicIdAllocator.isWellFormed(reassigned)).isTrue();
+
+        User user = userService.registerUser("next-farmer@legacy.local", "secret", UserRole.FARMER, "Next", "Nashik").join();
+        assertThat(user.getFarmerId()).isNotEqualTo(reassigned);
+    }
+
+    @Test
+    void keepsLegacyRowsAndLinksTheirLots() {
+        assertThat(userRepository.findByFarmerId("970")).map(User::getEmail).contains("farmer@legacy.local");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from lots", Integer.class)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject(
+            "select from_crop_id from custody_transitions where stage = 'DISTRIBUTOR' and crop_id = 1", Long.class))
+            .isEqualTo(1L);
+    }
+
+    @Test
+    void numbersNewRowsPastTheLegacyIds() {
+        User user = userService.registerUser("new-farmer@legacy.local", "secret", UserRole.FARMER, "New", "Nashik").join();
+
+        assertThat(user.getId()).isGreaterThan(4L);
+        assertThat(user.getFarmerId()).matches("F\\d{7}");
+    }
+}
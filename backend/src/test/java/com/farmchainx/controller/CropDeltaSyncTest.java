@@ -0,0 +1,147 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropDeltaSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String farmer;
+
+    @BeforeEach
+    void setUp() {
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+    }
+
+    @Test
+    void reportsDeletesAsTombstonesAfterTheFirstSync() throws Exception {
+        int tomato = create("Tomato");
+        int onion = create("Onion");
+
+        String since = sync(null)
+            .andExpect(jsonPath("$.items[*].id", contains(tomato, onion)))
+            .andExpect(jsonPath("$.deleted", empty()))
+            .andExpect(jsonPath("$.hasMore").value(false))
+            .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(since, "$.nextCursor");
+
+        // Nothing changed: same cursor back
+        sync(cursor)
+            .andExpect(jsonPath("$.items", empty()))
+            .andExpect(jsonPath("$.deleted", empty()))
+            .andExpect(jsonPath("$.nextCursor").value(cursor));
+
+        mockMvc.perform(delete("/farmer/crops/" + tomato).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+        int garlic = create("Garlic");
+
+        String next = sync(cursor)
+            .andExpect(jsonPath("$.items[*].id", contains(garlic)))
+            .andExpect(jsonPath("$.deleted[*].id", contains(tomato)))
+            .andExpect(jsonPath("$.deleted[0].deletedAt").isNotEmpty())
+            .andReturn().getResponse().getContentAsString();
+
+        sync(JsonPath.read(next, "$.nextCursor"))
+            .andExpect(jsonPath("$.items", empty()))
+            .andExpect(jsonPath("$.deleted", empty()));
+    }
+
+    @Test
+    void freshSyncLeavesDeletedRowsOut() throws Exception {
+        int tomato = create("Tomato");
+        int onion = create("Onion");
+        mockMvc.perform(delete("/farmer/crops/" + tomato).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+
+        sync(null)
+            .andExpect(jsonPath("$.items[*].id", contains(onion)))
+            .andExpect(jsonPath("$.deleted", empty()));
+    }
+
+    @Test
+    void pagesWithHasMore() throws Exception {
+        int first = create("Tomato");
+        int second = create("Onion");
+
+        String page = sync(null, 1)
+            .andExpect(jsonPath("$.items[*].id", contains(first)))
+            .andExpect(jsonPath("$.hasMore").value(true))
+            .andReturn().getResponse().getContentAsString();
+
+        sync(JsonPath.read(page, "$.nextCursor"), 1)
+            .andExpect(jsonPath("$.items[*].id", contains(second)))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/farmer/crops/changes").param("since", "garbage!")
+                .header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isBadRequest());
+    }
+
+    private int create(String name) throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+                     "expiryDate": "2099-01-01", "soilType": "Loam"}
+                    """.formatted(name)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private ResultActions sync(String since) throws Exception {
+        return sync(since, null);
+    }
+
+    private ResultActions sync(String since, Integer limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/farmer/crops/changes").header(HttpHeaders.AUTHORIZATION, farmer);
+        if (since != null) {
+            request.param("since", since);
+        }
+        if (limit != null) {
+            request.param("limit", limit.toString());
+        }
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,119 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropListConditionalGetTest {
+
+    private static final String CROP = """
+        {"name": "Tomato", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+         "expiryDate": "2099-01-01", "soilType": "Loam"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private TestAccounts accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+    }
+
+    @Test
+    void answers304WhileTheCollectionIsUnchanged() throws Exception {
+        String farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        String etag = etagOf(farmer);
+
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(content().string(""));
+
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void ownChangeInvalidatesTheTag() throws Exception {
+        String farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        String before = etagOf(farmer);
+
+        mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON).content(CROP))
+            .andExpect(status().isOk());
+
+        String after = mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void otherUsersChangesLeaveTheTagAlone() throws Exception {
+        String farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        String other = accounts.bearer(accounts.create(UserRole.FARMER));
+        String etag = etagOf(farmer);
+
+        mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, other)
+                .contentType(MediaType.APPLICATION_JSON).content(CROP))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void tagsAreNotSharedBetweenUsers() throws Exception {
+        User first = accounts.create(UserRole.FARMER);
+        User second = accounts.create(UserRole.FARMER);
+
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, accounts.bearer(second))
+                .header(HttpHeaders.IF_NONE_MATCH, etagOf(accounts.bearer(first))))
+            .andExpect(status().isOk());
+    }
+
+    private String etagOf(String bearer) throws Exception {
+        return mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
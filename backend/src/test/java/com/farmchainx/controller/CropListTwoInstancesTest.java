@@ -0,0 +1,145 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.FarmChainXApplication;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two application instances on one database: list ETags handed out by one
+ * must go stale as soon as a write commits through the other.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropListTwoInstancesTest {
+
+    private static final String URL = "jdbc:h2:mem:shared-" + UUID.randomUUID()
+        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext otherInstance;
+
+    @DynamicPropertySource
+    static void sharedDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @BeforeAll
+    static void startOtherInstance() {
+        otherInstance = new SpringApplicationBuilder(FarmChainXApplication.class)
+            .profiles("test")
+            .run("--spring.datasource.url=" + URL, "--server.port=0");
+    }
+
+    @AfterAll
+    static void stopOtherInstance() {
+        otherInstance.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc other;
+    private String farmer;
+
+    @BeforeEach
+    void setUp() {
+        other = MockMvcBuilders.webAppContextSetup((WebApplicationContext) otherInstance)
+            .apply(springSecurity()).build();
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+    }
+
+    @Test
+    void bothInstancesTagTheSameCollectionAlike() throws Exception {
+        create();
+
+        assertThat(etagOf(other)).isEqualTo(etagOf(mockMvc));
+    }
+
+    @Test
+    void writeThroughOneInstanceInvalidatesTheOthersTag() throws Exception {
+        String before = etagOf(other);
+
+        int crop = create();
+        String created = revalidate(other, before);
+
+        mockMvc.perform(delete("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+        String deleted = revalidate(other, created);
+
+        assertThat(deleted).isNotEqualTo(before);
+        other.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, deleted))
+            .andExpect(status().isNotModified());
+    }
+
+    private int create() throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "Tomato", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+                     "expiryDate": "2099-01-01", "soilType": "Loam"}
+                    """))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    /** Sends {@code etag} as {@code If-None-Match}, expects a full response and returns its new tag. */
+    private String revalidate(MockMvc instance, String etag) throws Exception {
+        String next = instance.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(next).isNotEqualTo(etag);
+        return next;
+    }
+
+    private String etagOf(MockMvc instance) throws Exception {
+        return instance.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
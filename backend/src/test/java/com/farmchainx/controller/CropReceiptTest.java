@@ -0,0 +1,102 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "farmchainx.crops.max-batch-size=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropReceiptTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String farmer;
+    private String distributor;
+
+    @BeforeEach
+    void setUp() {
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        distributor = accounts.bearer(accounts.create(UserRole.DISTRIBUTOR));
+    }
+
+    @Test
+    void reportsEachRequestedIdInOrderAndReceivesOnlyTheLiveOnes() throws Exception {
+        int tomato = create("Tomato");
+        int onion = create("Onion");
+        mockMvc.perform(delete("/farmer/crops/" + onion).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+
+        String report = receive("[%d, 999999999, %d, %d]".formatted(tomato, tomato, onion))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(1))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.items[*].sourceCropId", contains(tomato, 999999999, tomato, onion)))
+            .andExpect(jsonPath("$.items[*].status", contains("RECEIVED", "NOT_FOUND", "DUPLICATE", "NOT_FOUND")))
+            .andExpect(jsonPath("$.items[1].cropId").value(nullValue()))
+            .andExpect(jsonPath("$.items[2].cropId").value(nullValue()))
+            .andReturn().getResponse().getContentAsString();
+        int received = JsonPath.read(report, "$.items[0].cropId");
+
+        mockMvc.perform(get("/distributor/crops").header(HttpHeaders.AUTHORIZATION, distributor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[*].id", contains(received)))
+            .andExpect(jsonPath("$.items[0].name").value("Tomato"));
+    }
+
+    @Test
+    void rejectsAnEmptyOrOversizedReceipt() throws Exception {
+        receive("[]").andExpect(status().isBadRequest());
+        receive("[1, 2, 3, 4, 5, 6]").andExpect(status().isBadRequest());
+    }
+
+    private int create(String name) throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+                     "expiryDate": "2099-01-01", "soilType": "Loam"}
+                    """.formatted(name)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private ResultActions receive(String sourceCropIds) throws Exception {
+        return mockMvc.perform(post("/distributor/receipts").header(HttpHeaders.AUTHORIZATION, distributor)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"sourceCropIds\": " + sourceCropIds + "}"));
+    }
+}
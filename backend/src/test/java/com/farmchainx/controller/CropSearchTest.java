@@ -0,0 +1,216 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.DistributorCropRepository;
+import com.farmchainx.repository.FarmerCropRepository;
+import com.farmchainx.repository.RetailerCropRepository;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.CropSearchService;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CropSearchController cropSearchController;
+
+    @Autowired
+    private CropSearchService cropSearchService;
+
+    @Autowired
+    private FarmerCropRepository farmerCropRepository;
+
+    @Autowired
+    private DistributorCropRepository distributorCropRepository;
+
+    @Autowired
+    private RetailerCropRepository retailerCropRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private TestAccounts accounts;
+    private String farmer;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+    }
+
+    @Test
+    void matchesEveryWordByPrefix() throws Exception {
+        create(farmer, "Roma Tomato", "Vegetable", "Loam");
+        create(farmer, "Cherry Tomato", "Vegetable", "Clay");
+        create(farmer, "Basmati Rice", "Grain", "Clay");
+
+        assertThat(names(search(farmer, "tom"))).containsExactlyInAnyOrder("Roma Tomato", "Cherry Tomato");
+        assertThat(names(search(farmer, "TOMATO"))).hasSize(2);
+        assertThat(names(search(farmer, "tom cher"))).containsExactly("Cherry Tomato");
+        // Other fields are indexed too
+        assertThat(names(search(farmer, "clay gra"))).containsExactly("Basmati Rice");
+        assertThat(names(search(farmer, "rice tomato"))).isEmpty();
+        // Prefixes only, not infixes
+        assertThat(names(search(farmer, "mato"))).isEmpty();
+    }
+
+    @Test
+    void countsFacetsBeforeTheFilters() throws Exception {
+        create(farmer, "Roma Tomato", "Vegetable", "Loam");
+        create(farmer, "Cherry Tomato", "Vegetable", "Clay");
+        create(farmer, "Basmati Rice", "Grain", "Clay");
+
+        mockMvc.perform(get("/crops/search").param("cropType", "grain").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.items[*].name").value(containsInAnyOrder("Basmati Rice")))
+            .andExpect(jsonPath("$.facets.stage.FARMER").value(3))
+            .andExpect(jsonPath("$.facets.cropType.Vegetable").value(2))
+            .andExpect(jsonPath("$.facets.cropType.Grain").value(1))
+            .andExpect(jsonPath("$.facets.soilType.Clay").value(2))
+            .andExpect(jsonPath("$.facets.soilType.Loam").value(1));
+        mockMvc.perform(get("/crops/search").param("stage", "DISTRIBUTOR").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(jsonPath("$.total").value(0))
+            .andExpect(jsonPath("$.items").value(empty()))
+            .andExpect(jsonPath("$.facets.stage.FARMER").value(3));
+    }
+
+    @Test
+    void pagesNewestFirst() throws Exception {
+        create(farmer, "Oat First", "Grain", "Loam");
+        create(farmer, "Oat Second", "Grain", "Loam");
+        create(farmer, "Oat Third", "Grain", "Loam");
+
+        String first = mockMvc.perform(get("/crops/search").param("q", "oat").param("limit", "2")
+                .header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(jsonPath("$.total").value(3))
+            .andReturn().getResponse().getContentAsString();
+        assertThat(names(first)).containsExactly("Oat Third", "Oat Second");
+
+        String cursor = JsonPath.read(first, "$.nextCursor");
+        mockMvc.perform(get("/crops/search").param("q", "oat").param("limit", "2").param("cursor", cursor)
+                .header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(jsonPath("$.items[*].name").value(containsInAnyOrder("Oat First")))
+            .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        mockMvc.perform(get("/crops/search").param("cursor", "garbage").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchesOnlyTheCallersRowsUnlessAdmin() throws Exception {
+        String word = "w" + UUID.randomUUID().toString().replace("-", "");
+        String otherFarmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        create(farmer, "Mine " + word, "Vegetable", "Loam");
+        create(otherFarmer, "Theirs " + word, "Vegetable", "Loam");
+
+        assertThat(names(search(farmer, word))).containsExactly("Mine " + word);
+        User admin = accounts.create(UserRole.ADMIN);
+        assertThat(names(search(accounts.bearer(admin), word))).hasSize(2);
+    }
+
+    @Test
+    void followsCommittedEditsAndDeletes() throws Exception {
+        int crop = create(farmer, "Golden Maize", "Grain", "Loam");
+
+        mockMvc.perform(put("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop("Golden Sorghum", "Grain", "Loam")))
+            .andExpect(status().isOk());
+        assertThat(names(search(farmer, "maize"))).isEmpty();
+        assertThat(names(search(farmer, "sorghum"))).containsExactly("Golden Sorghum");
+
+        mockMvc.perform(delete("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+        assertThat(names(search(farmer, "golden"))).isEmpty();
+    }
+
+    @Test
+    void answers503UntilTheIndexIsBuilt() throws Exception {
+        create(farmer, "Early Barley", "Grain", "Loam");
+        CropSearchService building = new CropSearchService(farmerCropRepository, distributorCropRepository,
+            retailerCropRepository, transactionManager, Duration.ZERO);
+        ReflectionTestUtils.setField(cropSearchController, "cropSearchService", building);
+        try {
+            mockMvc.perform(get("/crops/search").param("q", "barley").header(HttpHeaders.AUTHORIZATION, farmer))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+
+            building.initialize();
+
+            assertThat(names(search(farmer, "barley"))).containsExactly("Early Barley");
+        } finally {
+            ReflectionTestUtils.setField(cropSearchController, "cropSearchService", cropSearchService);
+        }
+    }
+
+    private int create(String bearer, String name, String cropType, String soilType) throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop(name, cropType, soilType)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private static String crop(String name, String cropType, String soilType) {
+        return """
+            {"name": "%s", "cropType": "%s", "harvestDate": "2025-03-01",
+             "expiryDate": "2099-01-01", "soilType": "%s"}
+            """.formatted(name, cropType, soilType);
+    }
+
+    private String search(String bearer, String query) throws Exception {
+        return mockMvc.perform(get("/crops/search").param("q", query).header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<String> names(String response) {
+        return JsonPath.read(response, "$.items[*].name");
+    }
+}
@@ -0,0 +1,163 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.FarmChainXApplication;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.CropSearchService;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two application instances on one database: crops written through one show
+ * up in the other's search index once it catches up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropSearchTwoInstancesTest {
+
+    private static final String URL = "jdbc:h2:mem:shared-" + UUID.randomUUID()
+        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext otherInstance;
+
+    @DynamicPropertySource
+    static void sharedDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @BeforeAll
+    static void startOtherInstance() {
+        otherInstance = new SpringApplicationBuilder(FarmChainXApplication.class)
+            .profiles("test")
+            .run("--spring.datasource.url=" + URL, "--server.port=0");
+    }
+
+    @AfterAll
+    static void stopOtherInstance() {
+        otherInstance.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CropSearchService cropSearchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc other;
+    private String farmer;
+
+    @BeforeEach
+    void setUp() {
+        other = MockMvcBuilders.webAppContextSetup((WebApplicationContext) otherInstance)
+            .apply(springSecurity()).build();
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+    }
+
+    @Test
+    void catchesUpOnCropsWrittenThroughTheOtherInstance() throws Exception {
+        int crop = createThroughOther("Purple Carrot");
+        assertThat(names("carrot")).isEmpty();
+
+        cropSearchService.catchUp();
+        assertThat(names("carrot")).containsExactly("Purple Carrot");
+
+        other.perform(put("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop("Purple Beet")))
+            .andExpect(status().isOk());
+        cropSearchService.catchUp();
+        assertThat(names("carrot")).isEmpty();
+        assertThat(names("beet")).containsExactly("Purple Beet");
+
+        other.perform(delete("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk());
+        cropSearchService.catchUp();
+        assertThat(names("purple")).isEmpty();
+    }
+
+    @Test
+    void readsEveryPageOfABacklog() throws Exception {
+        String word = "w" + UUID.randomUUID().toString().replace("-", "");
+        // More rows than one catch-up page, written in one transaction per batch
+        String batch = "[" + String.join(",", Collections.nCopies(300, crop("Bulk " + word))) + "]";
+        for (int i = 0; i < 2; i++) {
+            other.perform(post("/farmer/crops/batch").header(HttpHeaders.AUTHORIZATION, farmer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(batch))
+                .andExpect(status().isOk());
+        }
+
+        cropSearchService.catchUp();
+
+        String response = mockMvc.perform(get("/crops/search").param("q", word).param("limit", "1")
+                .header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertThat((Integer) JsonPath.read(response, "$.total")).isEqualTo(600);
+    }
+
+    private int createThroughOther(String name) throws Exception {
+        String body = other.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop(name)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private static String crop(String name) {
+        return """
+            {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+             "expiryDate": "2099-01-01", "soilType": "Loam"}
+            """.formatted(name);
+    }
+
+    private List<String> names(String query) throws Exception {
+        String response = mockMvc.perform(get("/crops/search").param("q", query).header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.items[*].name");
+    }
+}
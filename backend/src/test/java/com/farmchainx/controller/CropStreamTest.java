@@ -0,0 +1,160 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.CropStreamHub;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams through MockMvc with a small buffer and a single sender thread, so
+ * a stalled sender makes a subscriber overflow deterministically.
+ */
+@SpringBootTest(properties = {
+    "farmchainx.stream.buffer-size=4",
+    "farmchainx.stream.sender-threads=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropStreamTest {
+
+    private static final Pattern EVENT = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CropStreamHub cropStreamHub;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private TestAccounts accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+    }
+
+    @Test
+    void deliversReadyThenCommittedChanges() throws Exception {
+        String farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        MockHttpServletResponse stream = subscribe(farmer);
+
+        createCrop(farmer, "Tomato");
+        createCrop(farmer, "Onion");
+
+        await(stream, events -> events.endsWith("created created"));
+        assertThat(events(stream)).isEqualTo("ready created created");
+    }
+
+    @Test
+    void overflowingSubscriberGetsOneResyncInsteadOfItsBacklog() throws Exception {
+        String farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        double resyncsBefore = meterRegistry.counter("crops.stream.resyncs").count();
+
+        // SseEmitter.send holds the emitter's monitor; holding it here stalls the only sender thread
+        // on an event for the blocker, so nothing is written while the farmer's buffer fills up
+        MockHttpServletResponse stream;
+        SseEmitter blocker = cropStreamHub.subscribe(new AuthenticatedUser(-1L, "blocker@test.local", UserRole.ADMIN, null, null));
+        String bystander = accounts.bearer(accounts.create(UserRole.FARMER));
+        synchronized (blocker) {
+            // The blocker's ready event may already be out; a crop only the admin sees gives it another
+            createCrop(bystander, "Bystander");
+            awaitSenderBlocked();
+            stream = subscribe(farmer);
+            for (int i = 0; i < 6; i++) {
+                createCrop(farmer, "Crop " + i);
+            }
+            assertThat(stream.getContentAsString()).isEmpty();
+        }
+
+        // Buffer of 4: ready and three changes fill it, the fourth change replaces them with a
+        // resync, and the last two changes queue behind it
+        await(stream, events -> events.endsWith("resync created created"));
+        assertThat(events(stream)).isEqualTo("resync created created");
+        assertThat(meterRegistry.counter("crops.stream.resyncs").count()).isGreaterThan(resyncsBefore);
+        blocker.complete();
+    }
+
+    private MockHttpServletResponse subscribe(String bearer) throws Exception {
+        return mockMvc.perform(get("/stream/crops").header(HttpHeaders.AUTHORIZATION, bearer)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+    }
+
+    private void createCrop(String bearer, String name) throws Exception {
+        mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+                     "expiryDate": "2099-01-01", "soilType": "Loam"}
+                    """.formatted(name)))
+            .andExpect(status().isOk());
+    }
+
+    /** Event names written so far, space separated. */
+    private static String events(MockHttpServletResponse stream) throws Exception {
+        StringBuilder names = new StringBuilder();
+        Matcher matcher = EVENT.matcher(stream.getContentAsString());
+        while (matcher.find()) {
+            names.append(names.isEmpty() ? "" : " ").append(matcher.group(1));
+        }
+        return names.toString();
+    }
+
+    private static void awaitSenderBlocked() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Thread.getAllStackTraces().keySet().stream().noneMatch(thread ->
+                thread.getName().startsWith("crop-stream-") && thread.getState() == Thread.State.BLOCKED)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("The sender thread never blocked on the held emitter");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.test(events(stream))) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Stream never matched; events so far: " + events(stream));
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.farmchainx.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    private static final String ETAG = "\"7-abc-3\"";
+
+    @Test
+    void matchesTheSameTag() {
+        assertThat(ETags.matches(ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void comparesWeakly() {
+        assertThat(ETags.matches("W/" + ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void matchesAnyTagInAList() {
+        assertThat(ETags.matches("\"7-abc-1\", W/\"7-abc-2\" ,  " + ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void wildcardMatchesAnything() {
+        assertThat(ETags.matches("*", ETAG)).isTrue();
+    }
+
+    @Test
+    void noHeaderOrOtherTagsDoNotMatch() {
+        assertThat(ETags.matches(null, ETAG)).isFalse();
+        assertThat(ETags.matches("\"7-abc-2\"", ETAG)).isFalse();
+        // Unquoted values are not the same entity tag
+        assertThat(ETags.matches("7-abc-3", ETAG)).isFalse();
+    }
+
+    @Test
+    void untaggedResponsesNeverMatch() {
+        assertThat(ETags.matches("*", null)).isFalse();
+        assertThat(ETags.matches(ETAG, null)).isFalse();
+    }
+}
@@ -0,0 +1,186 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.service.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImageControllerTest {
+
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    private byte[] bytes;
+    private String name;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        bytes = new byte[100];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        name = imageStore.store(bytes, "png");
+        etag = "\"" + imageStore.hashOf(name) + "\"";
+    }
+
+    @Test
+    void servesTheWholeImageWithAStrongETag() throws Exception {
+        mockMvc.perform(get("/images/" + name))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+            .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void answersUnknownAndInvalidNamesWith404() throws Exception {
+        mockMvc.perform(get("/images/" + "0".repeat(64) + ".png")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/images/not-a-hash.png")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void answers304ForAMatchingETag() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void servesSingleRanges() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=10-19"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+            .andExpect(content().bytes(Arrays.copyOfRange(bytes, 10, 20)));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=90-"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(bytes, 95, 100)));
+        // An end past the file is cut to its last byte
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=50-500"))
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 50-99/100"));
+    }
+
+    @Test
+    void servesTheWholeImageForRangesItDoesNotSupport() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(bytes));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=-"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void answers416ForUnsatisfiableRanges() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=100-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=20-10"))
+            .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void treatsPositionsTooLargeForALongAsPastTheEnd() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=99999999999999999999-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=0-99999999999999999999"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/100"));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=-99999999999999999999"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/100"));
+    }
+
+    @Test
+    void honoursRangesOnlyWhileIfRangeMatches() throws Exception {
+        mockMvc.perform(get("/images/" + name)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, etag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 10)));
+        mockMvc.perform(get("/images/" + name)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void tagsThumbnailsWithTheirSize() throws Exception {
+        String photo = imageStore.store(png(480, 240), "png");
+        int size = imageStore.thumbnailSize();
+        String thumbnailEtag = "\"" + imageStore.hashOf(photo) + "-" + size + "\"";
+
+        byte[] body = mockMvc.perform(get("/images/" + photo + "/thumbnail").param("size", String.valueOf(size)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, thumbnailEtag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(ImageIO.read(new ByteArrayInputStream(body)).getWidth()).isEqualTo(size);
+
+        // Without the size in the URL the response must be revalidated, which is cheap
+        mockMvc.perform(get("/images/" + photo + "/thumbnail"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, thumbnailEtag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, no-cache"));
+        mockMvc.perform(get("/images/" + photo + "/thumbnail").header(HttpHeaders.IF_NONE_MATCH, thumbnailEtag))
+            .andExpect(status().isNotModified());
+        // A tag from another size does not match
+        mockMvc.perform(get("/images/" + photo + "/thumbnail")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + imageStore.hashOf(photo) + "-thumb\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void redirectsStaleThumbnailSizesToTheCurrentOne() throws Exception {
+        String photo = imageStore.store(png(10, 10), "png");
+
+        mockMvc.perform(get("/images/" + photo + "/thumbnail").param("size", "100"))
+            .andExpect(status().isFound())
+            .andExpect(redirectedUrl("/images/" + photo + "/thumbnail?size=" + imageStore.thumbnailSize()));
+        mockMvc.perform(get("/images/" + "0".repeat(64) + ".png/thumbnail"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,171 @@
+package com.farmchainx.controller;
+
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Edits to a lot shared by a farmer row and the distributor row that
+ * received it: the farmer who created the lot edits it for both, while the
+ * distributor's edits only ever move its own row to a copy.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LotEditTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String farmer;
+    private String distributor;
+    private int farmerCrop;
+    private int distributorCrop;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        distributor = accounts.bearer(accounts.create(UserRole.DISTRIBUTOR));
+
+        String created = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop("Tomato")))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        farmerCrop = JsonPath.read(created, "$.id");
+
+        String report = mockMvc.perform(post("/distributor/receipts").header(HttpHeaders.AUTHORIZATION, distributor)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sourceCropIds\": [" + farmerCrop + "]}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        distributorCrop = JsonPath.read(report, "$.items[0].cropId");
+    }
+
+    @Test
+    void farmerEditReachesTheDistributorSharingTheLot() throws Exception {
+        String etag = etagOf("/distributor/crops", distributor);
+        MockHttpServletResponse stream = mockMvc.perform(get("/stream/crops").header(HttpHeaders.AUTHORIZATION, distributor)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        edit("/farmer/crops/" + farmerCrop, farmer, "Heirloom Tomato");
+
+        mockMvc.perform(get("/distributor/crops").header(HttpHeaders.AUTHORIZATION, distributor)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[*].id", contains(distributorCrop)))
+            .andExpect(jsonPath("$.items[0].name").value("Heirloom Tomato"));
+        awaitUpdate(stream, "DISTRIBUTOR", distributorCrop);
+    }
+
+    @Test
+    void distributorEditMovesItsRowToACopy() throws Exception {
+        String farmerEtag = etagOf("/farmer/crops", farmer);
+
+        edit("/distributor/crops/" + distributorCrop, distributor, "Cherry Tomato");
+
+        mockMvc.perform(get("/distributor/crops").header(HttpHeaders.AUTHORIZATION, distributor))
+            .andExpect(jsonPath("$.items[0].name").value("Cherry Tomato"));
+        // The farmer's rows were not touched at all
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .header(HttpHeaders.IF_NONE_MATCH, farmerEtag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(jsonPath("$.items[0].name").value("Tomato"));
+
+        // Nor do the farmer's later edits reach the copy
+        edit("/farmer/crops/" + farmerCrop, farmer, "Roma Tomato");
+        mockMvc.perform(get("/distributor/crops").header(HttpHeaders.AUTHORIZATION, distributor))
+            .andExpect(jsonPath("$.items[0].name").value("Cherry Tomato"));
+    }
+
+    @Test
+    void provenanceResolvesThroughTheCopiedRowsTransition() throws Exception {
+        edit("/distributor/crops/" + distributorCrop, distributor, "Cherry Tomato");
+
+        mockMvc.perform(get("/crops/scan/D" + distributorCrop))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Cherry Tomato"))
+            .andExpect(jsonPath("$.chain[*].stage", contains("FARMER", "DISTRIBUTOR")))
+            .andExpect(jsonPath("$.chain[*].cropId", contains(farmerCrop, distributorCrop)));
+        mockMvc.perform(get("/crops/scan/F" + farmerCrop))
+            .andExpect(jsonPath("$.name").value("Tomato"));
+    }
+
+    private void edit(String path, String bearer, String name) throws Exception {
+        mockMvc.perform(put(path).header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop(name)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(name));
+    }
+
+    private static String crop(String name) {
+        return """
+            {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+             "expiryDate": "2099-01-01", "soilType": "Loam"}
+            """.formatted(name);
+    }
+
+    private String etagOf(String path, String bearer) throws Exception {
+        String etag = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+
+    /** Waits for an {@code updated} event for the row; its payload may be empty, leaving the client to fetch it. */
+    private static void awaitUpdate(MockHttpServletResponse stream, String stage, int cropId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            for (String block : stream.getContentAsString().split("\n\n")) {
+                if (block.startsWith("event:updated")) {
+                    String data = block.substring(block.indexOf("data:") + "data:".length());
+                    if (stage.equals(JsonPath.read(data, "$.stage")) && Integer.valueOf(cropId).equals(JsonPath.read(data, "$.id"))) {
+                        return;
+                    }
+                }
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("No update for " + stage + " " + cropId + "; stream so far: "
+                    + stream.getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.farmchainx.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CropChangesTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final LocalDateTime UNTIL = T0.plusHours(1);
+
+    private final List<Row> rows = new ArrayList<>();
+    private final List<CropTombstone> tombstones = new ArrayList<>();
+    private int tombstoneQueries;
+
+    @Test
+    void firstSyncSkipsTombstones() {
+        rows.add(new Row(1L, T0));
+        tombstones.add(tombstone(2L, T0.plusMinutes(1)));
+
+        CropChanges<Row> changes = fetch(null, 10);
+
+        assertThat(changes.getItems()).extracting(Row::id).containsExactly(1L);
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(tombstoneQueries).isZero();
+    }
+
+    @Test
+    void mergesChangesAndTombstonesInUpdateOrder() {
+        rows.add(new Row(3L, T0.plusMinutes(1)));
+        rows.add(new Row(5L, T0.plusMinutes(3)));
+        tombstones.add(tombstone(4L, T0.plusMinutes(2)));
+        // Same instant as row 5; the lower id comes first
+        tombstones.add(tombstone(2L, T0.plusMinutes(3)));
+
+        CropChanges<Row> changes = fetch(cursor(T0, 0L), 10);
+
+        assertThat(changes.getItems()).extracting(Row::id).containsExactly(3L, 5L);
+        assertThat(changes.getDeleted()).extracting(CropTombstone::getId).containsExactly(4L, 2L);
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(PageCursor.decode(changes.getNextCursor()).getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void pageLimitCoversBothListsAndResumesWhereItStopped() {
+        rows.add(new Row(1L, T0.plusMinutes(1)));
+        tombstones.add(tombstone(2L, T0.plusMinutes(2)));
+        rows.add(new Row(3L, T0.plusMinutes(3)));
+
+        CropChanges<Row> first = fetch(cursor(T0, 0L), 2);
+        assertThat(first.getItems()).extracting(Row::id).containsExactly(1L);
+        assertThat(first.getDeleted()).extracting(CropTombstone::getId).containsExactly(2L);
+        assertThat(first.isHasMore()).isTrue();
+
+        CropChanges<Row> second = fetch(first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(Row::id).containsExactly(3L);
+        assertThat(second.getDeleted()).isEmpty();
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void cursorStaysPutWhenNothingChanged() {
+        String since = cursor(T0, 9L);
+
+        CropChanges<Row> changes = fetch(since, 10);
+
+        assertThat(changes.getItems()).isEmpty();
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(changes.getNextCursor()).isEqualTo(since);
+    }
+
+    @Test
+    void leavesRowsNewerThanUntilForTheNextSync() {
+        rows.add(new Row(1L, T0.plusMinutes(1)));
+        rows.add(new Row(2L, UNTIL.plusSeconds(1)));
+
+        CropChanges<Row> changes = fetch(cursor(T0, 0L), 10);
+
+        assertThat(changes.getItems()).extracting(Row::id).containsExactly(1L);
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    private CropChanges<Row> fetch(String since, int limit) {
+        return CropChanges.fetch(since, limit, UNTIL,
+            (updatedAt, id, until, page) -> seek(rows, Row::cursor, updatedAt, id, until, page),
+            (updatedAt, id, until, page) -> {
+                tombstoneQueries++;
+                return seek(tombstones, t -> new PageCursor(t.getDeletedAt(), t.getId()), updatedAt, id, until, page);
+            },
+            Row::cursor);
+    }
+
+    /** What the repositories do: strictly after {@code (updatedAt, id)}, up to {@code until}, oldest first. */
+    private static <T> List<T> seek(List<T> source, Function<T, PageCursor> key,
+                                    LocalDateTime updatedAt, Long id, LocalDateTime until, Pageable page) {
+        return source.stream()
+            .filter(t -> {
+                PageCursor k = key.apply(t);
+                return !k.getCreatedAt().isAfter(until)
+                    && (k.getCreatedAt().isAfter(updatedAt) || (k.getCreatedAt().isEqual(updatedAt) && k.getId() > id));
+            })
+            .sorted((a, b) -> {
+                PageCursor ka = key.apply(a);
+                PageCursor kb = key.apply(b);
+                int byTime = ka.getCreatedAt().compareTo(kb.getCreatedAt());
+                return byTime != 0 ? byTime : ka.getId().compareTo(kb.getId());
+            })
+            .limit(page.getPageSize())
+            .toList();
+    }
+
+    private static String cursor(LocalDateTime at, Long id) {
+        return new PageCursor(at, id).encode();
+    }
+
+    private static CropTombstone tombstone(Long id, LocalDateTime deletedAt) {
+        return new CropTombstone() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDeletedAt() {
+                return deletedAt;
+            }
+        };
+    }
+
+    private record Row(Long id, LocalDateTime updatedAt) {
+        PageCursor cursor() {
+            return new PageCursor(updatedAt, id);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.farmchainx.dto;
+
+import com.farmchainx.dto.CropReceiptReport.Item;
+import com.farmchainx.dto.CropReceiptReport.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CropReceiptReportTest {
+
+    @Test
+    void countsReceivedItemsAndRejectsTheRest() {
+        CropReceiptReport report = CropReceiptReport.of(List.of(
+            new Item(1L, Status.RECEIVED, 10L),
+            new Item(2L, Status.NOT_FOUND, null),
+            new Item(1L, Status.DUPLICATE, null),
+            new Item(3L, Status.RECEIVED, 11L)));
+
+        assertThat(report.received()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.items()).extracting(Item::sourceCropId).containsExactly(1L, 2L, 1L, 3L);
+    }
+
+    @Test
+    void emptyReportCountsNothing() {
+        CropReceiptReport report = CropReceiptReport.of(List.of());
+
+        assertThat(report.received()).isZero();
+        assertThat(report.rejected()).isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package com.farmchainx.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorPageTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    /** Rows newest first: ids count down and each is a minute older than the last. */
+    private static final List<Row> ROWS = LongStream.rangeClosed(1, 7)
+        .mapToObj(i -> new Row(8 - i, START.minusMinutes(i)))
+        .toList();
+
+    @Test
+    void clampsTheRequestedLimit() {
+        assertThat(CursorPage.clampLimit(null)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.clampLimit(0)).isEqualTo(1);
+        assertThat(CursorPage.clampLimit(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampLimit(20)).isEqualTo(20);
+        assertThat(CursorPage.clampLimit(CursorPage.MAX_LIMIT + 1)).isEqualTo(CursorPage.MAX_LIMIT);
+    }
+
+    @Test
+    void pagesThroughEveryRowOnceAndEndsWithoutCursor() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Row> page = CursorPage.fetch(cursor, 3, CursorPageTest::seek, Row::cursor);
+            page.getItems().forEach(row -> seen.add(row.id()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        CursorPage<Row> page = CursorPage.of(ROWS, ROWS.size(), Row::cursor);
+
+        assertThat(page.getItems()).hasSize(ROWS.size());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void extraRowOnlySignalsAnotherPage() {
+        CursorPage<Row> page = CursorPage.of(ROWS.subList(0, 4), 3, Row::cursor);
+
+        assertThat(page.getItems()).extracting(Row::id).containsExactly(7L, 6L, 5L);
+        assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void requestsOneRowMoreThanTheLimit() {
+        List<Integer> requested = new ArrayList<>();
+        CursorPage.fetch(null, 3, (createdAt, id, pageable) -> {
+            requested.add(pageable.getPageSize());
+            return List.<Row>of();
+        }, Row::cursor);
+
+        assertThat(requested).containsExactly(4);
+    }
+
+    @Test
+    void malformedCursorFailsBeforeQuerying() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+            CursorPage.fetch("garbage!", 3, (createdAt, id, pageable) -> {
+                throw new AssertionError("queried with a malformed cursor");
+            }, Row::cursor));
+    }
+
+    /** The keyset predicate the repositories use: strictly after {@code (createdAt, id)} in newest-first order. */
+    private static List<Row> seek(LocalDateTime createdAt, Long id, Pageable pageable) {
+        return ROWS.stream()
+            .filter(row -> createdAt == null
+                || row.createdAt().isBefore(createdAt)
+                || (row.createdAt().isEqual(createdAt) && row.id() < id))
+            .limit(pageable.getPageSize())
+            .toList();
+    }
+
+    private record Row(long id, LocalDateTime createdAt) {
+        PageCursor cursor() {
+            return new PageCursor(createdAt, id);
+        }
+    }
+}
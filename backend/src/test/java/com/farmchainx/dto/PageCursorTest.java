@@ -0,0 +1,49 @@
+package com.farmchainx.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PageCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(cursor.getCreatedAt());
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new PageCursor(LocalDateTime.of(2025, 3, 1, 9, 30), 7L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void rejectsCursorsItDidNotProduce() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(encode("2025-03-01T09:30")));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(encode("yesterday|7")));
+        assertThatIllegalArgumentException().isThrownBy(() -> PageCursor.decode(encode("2025-03-01T09:30|seven")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,60 @@
+package com.farmchainx.loadtest;
+
+import com.farmchainx.repository.FarmerCropRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the statements every repository query executes against a small
+ * generated data set, so a query change or migration that leaves a query
+ * without its index fails the build rather than a load test.
+ */
+@SpringBootTest(properties = {
+    "farmchainx.loadtest.users=300",
+    "farmchainx.loadtest.chains=3000"
+})
+@ActiveProfiles({"loadtest", "test"})
+class QueryPlanVerifierTest {
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyRepositoryQueryReadsThroughAnIndex() {
+        assertThat(queryPlanVerifier.findScans()).isEmpty();
+    }
+
+    @Test
+    void explainsTheStatementsTheRepositoriesExecute(@Autowired DataSource dataSource,
+                                                     @Autowired FarmerCropRepository farmerCropRepository) throws Exception {
+        List<RecordingDataSource.Recorded> statements = dataSource.unwrap(RecordingDataSource.class)
+            .record(() -> farmerCropRepository.findCollectionStamp(2L));
+
+        assertThat(statements).singleElement().satisfies(statement -> {
+            assertThat(statement.sql()).contains("from farmer_crops where user_id = ?");
+            assertThat(statement.parameters()).hasSize(1);
+        });
+    }
+
+    @Test
+    void reportsAQueryWhoseIndexIsGone() {
+        jdbcTemplate.execute("drop index idx_farmer_crops_unexpired");
+        try {
+            assertThat(queryPlanVerifier.findScans())
+                .anyMatch(scan -> scan.startsWith("FarmerCropRepository.findUnexpiredDueBetween:"));
+        } finally {
+            jdbcTemplate.execute("create index idx_farmer_crops_unexpired on farmer_crops (expired_at, expiry_date, id)");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.farmchainx.repository;
+
+import com.farmchainx.dto.CursorPage;
+import com.farmchainx.dto.PageCursor;
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserRepositoryPageTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void breaksCreatedAtTiesByIdAndKeepsTheRoleFilterAcrossPages() {
+        List<Long> consumers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            consumers.add(userRepository.save(new User("page-consumer-" + i + "@test.local", "x", UserRole.CONSUMER)).getId());
+        }
+        Long farmer = userRepository.save(new User("page-farmer@test.local", "x", UserRole.FARMER)).getId();
+        entityManager.flush();
+        // Same timestamp for all of them, later than anything else in the database
+        jdbcTemplate.update("update users set created_at = '2099-01-01 00:00:00' where email like 'page-%@test.local'");
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<User> page = CursorPage.fetch(cursor, 2,
+                (createdAt, id, pageable) -> userRepository.findPage(UserRole.CONSUMER, createdAt, id, pageable),
+                user -> new PageCursor(user.getCreatedAt(), user.getId()));
+            page.getItems().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null && seen.size() < consumers.size());
+
+        Collections.reverse(consumers);
+        assertThat(seen).containsExactlyElementsOf(consumers).doesNotContain(farmer);
+    }
+}
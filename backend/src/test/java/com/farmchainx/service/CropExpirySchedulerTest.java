@@ -0,0 +1,185 @@
+package com.farmchainx.service;
+
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.support.MutableClock;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the context's expiry scheduler with a clock the tests move by hand.
+ * The clock starts in the past, because an entity update clears the mark of
+ * a crop whose expiry date is not yet past by the system clock. Scheduled
+ * sweeps are pushed out of the way; the tests call {@link CropExpiryScheduler#sweep()}.
+ */
+@SpringBootTest(properties = "farmchainx.expiry.check-interval=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CropExpirySchedulerTest {
+
+    private static final MutableClock CLOCK = new MutableClock(
+        LocalDate.of(2024, 3, 1).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    @TestConfiguration
+    static class FixedClock {
+
+        @Bean
+        @Primary
+        MutableClock testClock() {
+            return CLOCK;
+        }
+    }
+
+    @Autowired
+    private CropExpiryScheduler scheduler;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String farmer;
+
+    @BeforeEach
+    void setUp() {
+        TestAccounts accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+        farmer = accounts.bearer(accounts.create(UserRole.FARMER));
+        // Each test starts a day after the last one ended, with the window caught up
+        CLOCK.advance(Duration.ofDays(1));
+        scheduler.sweep();
+    }
+
+    @Test
+    void marksACropInsideTheHorizonOnceItsDayIsOver() throws Exception {
+        int crop = create(CLOCK.today().plusDays(2));
+
+        passDays(2);
+        assertThat(expiredAt(crop)).isNull();
+
+        passDays(1);
+        assertThat(expiredAt(crop)).isNotNull();
+    }
+
+    @Test
+    void leavesACropMovedToALaterDate() throws Exception {
+        int crop = create(CLOCK.today().plusDays(1));
+
+        mockMvc.perform(put("/farmer/crops/" + crop).header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop(CLOCK.today().plusDays(4))))
+            .andExpect(status().isOk());
+
+        passDays(2);
+        assertThat(expiredAt(crop)).isNull();
+
+        passDays(3);
+        assertThat(expiredAt(crop)).isNotNull();
+    }
+
+    @Test
+    void picksUpACropCreatedBeyondTheHorizonWhenTheWindowReachesIt() throws Exception {
+        // Seven days of horizon: this crop is not queued when it is created
+        int crop = create(CLOCK.today().plusDays(10));
+
+        passDays(5);
+        assertThat(expiredAt(crop)).isNull();
+
+        // The window has since been extended past its expiry date
+        passDays(6);
+        assertThat(expiredAt(crop)).isNotNull();
+    }
+
+    @Test
+    void reReadsQueuedCropsAndSkipsThoseChangedByAnotherNode() throws Exception {
+        int moved = create(CLOCK.today().plusDays(1));
+        int markedElsewhere = create(CLOCK.today().plusDays(1));
+        int due = create(CLOCK.today().plusDays(1));
+
+        // Written straight to the database, as another node would; this node's queue still has the old state
+        LocalDate later = CLOCK.today().plusDays(30);
+        jdbcTemplate.update("update farmer_crops set expiry_date = ? where id = ?", later, moved);
+        jdbcTemplate.update("update lots set expiry_date = ? where id = (select lot_id from farmer_crops where id = ?)",
+            later, moved);
+        LocalDateTime elsewhere = LocalDateTime.of(2024, 1, 1, 0, 0);
+        jdbcTemplate.update("update farmer_crops set expired_at = ? where id = ?", elsewhere, markedElsewhere);
+        double marksBefore = meterRegistry.counter("crops.expired").count();
+
+        passDays(2);
+
+        assertThat(expiredAt(moved)).isNull();
+        assertThat(LocalDateTime.parse(expiredAt(markedElsewhere))).isEqualTo(elsewhere);
+        assertThat(expiredAt(due)).isNotNull();
+        assertThat(meterRegistry.counter("crops.expired").count()).isEqualTo(marksBefore + 1);
+    }
+
+    /** Moves the clock a day at a time, sweeping as the scheduled task would. */
+    private void passDays(int days) {
+        for (int i = 0; i < days; i++) {
+            CLOCK.advance(Duration.ofDays(1));
+            scheduler.sweep();
+        }
+    }
+
+    private int create(LocalDate expiryDate) throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(crop(expiryDate)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private static String crop(LocalDate expiryDate) {
+        return """
+            {"name": "Tomato", "cropType": "Vegetable", "harvestDate": "2024-01-01",
+             "expiryDate": "%s", "soilType": "Loam"}
+            """.formatted(expiryDate);
+    }
+
+    private String expiredAt(int crop) throws Exception {
+        String body = mockMvc.perform(get("/farmer/crops").header(HttpHeaders.AUTHORIZATION, farmer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.<List<String>>read(body, "$.items[?(@.id == " + crop + ")].expiredAt").get(0);
+    }
+}
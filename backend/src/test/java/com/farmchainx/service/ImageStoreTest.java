@@ -0,0 +1,112 @@
+package com.farmchainx.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ImageStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ImageStore(directory.toString(), 16, 4096);
+    }
+
+    @Test
+    void storesIdenticalBytesOnceUnderTheirHash() {
+        byte[] bytes = {1, 2, 3};
+        String first = store.store(bytes, "png");
+        String second = store.store(bytes.clone(), "png");
+
+        assertThat(first).isEqualTo(second)
+            .isEqualTo("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81.png");
+        assertThat(store.find(first)).exists();
+        assertThat(store.hashOf(first)).hasSize(64);
+        assertThat(store.contentType(store.find(first))).isEqualTo("image/png");
+    }
+
+    @Test
+    void replacesDataUrlsWithTheirReference() throws IOException {
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(png(4, 4, false));
+
+        String reference = store.toReference(dataUrl);
+
+        assertThat(reference).matches("/images/[0-9a-f]{64}\\.png");
+        assertThat(store.toReference("https://cdn.example.com" + reference)).isEqualTo(reference);
+        assertThat(store.toReference("https://example.com/photo.jpg")).isEqualTo("https://example.com/photo.jpg");
+    }
+
+    @Test
+    void rejectsUnsupportedAndOversizedDataUrls() {
+        assertThatThrownBy(() -> store.toReference("data:image/tiff;base64,AAAA"))
+            .isInstanceOf(IllegalArgumentException.class);
+        String large = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[8192]);
+        assertThatThrownBy(() -> store.toReference(large))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findsNothingForInvalidOrUnknownNames() {
+        assertThat(store.find("../../etc/passwd")).isNull();
+        assertThat(store.find("0".repeat(64) + ".png")).isNull();
+    }
+
+    @Test
+    void scalesThumbnailsToTheConfiguredSizeAndKeysThemBySize() throws IOException {
+        String name = store.store(png(64, 32, false), "png");
+
+        Path thumbnail = store.thumbnail(name);
+
+        assertThat(thumbnail.getFileName().toString()).isEqualTo(store.hashOf(name) + "-16.jpg");
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).isEqualTo(16);
+        assertThat(image.getHeight()).isEqualTo(8);
+        assertThat(store.thumbnail(name)).isEqualTo(thumbnail);
+
+        // Another size never reuses these bytes
+        Path larger = new ImageStore(directory.toString(), 32, 4096).thumbnail(name);
+        assertThat(larger).isNotEqualTo(thumbnail);
+        assertThat(ImageIO.read(larger.toFile()).getWidth()).isEqualTo(32);
+    }
+
+    @Test
+    void keepsTransparencyInPngThumbnails() throws IOException {
+        String name = store.store(png(32, 32, true), "png");
+
+        Path thumbnail = store.thumbnail(name);
+
+        assertThat(thumbnail.getFileName().toString()).endsWith("-16.png");
+        assertThat(ImageIO.read(thumbnail.toFile()).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void fallsBackToTheOriginalWhenItCannotBeDecoded() throws IOException {
+        String name = store.store(new byte[] {0, 1, 2, 3}, "webp");
+
+        assertThat(store.thumbnail(name)).isEqualTo(store.find(name));
+        assertThat(Files.list(directory.resolve("thumbnails"))).isEmpty();
+    }
+
+    static byte[] png(int width, int height, boolean alpha) throws IOException {
+        BufferedImage image = new BufferedImage(width, height,
+            alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.farmchainx.service;
+
+import com.farmchainx.repository.PublicIdBlockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two allocators stand in for two instances sharing the database; small
+ * blocks make them reserve from {@code public_id_blocks} often.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PublicIdAllocatorConcurrencyTest {
+
+    @Autowired
+    private PublicIdBlockRepository blockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentInstancesNeverHandOutTheSameId() throws Exception {
+        List<PublicIdAllocator> instances = List.of(
+            new PublicIdAllocator(blockRepository, transactionManager, 3),
+            new PublicIdAllocator(blockRepository, transactionManager, 3));
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                PublicIdAllocator allocator = instances.get(t % 2);
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        assertThat(issued.add(allocator.nextDistributorId())).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(issued).hasSize(400).allMatch(PublicIdAllocator::isWellFormed);
+    }
+}
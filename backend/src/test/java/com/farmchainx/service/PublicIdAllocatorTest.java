@@ -0,0 +1,59 @@
+package com.farmchainx.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicIdAllocatorTest {
+
+    @Test
+    void formatsPrefixPaddedSequenceAndLuhnDigit() {
+        assertThat(PublicIdAllocator.format(PublicIdAllocator.FARMER, 1)).isEqualTo("F0000018");
+        assertThat(PublicIdAllocator.format(PublicIdAllocator.DISTRIBUTOR, 123456)).isEqualTo("D1234566");
+        // Past the padded width the sequence just grows
+        assertThat(PublicIdAllocator.format(PublicIdAllocator.FARMER, 1_000_000)).isEqualTo("F10000008");
+    }
+
+    @Test
+    void acceptsWhatItFormats() {
+        for (long value = 1; value < 2000; value++) {
+            assertThat(PublicIdAllocator.isWellFormed(PublicIdAllocator.format(PublicIdAllocator.FARMER, value))).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsAnySingleDigitTypo() {
+        String id = PublicIdAllocator.format(PublicIdAllocator.DISTRIBUTOR, 4217);
+        for (int i = 1; i < id.length(); i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit != id.charAt(i)) {
+                    String typo = id.substring(0, i) + digit + id.substring(i + 1);
+                    assertThat(PublicIdAllocator.isWellFormed(typo)).as(typo).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsSwappedNeighbours() {
+        String id = PublicIdAllocator.format(PublicIdAllocator.FARMER, 123456);
+        String swapped = id.charAt(0) + "" + id.charAt(2) + id.charAt(1) + id.substring(3);
+
+        assertThat(PublicIdAllocator.isWellFormed(swapped)).isFalse();
+    }
+
+    @Test
+    void keepsLegacyThreeDigitIdsValid() {
+        assertThat(PublicIdAllocator.isWellFormed("970")).isTrue();
+        assertThat(PublicIdAllocator.isWellFormed("97")).isFalse();
+        assertThat(PublicIdAllocator.isWellFormed("9700")).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownPrefixesAndShortIds() {
+        assertThat(PublicIdAllocator.isWellFormed(null)).isFalse();
+        assertThat(PublicIdAllocator.isWellFormed("R0000018")).isFalse();
+        assertThat(PublicIdAllocator.isWellFormed("f0000018")).isFalse();
+        assertThat(PublicIdAllocator.isWellFormed("F000018")).isFalse();
+    }
+}
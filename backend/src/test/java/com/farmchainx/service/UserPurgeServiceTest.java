@@ -0,0 +1,161 @@
+package com.farmchainx.service;
+
+import com.farmchainx.model.PurgeStatus;
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserPurge;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserPurgeRepository;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.support.TestAccounts;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Purges with a chunk of two rows, so every purge here takes several chunks.
+ * The poll interval is long enough that only the test triggers polls.
+ */
+@SpringBootTest(properties = {
+    "farmchainx.purge.chunk-size=2",
+    "farmchainx.purge.poll-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserPurgeServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Autowired
+    private UserPurgeRepository userPurgeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicIdAllocator publicIdAllocator;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccounts accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new TestAccounts(userRepository, publicIdAllocator, jwtUtil);
+    }
+
+    @Test
+    void deletesLiveCropsTombstonesAndTheUserInChunks() throws Exception {
+        User farmer = accounts.create(UserRole.FARMER);
+        String bearer = accounts.bearer(farmer);
+        for (int i = 0; i < 4; i++) {
+            createCrop(bearer, "Crop " + i);
+        }
+        int discarded = createCrop(bearer, "Discarded");
+        mockMvc.perform(delete("/farmer/crops/" + discarded).header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk());
+
+        String admin = accounts.bearer(accounts.create(UserRole.ADMIN));
+        mockMvc.perform(delete("/admin/users/" + farmer.getId()).header(HttpHeaders.AUTHORIZATION, admin))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.userId").value(farmer.getId()))
+            .andExpect(jsonPath("$.leaseUntil").doesNotExist());
+
+        UserPurge purge = awaitCompleted(farmer.getId());
+        assertThat(purge.getFarmerCropsDeleted()).isEqualTo(5);
+        assertThat(purge.getLeaseUntil()).isNull();
+        assertThat(purge.getLastError()).isNull();
+        assertThat(userRepository.findById(farmer.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from farmer_crops where user_id = ?", Integer.class, farmer.getId())).isZero();
+    }
+
+    @Test
+    void leavesAPurgeLeasedByAnotherInstanceUntilTheLeaseRunsOut() throws Exception {
+        User farmer = accounts.create(UserRole.FARMER);
+        createCrop(accounts.bearer(farmer), "Tomato");
+        userPurgeRepository.save(new UserPurge(farmer.getId(), null));
+        setLease(farmer.getId(), LocalDateTime.now().plusHours(1));
+
+        userPurgeService.poll();
+        // Purges run one at a time, so once a later one completes the leased one has had its turn
+        awaitCompleted(userPurgeService.submit(accounts.create(UserRole.RETAILER).getId(), null).getUserId());
+        assertThat(userPurgeService.find(farmer.getId())).map(UserPurge::getStatus).contains(PurgeStatus.PENDING);
+        assertThat(userRepository.findById(farmer.getId())).isPresent();
+
+        setLease(farmer.getId(), LocalDateTime.now().minusSeconds(1));
+        userPurgeService.poll();
+        assertThat(awaitCompleted(farmer.getId()).getFarmerCropsDeleted()).isEqualTo(1);
+        assertThat(userRepository.findById(farmer.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void claimTakesAFreeOrExpiredLeaseOnlyWhileThePurgeIsUnfinished() {
+        UserPurge purge = userPurgeRepository.save(new UserPurge(-1L, null));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(userPurgeRepository.claim(-1L, now, now.plusMinutes(2))).isEqualTo(1);
+        assertThat(userPurgeRepository.claim(-1L, now.plusMinutes(1), now.plusMinutes(3))).isZero();
+        assertThat(userPurgeRepository.claim(-1L, now.plusMinutes(3), now.plusMinutes(5))).isEqualTo(1);
+
+        userPurgeRepository.findById(purge.getUserId()).ifPresent(UserPurge::complete);
+        assertThat(userPurgeRepository.claim(-1L, now.plusHours(1), now.plusHours(2))).isZero();
+    }
+
+    private int createCrop(String bearer, String name) throws Exception {
+        String body = mockMvc.perform(post("/farmer/crops").header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "%s", "cropType": "Vegetable", "harvestDate": "2025-03-01",
+                     "expiryDate": "2099-01-01", "soilType": "Loam"}
+                    """.formatted(name)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
+
+    private void setLease(Long userId, LocalDateTime until) {
+        jdbcTemplate.update("update user_purges set lease_until = ? where user_id = ?", until, userId);
+    }
+
+    private UserPurge awaitCompleted(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            UserPurge purge = userPurgeService.find(userId).orElseThrow();
+            if (purge.getStatus() == PurgeStatus.COMPLETED) {
+                return purge;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Purge of user " + userId + " did not complete: " + purge.getStatus()
+                    + ", " + purge.getLastError());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.farmchainx.support;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.repository.UserRepository;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.service.PublicIdAllocator;
+
+import java.util.UUID;
+
+/**
+ * Users and bearer tokens for tests that go through the HTTP layer. Users are
+ * saved directly, skipping password hashing; each gets a unique email so tests
+ * sharing a context do not collide.
+ */
+public class TestAccounts {
+
+    private final UserRepository userRepository;
+    private final PublicIdAllocator publicIdAllocator;
+    private final JwtUtil jwtUtil;
+
+    public TestAccounts(UserRepository userRepository, PublicIdAllocator publicIdAllocator, JwtUtil jwtUtil) {
+        this.userRepository = userRepository;
+        this.publicIdAllocator = publicIdAllocator;
+        this.jwtUtil = jwtUtil;
+    }
+
+    public User create(UserRole role) {
+        User user = new User(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@test.local", "unused", role);
+        user.setName(role.name().toLowerCase());
+        user.setLocation("Test");
+        if (role == UserRole.FARMER) {
+            user.setFarmerId(publicIdAllocator.nextFarmerId());
+        } else if (role == UserRole.DISTRIBUTOR) {
+            user.setDistributorId(publicIdAllocator.nextDistributorId());
+        }
+        return userRepository.save(user);
+    }
+
+    /** Value for the {@code Authorization} header. */
+    public String bearer(User user) {
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
@@ -0,0 +1,94 @@
+-- The schema as the last release before the Flyway migrations left it, generated by Hibernate
+-- (ddl-auto: update) on H2, with a few rows. Legacy farmer and distributor IDs are 3 digits.
+
+create table users (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    distributor_id varchar(255),
+    email varchar(255) not null,
+    farmer_id varchar(255),
+    location varchar(255),
+    name varchar(255),
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('FARMER','DISTRIBUTOR','RETAILER','CONSUMER','ADMIN')),
+    primary key (id)
+);
+
+create table farmer_crops (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    crop_type varchar(255) not null,
+    expiry_date date not null,
+    farmer_location varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table distributor_crops (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    crop_type varchar(255) not null,
+    distributor_location varchar(255),
+    expiry_date date not null,
+    farmer_id varchar(255),
+    farmer_location varchar(255),
+    farmer_name varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    received_date date,
+    retailer_location varchar(255),
+    sent_to_retailer varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table retailer_crops (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    crop_type varchar(255) not null,
+    distributor_id varchar(255),
+    distributor_location varchar(255),
+    distributor_name varchar(255),
+    expiry_date date not null,
+    farmer_id varchar(255),
+    farmer_location varchar(255),
+    farmer_name varchar(255),
+    harvest_date date not null,
+    image_url varchar(5000),
+    name varchar(255) not null,
+    pesticides_used varchar(255),
+    received_date date,
+    retailer_location varchar(255),
+    soil_type varchar(255) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+alter table if exists users add constraint uk_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists farmer_crops add constraint fka3x4l9f4mbm0fay5va4kh6hc6 foreign key (user_id) references users;
+alter table if exists distributor_crops add constraint fkf7ijyvmg1vpog4gevq50dk6yn foreign key (user_id) references users;
+alter table if exists retailer_crops add constraint fk984rn42tvav15en8aelc0is7c foreign key (user_id) references users;
+
+insert into users (id, created_at, distributor_id, email, farmer_id, location, name, password, role) values
+    (1, '2025-03-01 09:00:00', null, 'farmer@legacy.local', '970', 'Nashik', 'Farmer', '{noop}unused', 'FARMER'),
+    (2, '2025-03-01 09:05:00', '290', 'distributor@legacy.local', null, 'Pune', 'Distributor', '{noop}unused', 'DISTRIBUTOR'),
+    (3, '2025-03-01 09:10:00', null, 'retailer@legacy.local', null, 'Mumbai', 'Retailer', '{noop}unused', 'RETAILER'),
+    (4, '2025-03-01 09:15:00', null, 'twin@legacy.local', '970', 'Nashik', 'Twin', '{noop}unused', 'FARMER');
+
+insert into farmer_crops (id, created_at, crop_type, expiry_date, farmer_location, harvest_date, name, pesticides_used, soil_type, user_id) values
+    (1, '2025-03-02 10:00:00', 'Vegetable', '2025-04-30', 'Nashik', '2025-03-01', 'Tomato', 'None', 'Loam', 1),
+    (2, '2025-03-02 10:05:00', 'Vegetable', '2025-04-30', 'Nashik', '2025-03-01', 'Onion', 'None', 'Loam', 1);
+
+insert into distributor_crops (id, created_at, crop_type, distributor_location, expiry_date, farmer_id, farmer_location, farmer_name, harvest_date, name, received_date, soil_type, user_id) values
+    (1, '2025-03-03 08:00:00', 'Vegetable', 'Pune', '2025-04-30', '970', 'Nashik', 'Farmer', '2025-03-01', 'Tomato', '2025-03-03', 'Loam', 2);
+
+insert into retailer_crops (id, created_at, crop_type, distributor_id, distributor_location, distributor_name, expiry_date, farmer_id, farmer_location, farmer_name, harvest_date, name, received_date, retailer_location, soil_type, user_id) values
+    (1, '2025-03-04 08:00:00', 'Vegetable', '290', 'Pune', 'Distributor', '2025-04-30', '970', 'Nashik', 'Farmer', '2025-03-01', 'Tomato', '2025-03-04', 'Mumbai', 'Loam', 3);
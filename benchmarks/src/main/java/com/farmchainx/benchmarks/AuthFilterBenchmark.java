@@ -0,0 +1,74 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.security.JwtAuthenticationFilter;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.security.RevokedUserRegistry;
+import com.farmchainx.security.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, rotating
+ * over tokens for an in-memory store of users, a few of them revoked. A
+ * {@code cacheSize} of 0 forces a signature check on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"10000", "0"})
+    private long cacheSize;
+
+    @Param({"1000"})
+    private int users;
+
+    private JwtAuthenticationFilter filter;
+    private String[] authorizationHeaders;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        RevokedUserRegistry revokedUserRegistry = new RevokedUserRegistry();
+        filter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, cacheSize), revokedUserRegistry);
+
+        List<User> store = Fixtures.users(users, UserRole.FARMER);
+        authorizationHeaders = new String[store.size()];
+        for (int i = 0; i < store.size(); i++) {
+            authorizationHeaders[i] = "Bearer " + jwtUtil.generateToken(store.get(i));
+            if (i % 100 == 0) {
+                revokedUserRegistry.revoke(store.get(i).getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public Object filterRequest(Cursor cursor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/farmer/crops");
+        request.addHeader("Authorization", authorizationHeaders[cursor.next++ % authorizationHeaders.length]);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.dto.DistributorCropView;
+import com.farmchainx.dto.FarmerCropView;
+import com.farmchainx.dto.RetailerCropView;
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.FarmerCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of crop list responses, each crop carrying its owner
+ * summary. The {@code *Entities} benchmarks serialize the JPA entities with
+ * their nested {@link User}, as the list endpoints did before they returned
+ * views, so the two can be compared. {@code size} covers the default and
+ * maximum page sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CropSerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<FarmerCropView> farmerCrops;
+    private List<DistributorCropView> distributorCrops;
+    private List<RetailerCropView> retailerCrops;
+    private List<FarmerCrop> farmerEntities;
+    private List<DistributorCrop> distributorEntities;
+    private List<RetailerCrop> retailerEntities;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot configures the MVC mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        farmerEntities = Fixtures.farmerCrops(size, Fixtures.users(20, UserRole.FARMER));
+        distributorEntities = Fixtures.distributorCrops(size, Fixtures.users(5, UserRole.DISTRIBUTOR));
+        retailerEntities = Fixtures.retailerCrops(size, Fixtures.users(10, UserRole.RETAILER));
+        farmerCrops = farmerEntities.stream().map(FarmerCropView::from).toList();
+        distributorCrops = distributorEntities.stream().map(DistributorCropView::from).toList();
+        retailerCrops = retailerEntities.stream().map(RetailerCropView::from).toList();
+        user = farmerEntities.get(0).getUser();
+    }
+
+    @Benchmark
+    public byte[] farmerCrops() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(farmerCrops);
+    }
+
+    @Benchmark
+    public byte[] distributorCrops() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(distributorCrops);
+    }
+
+    @Benchmark
+    public byte[] retailerCrops() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(retailerCrops);
+    }
+
+    @Benchmark
+    public byte[] farmerCropEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(farmerEntities);
+    }
+
+    @Benchmark
+    public byte[] distributorCropEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(distributorEntities);
+    }
+
+    @Benchmark
+    public byte[] retailerCropEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(retailerEntities);
+    }
+
+    @Benchmark
+    public byte[] singleUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+}
@@ -0,0 +1,103 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.model.DistributorCrop;
+import com.farmchainx.model.FarmerCrop;
+import com.farmchainx.model.RetailerCrop;
+import com.farmchainx.model.SupplyChainCrop;
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.security.JwtUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Realistic in-memory users and crops, shaped like rows from the database.
+ */
+final class Fixtures {
+
+    // Same defaults as application.yml
+    static final String JWT_SECRET = "mySecretKey123456789012345678901234567890";
+    static final long JWT_EXPIRATION = 86400000L;
+
+    private Fixtures() {}
+
+    static JwtUtil jwtUtil() {
+        return new JwtUtil(JWT_SECRET, JWT_EXPIRATION);
+    }
+
+    static User user(long id, UserRole role) {
+        User user = new User("user" + id + "@farmchainx.local", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6vZ0SBcOE0ZqXx5ZtGIZQYG", role);
+        user.setId(id);
+        user.setName("User " + id);
+        user.setLocation("Village " + (id % 40));
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0).plusHours(id));
+        if (role == UserRole.FARMER) {
+            user.setFarmerId(String.format("F%06d%d", id, id % 10));
+        } else if (role == UserRole.DISTRIBUTOR) {
+            user.setDistributorId(String.format("D%06d%d", id, id % 10));
+        }
+        return user;
+    }
+
+    static List<User> users(int count, UserRole role) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(user(i, role));
+        }
+        return users;
+    }
+
+    static List<FarmerCrop> farmerCrops(int count, List<User> owners) {
+        return crops(count, owners, FarmerCrop::new);
+    }
+
+    static List<DistributorCrop> distributorCrops(int count, List<User> owners) {
+        List<DistributorCrop> crops = crops(count, owners, DistributorCrop::new);
+        for (DistributorCrop crop : crops) {
+            crop.setFarmerId("F0000018");
+            crop.setFarmerName("Farmer " + crop.getId() % 25);
+            crop.setDistributorLocation("Depot " + crop.getId() % 8);
+            crop.setReceivedDate(crop.getHarvestDate().plusDays(3));
+        }
+        return crops;
+    }
+
+    static List<RetailerCrop> retailerCrops(int count, List<User> owners) {
+        List<RetailerCrop> crops = crops(count, owners, RetailerCrop::new);
+        for (RetailerCrop crop : crops) {
+            crop.setFarmerId("F0000018");
+            crop.setFarmerName("Farmer " + crop.getId() % 25);
+            crop.setDistributorId("D0000018");
+            crop.setDistributorName("Distributor " + crop.getId() % 5);
+            crop.setDistributorLocation("Depot " + crop.getId() % 8);
+            crop.setRetailerLocation("Market " + crop.getId() % 12);
+            crop.setReceivedDate(crop.getHarvestDate().plusDays(6));
+        }
+        return crops;
+    }
+
+    private static <T extends SupplyChainCrop> List<T> crops(int count, List<User> owners, Supplier<T> factory) {
+        String[] types = {"Vegetable", "Grain", "Fruit", "Pulse", "Spice"};
+        List<T> crops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            T crop = factory.get();
+            crop.setId((long) i + 1);
+            crop.setName("Crop " + i);
+            crop.setCropType(types[i % types.length]);
+            crop.setHarvestDate(LocalDate.of(2024, 3, 1).plusDays(i % 90));
+            crop.setExpiryDate(LocalDate.of(2024, 6, 1).plusDays(i % 90));
+            crop.setSoilType("Loam");
+            crop.setPesticidesUsed(i % 3 == 0 ? "Organic" : "Neem oil, 2 applications");
+            crop.setImageUrl("/images/" + "ab".repeat(32) + ".jpg");
+            crop.setFarmerLocation("Village " + i % 40);
+            crop.setUser(owners.get(i % owners.size()));
+            crop.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 0).plusMinutes(i));
+            crops.add(crop);
+        }
+        return crops;
+    }
+}
@@ -0,0 +1,56 @@
+package com.farmchainx.benchmarks;
+
+import com.farmchainx.model.User;
+import com.farmchainx.model.UserRole;
+import com.farmchainx.security.AuthenticatedUser;
+import com.farmchainx.security.JwtUtil;
+import com.farmchainx.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification costs. {@code verifyCached} is the path the
+ * request filter takes for a token it has already seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Fixtures.jwtUtil();
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, 10_000);
+        user = Fixtures.user(42, UserRole.FARMER);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user.getEmail());
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyCached() {
+        return verifiedTokenCache.verify(token);
+    }
+}
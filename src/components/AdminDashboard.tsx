@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Users, Package, TrendingUp, DollarSign, Activity, UserCheck, ShoppingCart, BarChart3, ChevronDown, ChevronUp } from 'lucide-react';
 import { useAuth } from '../hooks/useAuth';
-import { storage } from '../lib/storage';
+import { apiService } from '../lib/api';
 import { UserRole } from '../types';
 import UserManagementModal from './UserManagementModal';
 import ProductManagementModal from './ProductManagementModal';
@@ -15,7 +15,6 @@ interface AdminStats {
   consumers: number;
   totalCrops: number;
   activeFarmers: number;
-  monthlyRevenue: number;
   newProductsMonth: number;
 }
 
@@ -28,7 +27,6 @@ const AdminDashboard: React.FC = () => {
     consumers: 0,
     totalCrops: 0,
     activeFarmers: 0,
-    monthlyRevenue: 0,
     newProductsMonth: 0
   });
   const [loading, setLoading] = useState(true);
@@ -41,40 +39,21 @@ const AdminDashboard: React.FC = () => {
     loadAdminStats();
   }, []);
 
-  const loadAdminStats = () => {
-    const users = storage.getUsers();
-    const allCrops = storage.getUsers().flatMap(u => storage.getCrops(u.id));
-    
-    const farmers = users.filter(u => u.role.toLowerCase() === 'farmer').length;
-    const distributors = users.filter(u => u.role.toLowerCase() === 'distributor').length;
-    const retailers = users.filter(u => u.role.toLowerCase() === 'retailer').length;
-    const consumers = users.filter(u => u.role.toLowerCase() === 'consumer').length;
-    
-    // Calculate active farmers (farmers with crops)
-    const farmersWithCrops = new Set(allCrops.map(crop => crop.user_id));
-    const activeFarmers = users.filter(u => 
-      u.role.toLowerCase() === 'farmer' && farmersWithCrops.has(u.id)
-    ).length;
-
-    // Calculate new products this month
-    const thisMonth = new Date();
-    const newProductsMonth = allCrops.filter(crop => {
-      const cropDate = new Date(crop.created_at);
-      return cropDate.getMonth() === thisMonth.getMonth() && 
-             cropDate.getFullYear() === thisMonth.getFullYear();
-    }).length;
-
-    setStats({
-      totalUsers: users.length,
-      farmers,
-      distributors,
-      retailers,
-      consumers,
-      totalCrops: allCrops.length,
-      activeFarmers,
-      monthlyRevenue: 23800, // Mock data
-      newProductsMonth
-    });
+  const loadAdminStats = async () => {
+    const response = await apiService.getAdminStats();
+    if (response.data) {
+      const byRole = response.data.usersByRole || {};
+      setStats({
+        totalUsers: response.data.totalUsers,
+        farmers: byRole.FARMER || 0,
+        distributors: byRole.DISTRIBUTOR || 0,
+        retailers: byRole.RETAILER || 0,
+        consumers: byRole.CONSUMER || 0,
+        totalCrops: response.data.totalCrops,
+        activeFarmers: response.data.activeFarmers,
+        newProductsMonth: response.data.newCropsThisMonth
+      });
+    }
     
     setLoading(false);
   };
@@ -174,7 +153,7 @@ const AdminDashboard: React.FC = () => {
           </div>
         </div>
 
-        <div className="grid grid-cols-1 md:grid-cols-4 gap-6">
+        <div className="grid grid-cols-1 md:grid-cols-3 gap-6">
           <div className="text-center">
             <div className="text-2xl font-bold text-gray-800">{stats.totalCrops}</div>
             <div className="text-gray-600 text-sm">Total Products</div>
@@ -185,11 +164,6 @@ const AdminDashboard: React.FC = () => {
             <div className="text-gray-600 text-sm">Active Farmers</div>
           </div>
 
-          <div className="text-center">
-            <div className="text-2xl font-bold text-gray-800">₹{stats.monthlyRevenue.toLocaleString()}</div>
-            <div className="text-gray-600 text-sm">Monthly Revenue</div>
-          </div>
-
           <div className="text-center">
             <div className="text-2xl font-bold text-gray-800">{stats.newProductsMonth}</div>
             <div className="text-gray-600 text-sm">New Products (Month)</div>
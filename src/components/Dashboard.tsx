@@ -22,6 +22,11 @@ const Dashboard: React.FC = () => {
   const [editingCrop, setEditingCrop] = useState<Crop | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterType, setFilterType] = useState('all');
+  const [searchResults, setSearchResults] = useState<Crop[] | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [searchCursor, setSearchCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [summary, setSummary] = useState<{ total: number; cropTypes: string[] } | null>(null);
   const [showQRCode, setShowQRCode] = useState<Crop | null>(null);
   const [showScanner, setShowScanner] = useState(false);
   const [showSupplyChainForm, setShowSupplyChainForm] = useState<Crop | null>(null);
@@ -40,12 +45,21 @@ const Dashboard: React.FC = () => {
 
     setLoading(true);
     
+    // Counts cover every crop, not just the loaded pages; they come from the search index
+    apiService.searchCrops('')
+      .then(response => setSummary(response.data
+        ? { total: response.data.total, cropTypes: Object.keys(response.data.facets.cropType || {}) }
+        : null))
+      .catch(() => setSummary(null));
+
     // Try to load from backend first, fallback to local storage
     apiService.getCrops()
       .then(response => {
         if (response.data) {
-          setCrops(response.data);
+          setCrops(response.data.items);
+          setNextCursor(response.data.nextCursor);
         } else {
+          setNextCursor(null);
           // Fallback to local storage
           const userCrops = storage.getCrops(user.id);
           setCrops(userCrops);
@@ -66,6 +80,81 @@ const Dashboard: React.FC = () => {
     loadCrops();
   }, [user]);
 
+  // Appends the next page of whichever list is showing: the search results or the caller's crops
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      if (searchResults) {
+        const response = await apiService.searchCrops(searchTerm.trim(), filterType === 'all' ? undefined : filterType, searchCursor);
+        if (response.data) {
+          const page = response.data;
+          setSearchResults(prev => [...(prev || []), ...page.crops]);
+          setSearchCursor(page.nextCursor);
+        }
+      } else {
+        const response = await apiService.getCrops(nextCursor);
+        if (response.data) {
+          const page = response.data;
+          setCrops(prev => [...prev, ...page.items]);
+          setNextCursor(page.nextCursor);
+        }
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Live updates: reload when one of our own crops changes elsewhere, or when the server asks for a resync
+  useEffect(() => {
+    if (!user) return;
+    const controller = new AbortController();
+    let reloadTimer: ReturnType<typeof setTimeout> | undefined;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const scheduleReload = () => {
+      clearTimeout(reloadTimer);
+      reloadTimer = setTimeout(loadCrops, 500);
+    };
+    const connect = () => {
+      apiService.streamCrops((event, data) => {
+        if (event === 'resync' || String(data.userId) === String(user.id)) {
+          scheduleReload();
+        }
+      }, controller.signal)
+        .catch(() => undefined)
+        .finally(() => {
+          if (!controller.signal.aborted) {
+            retryTimer = setTimeout(connect, 5000);
+          }
+        });
+    };
+    connect();
+
+    return () => {
+      controller.abort();
+      clearTimeout(reloadTimer);
+      clearTimeout(retryTimer);
+    };
+  }, [user]);
+
+  // Search runs on the server once typing pauses; without a result the list is filtered locally
+  useEffect(() => {
+    if (!searchTerm.trim() && filterType === 'all') {
+      setSearchResults(null);
+      setSearchCursor(null);
+      return;
+    }
+    const timer = setTimeout(() => {
+      apiService.searchCrops(searchTerm.trim(), filterType === 'all' ? undefined : filterType)
+        .then(response => {
+          setSearchResults(response.data ? response.data.crops : null);
+          setSearchCursor(response.data ? response.data.nextCursor : null);
+        })
+        .catch(() => setSearchResults(null));
+    }, 250);
+    return () => clearTimeout(timer);
+  }, [searchTerm, filterType, crops]);
+
   // If user is admin, show admin dashboard
   if (user?.role === 'admin') {
     return <AdminDashboard />;
@@ -195,8 +284,44 @@ const Dashboard: React.FC = () => {
     setShowAIAnalysis(crop);
   };
 
-  const handleScanResult = (cropId: string) => {
-    const crop = storage.findCrop(cropId);
+  const scanIdFor = (crop: Crop) => {
+    const stage = user?.role === 'distributor' ? 'D' : user?.role === 'retailer' ? 'R' : 'F';
+    return `${stage}${crop.id}`;
+  };
+
+  const handleScanResult = async (cropId: string) => {
+    const response = await apiService.getCropForScanning(cropId);
+    if (response.data) {
+      const provenance = response.data;
+      let supplyChainInfo = `🌾 CROP INFORMATION\n\n`;
+      supplyChainInfo += `Name: ${provenance.name}\n`;
+      supplyChainInfo += `Type: ${provenance.cropType}\n`;
+      supplyChainInfo += `Harvest Date: ${new Date(provenance.harvestDate).toLocaleDateString()}\n`;
+      supplyChainInfo += `Expiry Date: ${new Date(provenance.expiryDate).toLocaleDateString()}\n`;
+      supplyChainInfo += `Soil Type: ${provenance.soilType}\n`;
+      supplyChainInfo += `Pesticides: ${provenance.pesticidesUsed || 'None'}\n\n`;
+
+      const headings: Record<string, string> = {
+        FARMER: '👨‍🌾 FARMER INFORMATION',
+        DISTRIBUTOR: '🚛 DISTRIBUTOR INFORMATION',
+        RETAILER: '🏪 RETAILER INFORMATION'
+      };
+      for (const step of provenance.chain) {
+        supplyChainInfo += `${headings[step.stage]}\n`;
+        supplyChainInfo += `Name: ${step.party || 'Unknown'}\n`;
+        if (step.partyId) supplyChainInfo += `ID: ${step.partyId}\n`;
+        supplyChainInfo += `Location: ${step.location || 'Unknown'}\n`;
+        if (step.receivedDate) supplyChainInfo += `Received Date: ${new Date(step.receivedDate).toLocaleDateString()}\n`;
+        supplyChainInfo += `\n`;
+      }
+
+      alert(supplyChainInfo.trimEnd());
+      setShowScanner(false);
+      return;
+    }
+
+    // Offline or codes from older builds: fall back to crops stored on this device
+    const crop = storage.findCrop(cropId) ?? storage.findCrop(cropId.replace(/^[FDR]/i, ''));
     if (crop) {
       // Show detailed supply chain information
       let supplyChainInfo = `🌾 CROP INFORMATION\n\n`;
@@ -239,14 +364,15 @@ const Dashboard: React.FC = () => {
     setShowScanner(false);
   };
 
-  const filteredCrops = crops.filter(crop => {
+  const filteredCrops = searchResults ?? crops.filter(crop => {
     const matchesSearch = (crop.name || '').toLowerCase().includes(searchTerm.toLowerCase()) ||
                          (crop.crop_type || '').toLowerCase().includes(searchTerm.toLowerCase());
     const matchesFilter = filterType === 'all' || (crop.crop_type || '').toLowerCase().includes(filterType.toLowerCase());
     return matchesSearch && matchesFilter;
   });
 
-  const cropTypes = ['all', ...Array.from(new Set(crops.map(crop => crop.crop_type)))];
+  const cropTypes = ['all', ...(summary?.cropTypes ?? Array.from(new Set(crops.map(crop => crop.crop_type))))];
+  const moreCursor = searchResults ? searchCursor : nextCursor;
 
   if (loading) {
     return (
@@ -328,7 +454,7 @@ const Dashboard: React.FC = () => {
             </div>
             <div>
               <p className="text-sm font-medium text-gray-600">Total Crops</p>
-              <p className="text-2xl font-bold text-gray-800">{crops.length}</p>
+              <p className="text-2xl font-bold text-gray-800">{summary?.total ?? crops.length}</p>
             </div>
           </div>
         </div>
@@ -340,7 +466,7 @@ const Dashboard: React.FC = () => {
             </div>
             <div>
               <p className="text-sm font-medium text-gray-600">Crop Types</p>
-              <p className="text-2xl font-bold text-gray-800">{new Set(crops.map(c => c.crop_type)).size}</p>
+              <p className="text-2xl font-bold text-gray-800">{cropTypes.length - 1}</p>
             </div>
           </div>
         </div>
@@ -416,7 +542,7 @@ const Dashboard: React.FC = () => {
             <div key={crop.id} className="bg-white rounded-xl shadow-lg border border-orange-200 overflow-hidden hover:shadow-xl transition-all transform hover:-translate-y-1">
               {crop.image_url && (
                 <img
-                  src={crop.image_url}
+                  src={crop.thumbnail_url || crop.image_url}
                   alt={crop.name}
                   className="w-full h-48 object-cover"
                 />
@@ -524,6 +650,18 @@ const Dashboard: React.FC = () => {
           ))}
         </div>
       )}
+
+      {moreCursor && (
+        <div className="text-center">
+          <button
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="bg-orange-600 hover:bg-orange-700 disabled:opacity-50 text-white px-6 py-2 rounded-lg transition-colors"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
       </div>
 
       {/* AI Chatbot Toggle */}
@@ -545,6 +683,7 @@ const Dashboard: React.FC = () => {
       {showQRCode && (
         <QRCodeModal
           crop={showQRCode}
+          scanId={scanIdFor(showQRCode)}
           onClose={() => setShowQRCode(null)}
         />
       )}
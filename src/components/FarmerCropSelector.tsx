@@ -19,6 +19,7 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [supplierInfo, setSupplierInfo] = useState<any>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
   const { user } = useAuth();
 
@@ -27,14 +28,15 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
   const supplierLabel = isDistributor ? 'Farmer' : 'Distributor';
 
   const handleSupplierIdSearch = async () => {
-    if (!supplierId || supplierId.length !== 3) {
-      setError(`Please enter a valid 3-digit ${supplierType} ID`);
+    if (!/^(\d{3}|[FD]\d{7})$/i.test(supplierId)) {
+      setError(`Please enter a valid ${supplierType} ID`);
       return;
     }
 
     setError('');
     setSupplierCrops([]);
     setSupplierInfo(null);
+    setNextCursor(null);
     setLoading(true);
 
     try {
@@ -47,13 +49,14 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
           return;
         }
 
-        if (!response.data || response.data.length === 0) {
+        if (!response.data || response.data.items.length === 0) {
           setError(`${supplierLabel} with ID ${supplierId} has no crops available`);
           return;
         }
 
-        setSupplierCrops(response.data);
-        setSupplierInfo({ farmer_id: supplierId, name: response.data[0].farmer_info?.name || 'Farmer' });
+        setSupplierCrops(response.data.items);
+        setNextCursor(response.data.nextCursor);
+        setSupplierInfo({ farmer_id: supplierId, name: response.data.items[0].farmer_info?.name || 'Farmer' });
         setSelectedCrops([]);
       } else {
         const response = await apiService.getAllDistributorCrops();
@@ -64,12 +67,13 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
           return;
         }
 
-        if (!response.data || response.data.length === 0) {
+        if (!response.data || response.data.items.length === 0) {
           setError(`No distributor crops available`);
           return;
         }
 
-        setSupplierCrops(response.data);
+        setSupplierCrops(response.data.items);
+        setNextCursor(response.data.nextCursor);
         setSupplierInfo({ distributor_id: supplierId, name: 'Distributor' });
         setSelectedCrops([]);
       }
@@ -80,6 +84,24 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
     }
   };
 
+  const handleLoadMore = async () => {
+    setLoading(true);
+    try {
+      const response = isDistributor
+        ? await apiService.getCropsByFarmerId(supplierId, nextCursor)
+        : await apiService.getAllDistributorCrops(nextCursor);
+      if (response.error || !response.data) {
+        setError(response.error || 'Failed to fetch crops');
+        return;
+      }
+      const page = response.data;
+      setSupplierCrops(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const handleCropSelection = (cropId: string) => {
     setSelectedCrops(prev => 
       prev.includes(cropId) 
@@ -98,41 +120,19 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
     setError('');
 
     try {
-      for (const cropId of selectedCrops) {
-        const originalCrop = supplierCrops.find(c => c.id === cropId);
-        if (originalCrop && user) {
-          const cropData: any = {
-            name: originalCrop.name,
-            crop_type: originalCrop.crop_type,
-            harvest_date: originalCrop.harvest_date,
-            expiry_date: originalCrop.expiry_date,
-            soil_type: originalCrop.soil_type,
-            pesticides_used: originalCrop.pesticides_used,
-            image_url: originalCrop.image_url,
-            location: user.location || 'Location not specified'
-          };
-
-          if (isDistributor) {
-            cropData.farmerId = originalCrop.farmer_info?.farmer_id || supplierId;
-            cropData.farmerName = originalCrop.farmer_info?.name || 'Farmer';
-            cropData.farmerLocation = originalCrop.farmer_info?.location || 'Unknown';
-            cropData.distributorLocation = user.location || 'Unknown';
-            cropData.receivedDate = new Date().toISOString().split('T')[0];
-          } else {
-            cropData.farmerId = originalCrop.farmer_info?.farmer_id;
-            cropData.farmerName = originalCrop.farmer_info?.name;
-            cropData.farmerLocation = originalCrop.farmer_info?.location;
-            cropData.receivedDate = new Date().toISOString().split('T')[0];
-          }
-
-          const response = await apiService.createCrop(cropData);
-          if (response.error) {
-            throw new Error(response.error);
-          }
-        }
+      const response = await apiService.receiveCrops(selectedCrops, {
+        location: user?.location || undefined,
+        receivedDate: new Date().toISOString().split('T')[0]
+      });
+      if (response.error) {
+        throw new Error(response.error);
       }
-
+      // Received items are saved even when others were rejected
       onSave();
+      if (response.data?.rejected > 0) {
+        setError(`${response.data.rejected} of ${selectedCrops.length} crops are no longer available`);
+        return;
+      }
       onClose();
     } catch (err: any) {
       setError(err.message || 'Failed to add crops');
@@ -177,19 +177,19 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
           <div className={`p-4 rounded-lg ${isDistributor ? 'bg-orange-50' : 'bg-indigo-50'}`}>
             <label className="block text-sm font-medium text-gray-700 mb-2">
               <User className="inline h-4 w-4 mr-1" />
-              Enter {supplierLabel} ID (3-digit)
+              Enter {supplierLabel} ID
             </label>
             <div className="flex space-x-3">
               <input
                 type="text"
                 value={supplierId}
-                onChange={(e) => setSupplierId(e.target.value)}
+                onChange={(e) => setSupplierId(e.target.value.toUpperCase())}
                 className={`flex-1 px-3 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:border-transparent ${
                   isDistributor ? 'focus:ring-purple-500' : 'focus:ring-indigo-500'
                 }`}
-                placeholder={`Enter 3-digit ${supplierType} ID`}
-                maxLength={3}
-                pattern="[0-9]{3}"
+                placeholder={`Enter ${supplierType} ID, e.g. ${isDistributor ? 'F' : 'D'}0000018`}
+                maxLength={8}
+                pattern="[0-9]{3}|[FDfd][0-9]{7}"
               />
               <button
                 onClick={handleSupplierIdSearch}
@@ -242,7 +242,7 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
                     
                     {crop.image_url && (
                       <img
-                        src={crop.image_url}
+                        src={crop.thumbnail_url || crop.image_url}
                         alt={crop.name}
                         className="w-full h-24 object-cover rounded mb-2"
                       />
@@ -263,6 +263,17 @@ const FarmerCropSelector: React.FC<FarmerCropSelectorProps> = ({ userRole, onClo
                   </div>
                 ))}
               </div>
+              {nextCursor && (
+                <div className="mt-4 text-center">
+                  <button
+                    onClick={handleLoadMore}
+                    disabled={loading}
+                    className="px-4 py-2 border border-gray-300 rounded-lg text-gray-700 hover:bg-gray-50 disabled:opacity-50 transition-colors"
+                  >
+                    {loading ? 'Loading...' : 'Load more'}
+                  </button>
+                </div>
+              )}
             </div>
           )}
 
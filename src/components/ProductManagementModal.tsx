@@ -153,7 +153,7 @@ const ProductManagementModal: React.FC<ProductManagementModalProps> = ({ onClose
                       <td className="px-4 py-4 whitespace-nowrap">
                         <div className="flex items-center">
                           {crop.image_url ? (
-                            <img src={crop.image_url} alt={crop.name} className="h-10 w-10 rounded-lg object-cover" />
+                            <img src={crop.thumbnail_url || crop.image_url} alt={crop.name} className="h-10 w-10 rounded-lg object-cover" />
                           ) : (
                             <div className="h-10 w-10 bg-green-100 rounded-lg flex items-center justify-center">
                               <Package className="h-5 w-5 text-green-600" />
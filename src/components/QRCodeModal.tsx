@@ -5,18 +5,20 @@ import { Crop } from '../types';
 
 interface QRCodeModalProps {
   crop: Crop;
+  // Stage-qualified ID the backend scan endpoint resolves, e.g. R42
+  scanId?: string;
   onClose: () => void;
 }
 
-const QRCodeModal: React.FC<QRCodeModalProps> = ({ crop, onClose }) => {
+const QRCodeModal: React.FC<QRCodeModalProps> = ({ crop, scanId, onClose }) => {
   const canvasRef = useRef<HTMLCanvasElement>(null);
 
   useEffect(() => {
     if (canvasRef.current) {
-      // Simple QR code with just crop ID
+      // Simple QR code with just the crop's scan ID
       QRCode.toCanvas(
         canvasRef.current,
-        crop.id, // Just the crop ID for simplicity
+        scanId ?? crop.id,
         {
           width: 300,
           margin: 2,
@@ -27,7 +29,7 @@ const QRCodeModal: React.FC<QRCodeModalProps> = ({ crop, onClose }) => {
         }
       );
     }
-  }, [crop]);
+  }, [crop, scanId]);
 
   const handleDownload = () => {
     if (canvasRef.current) {
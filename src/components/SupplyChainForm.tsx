@@ -169,16 +169,16 @@ const SupplyChainForm: React.FC<SupplyChainFormProps> = ({ crop, onClose, onSave
                 <div>
                   <label className="block text-sm font-medium text-gray-700 mb-2">
                     <User className="inline h-4 w-4 mr-1" />
-                    Farmer ID (3-digit)
+                    Farmer ID
                   </label>
                   <input
                     type="text"
                     value={farmerIdInput}
-                    onChange={(e) => setFarmerIdInput(e.target.value)}
+                    onChange={(e) => setFarmerIdInput(e.target.value.toUpperCase())}
                     className="w-full px-3 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
-                    placeholder="Enter 3-digit farmer ID"
-                    maxLength={3}
-                    pattern="[0-9]{3}"
+                    placeholder="Enter farmer ID, e.g. F0000018"
+                    maxLength={8}
+                    pattern="[0-9]{3}|[FDfd][0-9]{7}"
                     required
                   />
                 </div>
@@ -234,16 +234,16 @@ const SupplyChainForm: React.FC<SupplyChainFormProps> = ({ crop, onClose, onSave
                 <div>
                   <label className="block text-sm font-medium text-gray-700 mb-2">
                     <Truck className="inline h-4 w-4 mr-1" />
-                    Distributor ID (3-digit)
+                    Distributor ID
                   </label>
                   <input
                     type="text"
                     value={distributorIdInput}
-                    onChange={(e) => setDistributorIdInput(e.target.value)}
+                    onChange={(e) => setDistributorIdInput(e.target.value.toUpperCase())}
                     className="w-full px-3 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-purple-500 focus:border-transparent"
-                    placeholder="Enter 3-digit distributor ID"
-                    maxLength={3}
-                    pattern="[0-9]{3}"
+                    placeholder="Enter distributor ID, e.g. D0000018"
+                    maxLength={8}
+                    pattern="[0-9]{3}|[FDfd][0-9]{7}"
                     required
                   />
                 </div>
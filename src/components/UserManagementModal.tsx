@@ -1,29 +1,64 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { X, Users, Mail, UserCheck, CreditCard as Edit, Trash2, MapPin } from 'lucide-react';
-import { storage } from '../lib/storage';
+import { apiService } from '../lib/api';
 
 interface UserManagementModalProps {
   onClose: () => void;
 }
 
 const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) => {
-  const [users, setUsers] = useState(storage.getUsers());
+  const [users, setUsers] = useState<any[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loading, setLoading] = useState(false);
+  const [error, setError] = useState('');
+  const [counts, setCounts] = useState<{ total: number; byRole: Record<string, number> }>({ total: 0, byRole: {} });
   const [searchTerm, setSearchTerm] = useState('');
   const [filterRole, setFilterRole] = useState('all');
 
   const roles = ['all', 'farmer', 'distributor', 'retailer', 'consumer', 'admin'];
 
+  // Totals come from the stats counters; the table only holds the pages loaded so far
+  useEffect(() => {
+    apiService.getAdminStats().then(response => {
+      if (response.data) {
+        setCounts({ total: response.data.totalUsers || 0, byRole: response.data.usersByRole || {} });
+      }
+    });
+  }, []);
+
+  const loadUsers = async (cursor: string | null) => {
+    setLoading(true);
+    const response = await apiService.getUsersPage(filterRole === 'all' ? undefined : filterRole, cursor);
+    if (response.data) {
+      const page = response.data;
+      setUsers(prev => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
+      setError('');
+    } else {
+      setError(response.error || 'Failed to load users');
+    }
+    setLoading(false);
+  };
+
+  // The role filter runs on the server; a new filter starts again from the first page
+  useEffect(() => {
+    loadUsers(null);
+  }, [filterRole]);
+
+  // The search box narrows the loaded pages only
   const filteredUsers = users.filter(user => {
-    const matchesSearch = user.email.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         (user.name || '').toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesFilter = filterRole === 'all' || user.role.toLowerCase() === filterRole;
-    return matchesSearch && matchesFilter;
+    return (user.email || '').toLowerCase().includes(searchTerm.toLowerCase()) ||
+           (user.name || '').toLowerCase().includes(searchTerm.toLowerCase());
   });
 
-  const handleDeleteUser = (userId: string) => {
+  const handleDeleteUser = async (userId: string) => {
     if (confirm('Are you sure you want to delete this user?')) {
-      const updatedUsers = users.filter(u => u.id !== userId);
-      setUsers(updatedUsers);
+      const response = await apiService.deleteUser(Number(userId));
+      if (response.error) {
+        setError(response.error);
+        return;
+      }
+      setUsers(prev => prev.filter(u => u.id !== userId));
     }
   };
 
@@ -58,7 +93,7 @@ const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) =>
           <div className="mb-6 flex flex-col sm:flex-row gap-4">
             <input
               type="text"
-              placeholder="Search users by email or name..."
+              placeholder="Search loaded users by email or name..."
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
               className="flex-1 px-4 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-blue-500 focus:border-transparent"
@@ -78,18 +113,18 @@ const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) =>
 
           <div className="mb-4 grid grid-cols-1 sm:grid-cols-3 gap-4">
             <div className="bg-blue-50 p-4 rounded-lg text-center">
-              <div className="text-3xl font-bold text-blue-600">{users.length}</div>
+              <div className="text-3xl font-bold text-blue-600">{counts.total}</div>
               <div className="text-sm text-blue-800">Total Users</div>
             </div>
             <div className="bg-green-50 p-4 rounded-lg text-center">
               <div className="text-3xl font-bold text-green-600">
-                {users.filter(u => u.role.toLowerCase() === 'farmer').length}
+                {counts.byRole.FARMER || 0}
               </div>
               <div className="text-sm text-green-800">Farmers</div>
             </div>
             <div className="bg-purple-50 p-4 rounded-lg text-center">
               <div className="text-3xl font-bold text-purple-600">
-                {users.filter(u => ['distributor', 'retailer'].includes(u.role.toLowerCase())).length}
+                {(counts.byRole.DISTRIBUTOR || 0) + (counts.byRole.RETAILER || 0)}
               </div>
               <div className="text-sm text-purple-800">Supply Chain Partners</div>
             </div>
@@ -146,7 +181,7 @@ const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) =>
                       </span>
                     </td>
                     <td className="px-4 py-4 whitespace-nowrap text-sm text-gray-500">
-                      {user.farmer_id ? `F-${user.farmer_id}` : user.distributor_id ? `D-${user.distributor_id}` : '-'}
+                      {user.farmerId || user.distributorId || '-'}
                     </td>
                     <td className="px-4 py-4 whitespace-nowrap text-sm text-gray-500">
                       {user.location ? (
@@ -157,7 +192,7 @@ const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) =>
                       ) : '-'}
                     </td>
                     <td className="px-4 py-4 whitespace-nowrap text-sm text-gray-500">
-                      {new Date(user.created_at).toLocaleDateString()}
+                      {user.createdAt ? new Date(user.createdAt).toLocaleDateString() : '-'}
                     </td>
                   </tr>
                 ))}
@@ -165,12 +200,30 @@ const UserManagementModal: React.FC<UserManagementModalProps> = ({ onClose }) =>
             </table>
           </div>
 
-          {filteredUsers.length === 0 && (
+          {error && (
+            <div className="mt-4 p-3 bg-red-100 border border-red-300 text-red-700 rounded-lg text-sm">
+              {error}
+            </div>
+          )}
+
+          {!loading && filteredUsers.length === 0 && (
             <div className="text-center py-12">
               <Users className="h-12 w-12 text-gray-300 mx-auto mb-3" />
               <p className="text-gray-500">No users found matching your criteria</p>
             </div>
           )}
+
+          {nextCursor && (
+            <div className="mt-6 text-center">
+              <button
+                onClick={() => loadUsers(nextCursor)}
+                disabled={loading}
+                className="bg-blue-600 hover:bg-blue-700 disabled:opacity-50 text-white px-6 py-2 rounded-lg transition-colors"
+              >
+                {loading ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
@@ -5,6 +5,12 @@ interface ApiResponse<T> {
   error?: string;
 }
 
+// One page of a keyset-paginated listing; nextCursor is null on the last page.
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
 class ApiService {
   private getAuthHeaders(): HeadersInit {
     const token = localStorage.getItem('auth_token');
@@ -29,6 +35,25 @@ class ApiService {
     }
   }
 
+  // Fetches one page of a paginated listing; pass the previous page's nextCursor to get the next one.
+  private async fetchPage(url: string, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
+    const pageUrl = cursor ? `${url}${url.includes('?') ? '&' : '?'}cursor=${encodeURIComponent(cursor)}` : url;
+    const response = await fetch(pageUrl, { headers: this.getAuthHeaders() });
+    const result = await this.handleResponse<any>(response);
+    if (result.error) {
+      return { error: result.error };
+    }
+    return { data: { items: result.data?.items || [], nextCursor: result.data?.nextCursor || null } };
+  }
+
+  private async fetchCropPage(url: string, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
+    const result = await this.fetchPage(url, cursor);
+    if (result.data) {
+      result.data.items = result.data.items.map((crop: any) => this.transformBackendCropToFrontend(crop));
+    }
+    return result;
+  }
+
   private getUserRole(): string {
     const userStr = localStorage.getItem('user');
     if (userStr) {
@@ -43,6 +68,15 @@ class ApiService {
     return `${API_BASE_URL}/${role}/crops`;
   }
 
+  // Stored images come back as short /images/<hash> references served by the backend.
+  private toImageUrl(imageUrl?: string): string | undefined {
+    return imageUrl?.startsWith('/images/') ? `${API_BASE_URL}${imageUrl}` : imageUrl;
+  }
+
+  private toImageReference(imageUrl?: string): string {
+    return imageUrl?.startsWith(`${API_BASE_URL}/images/`) ? imageUrl.substring(API_BASE_URL.length) : (imageUrl || '');
+  }
+
   private transformBackendCropToFrontend(backendCrop: any): any {
     return {
       id: String(backendCrop.id),
@@ -53,8 +87,12 @@ class ApiService {
       expiry_date: backendCrop.expiryDate,
       soil_type: backendCrop.soilType,
       pesticides_used: backendCrop.pesticidesUsed,
-      image_url: backendCrop.imageUrl,
+      image_url: this.toImageUrl(backendCrop.imageUrl),
+      thumbnail_url: backendCrop.imageUrl?.startsWith('/images/')
+        ? `${API_BASE_URL}${backendCrop.imageUrl}/thumbnail`
+        : backendCrop.imageUrl,
       created_at: backendCrop.createdAt,
+      expired_at: backendCrop.expiredAt || undefined,
       farmer_info: backendCrop.farmerLocation ? {
         location: backendCrop.farmerLocation,
         name: backendCrop.farmerName || backendCrop.user?.name || '',
@@ -134,25 +172,26 @@ class ApiService {
     }
   }
 
-  async getCrops(): Promise<ApiResponse<any[]>> {
+  async getCrops(cursor?: string | null): Promise<ApiResponse<Page<any>>> {
     try {
       const endpoint = this.getCropEndpoint();
       console.log('Fetching crops from:', endpoint);
-      const response = await fetch(endpoint, {
-        headers: this.getAuthHeaders()
-      });
-
-      const result = await this.handleResponse(response);
-      if (result.data) {
-        result.data = result.data.map((crop: any) => this.transformBackendCropToFrontend(crop));
-      }
-      return result;
+      return await this.fetchCropPage(endpoint, cursor);
     } catch (error) {
       console.error('Get crops failed:', error);
       return { error: 'Network error occurred' };
     }
   }
 
+  // The caller's crops expiring between today and withinDays from now, soonest first.
+  async getExpiringCrops(withinDays: number, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
+    try {
+      return await this.fetchCropPage(`${this.getCropEndpoint()}/expiring?withinDays=${withinDays}`, cursor);
+    } catch (error) {
+      return { error: 'Network error occurred' };
+    }
+  }
+
   async createCrop(cropData: any): Promise<ApiResponse<any>> {
     try {
       const endpoint = this.getCropEndpoint();
@@ -168,10 +207,11 @@ class ApiService {
         expiryDate: cropData.expiry_date || cropData.expiryDate,
         soilType: cropData.soil_type || cropData.soilType,
         pesticidesUsed: cropData.pesticides_used || cropData.pesticidesUsed || 'Not specified',
-        imageUrl: cropData.image_url || cropData.imageUrl || '',
+        imageUrl: this.toImageReference(cropData.image_url || cropData.imageUrl),
         farmerLocation: cropData.location || cropData.farmer_info?.location || user?.location || '',
         farmerId: cropData.farmer_info?.farmer_id || user?.farmer_id,
-        farmerName: cropData.farmer_info?.name || user?.name
+        farmerName: cropData.farmer_info?.name || user?.name,
+        sourceCropId: cropData.sourceCropId
       };
 
       console.log('Sending to backend:', backendData);
@@ -213,7 +253,7 @@ class ApiService {
         expiryDate: cropData.expiry_date || cropData.expiryDate,
         soilType: cropData.soil_type || cropData.soilType,
         pesticidesUsed: cropData.pesticides_used || cropData.pesticidesUsed || 'Not specified',
-        imageUrl: cropData.image_url || cropData.imageUrl || '',
+        imageUrl: this.toImageReference(cropData.image_url || cropData.imageUrl),
         farmerLocation: cropData.location || cropData.farmer_info?.location || user?.location || ''
       };
 
@@ -253,70 +293,114 @@ class ApiService {
     }
   }
 
-  async getAllFarmerCrops(): Promise<ApiResponse<any[]>> {
+  // Records receiving upstream crops by ID in one request; the new rows share the upstream lots.
+  async receiveCrops(sourceCropIds: string[], receipt: { location?: string; receivedDate?: string }): Promise<ApiResponse<any>> {
     try {
-      const response = await fetch(`${API_BASE_URL}/farmer/crops/all`, {
-        headers: this.getAuthHeaders()
+      const response = await fetch(`${API_BASE_URL}/${this.getUserRole()}/receipts`, {
+        method: 'POST',
+        headers: this.getAuthHeaders(),
+        body: JSON.stringify({ sourceCropIds: sourceCropIds.map(Number), ...receipt })
       });
 
-      const result = await this.handleResponse(response);
-      if (result.data) {
-        result.data = result.data.map((crop: any) => this.transformBackendCropToFrontend(crop));
-      }
-      return result;
+      return await this.handleResponse(response);
     } catch (error) {
       return { error: 'Network error occurred' };
     }
   }
 
-  async getCropsByFarmerId(farmerId: string): Promise<ApiResponse<any[]>> {
+  async getAllFarmerCrops(cursor?: string | null): Promise<ApiResponse<Page<any>>> {
     try {
-      const response = await fetch(`${API_BASE_URL}/farmer/crops/by-farmer/${farmerId}`, {
-        headers: this.getAuthHeaders()
-      });
-
-      const result = await this.handleResponse(response);
-      if (result.data) {
-        result.data = result.data.map((crop: any) => this.transformBackendCropToFrontend(crop));
-      }
-      return result;
+      return await this.fetchCropPage(`${API_BASE_URL}/farmer/crops/all`, cursor);
     } catch (error) {
       return { error: 'Network error occurred' };
     }
   }
 
-  async getAllDistributorCrops(): Promise<ApiResponse<any[]>> {
+  async getCropsByFarmerId(farmerId: string, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
     try {
-      const response = await fetch(`${API_BASE_URL}/distributor/crops/all`, {
-        headers: this.getAuthHeaders()
-      });
+      return await this.fetchCropPage(`${API_BASE_URL}/farmer/crops/by-farmer/${farmerId}`, cursor);
+    } catch (error) {
+      return { error: 'Network error occurred' };
+    }
+  }
 
-      const result = await this.handleResponse(response);
-      if (result.data) {
-        result.data = result.data.map((crop: any) => this.transformBackendCropToFrontend(crop));
-      }
-      return result;
+  async getAllDistributorCrops(cursor?: string | null): Promise<ApiResponse<Page<any>>> {
+    try {
+      return await this.fetchCropPage(`${API_BASE_URL}/distributor/crops/all`, cursor);
     } catch (error) {
       return { error: 'Network error occurred' };
     }
   }
 
-  async getCropsByDistributorId(distributorId: string): Promise<ApiResponse<any[]>> {
+  async getCropsByDistributorId(distributorId: string, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
     try {
-      const response = await fetch(`${API_BASE_URL}/distributor/crops`, {
-        headers: this.getAuthHeaders()
-      });
+      return await this.fetchCropPage(`${API_BASE_URL}/distributor/crops`, cursor);
+    } catch (error) {
+      return { error: 'Network error occurred' };
+    }
+  }
 
-      const result = await this.handleResponse(response);
-      if (result.data) {
-        result.data = result.data.map((crop: any) => this.transformBackendCropToFrontend(crop));
+  // Server-side search over the caller's crops (every crop for admins), one page at a time. With an empty
+  // query, total and facets summarize all of the caller's crops, for counts that no loaded page can give.
+  async searchCrops(query: string, cropType?: string, cursor?: string | null): Promise<ApiResponse<{ crops: any[]; nextCursor: string | null; total: number; facets: any }>> {
+    try {
+      const params = new URLSearchParams();
+      if (query) params.set('q', query);
+      if (cropType) params.set('cropType', cropType);
+      if (cursor) params.set('cursor', cursor);
+      const response = await fetch(`${API_BASE_URL}/crops/search?${params}`, { headers: this.getAuthHeaders() });
+      const result = await this.handleResponse<any>(response);
+      if (result.error) {
+        return { error: result.error };
       }
-      return result;
+      return {
+        data: {
+          crops: (result.data?.items || []).map((hit: any) => this.transformBackendCropToFrontend({ ...hit, user: { id: hit.userId } })),
+          nextCursor: result.data?.nextCursor || null,
+          total: result.data?.total || 0,
+          facets: result.data?.facets || {}
+        }
+      };
     } catch (error) {
       return { error: 'Network error occurred' };
     }
   }
 
+  // Reads /stream/crops with fetch rather than EventSource, which cannot send the Authorization header.
+  // Resolves when the server closes the stream; rejects on network errors or when the signal aborts.
+  async streamCrops(onEvent: (event: string, data: any) => void, signal: AbortSignal): Promise<void> {
+    const response = await fetch(`${API_BASE_URL}/stream/crops`, {
+      headers: { ...this.getAuthHeaders(), 'Accept': 'text/event-stream' },
+      signal
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Stream refused: ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+      let end;
+      while ((end = buffer.indexOf('\n\n')) >= 0) {
+        const block = buffer.slice(0, end);
+        buffer = buffer.slice(end + 2);
+        let event = 'message';
+        const data: string[] = [];
+        for (const line of block.split('\n')) {
+          if (line.startsWith('event:')) event = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5));
+        }
+        // Comment-only blocks are heartbeats
+        if (data.length > 0) {
+          onEvent(event, JSON.parse(data.join('\n')));
+        }
+      }
+    }
+  }
+
   async getCropForScanning(cropId: string): Promise<ApiResponse<any>> {
     try {
       const response = await fetch(`${API_BASE_URL}/crops/scan/${cropId}`);
@@ -339,9 +423,31 @@ class ApiService {
     }
   }
 
-  async getAllUsers(): Promise<ApiResponse<any[]>> {
+  async getUserPurge(userId: number): Promise<ApiResponse<any>> {
+    try {
+      const response = await fetch(`${API_BASE_URL}/admin/users/${userId}/purge`, {
+        headers: this.getAuthHeaders()
+      });
+
+      return await this.handleResponse(response);
+    } catch (error) {
+      return { error: 'Network error occurred' };
+    }
+  }
+
+  // One page of users, newest first, optionally of one role.
+  async getUsersPage(role?: string, cursor?: string | null): Promise<ApiResponse<Page<any>>> {
+    try {
+      const url = role ? `${API_BASE_URL}/admin/users?role=${role.toUpperCase()}` : `${API_BASE_URL}/admin/users`;
+      return await this.fetchPage(url, cursor);
+    } catch (error) {
+      return { error: 'Network error occurred' };
+    }
+  }
+
+  async getAdminStats(): Promise<ApiResponse<any>> {
     try {
-      const response = await fetch(`${API_BASE_URL}/admin/users`, {
+      const response = await fetch(`${API_BASE_URL}/admin/stats`, {
         headers: this.getAuthHeaders()
       });
 
@@ -41,6 +41,7 @@ export interface Crop {
   soil_type: string;
   pesticides_used: string;
   image_url?: string;
+  thumbnail_url?: string;
   created_at: string;
   farmer_info?: FarmerInfo;
   distributor_info?: DistributorInfo;